@@ -0,0 +1,244 @@
+package clueGame;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * AdjacencyGraph Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Immutable compressed sparse row (CSR) adjacency for the board. Every
+ *         cell has an id of row * numColumns + col, and the neighbors of cell
+ *         {@code id} are {@code neighbors[offsets[id]] .. neighbors[offsets[id + 1] - 1]},
+ *         sorted by id. Callers can walk it with plain int loops without
+ *         allocating anything.
+ */
+public final class AdjacencyGraph {
+	private final int numColumns;
+	private final int[] offsets;
+	private final int[] neighbors;
+	private final GridStore cells;
+
+	private AdjacencyGraph(int numColumns, int[] offsets, int[] neighbors, GridStore cells) {
+		this.numColumns = numColumns;
+		this.offsets = offsets;
+		this.neighbors = neighbors;
+		this.cells = cells;
+	}
+
+	/**
+	 * Wraps CSR arrays that were built before, e.g. read from a compiled board
+	 *
+	 * @param offsets   numCells + 1 offsets into {@code neighbors}
+	 * @param neighbors neighbor ids, sorted within each cell
+	 */
+	static AdjacencyGraph fromArrays(int numColumns, int[] offsets, int[] neighbors, GridStore cells) {
+		return new AdjacencyGraph(numColumns, offsets, neighbors, cells);
+	}
+
+	public int getNumCells() {
+		return cells.getNumCells();
+	}
+
+	public int getNumColumns() {
+		return numColumns;
+	}
+
+	public int getNumEdges() {
+		return neighbors.length;
+	}
+
+	/**
+	 * @param row
+	 * @param col
+	 * @return id of the cell at (row, col)
+	 */
+	public int cellId(int row, int col) {
+		return row * numColumns + col;
+	}
+
+	/**
+	 * @return the cell's view, made on first use on a lazily stored board
+	 */
+	public BoardCell getCell(int id) {
+		return cells.cell(id);
+	}
+
+	/**
+	 * @param id cell id
+	 * @return index into the neighbor array of the cell's first neighbor
+	 */
+	public int neighborStart(int id) {
+		return offsets[id];
+	}
+
+	/**
+	 * @param id cell id
+	 * @return index one past the cell's last neighbor
+	 */
+	public int neighborEnd(int id) {
+		return offsets[id + 1];
+	}
+
+	/**
+	 * @param index position in the neighbor array, between neighborStart and neighborEnd
+	 * @return id of the neighboring cell
+	 */
+	public int neighborAt(int index) {
+		return neighbors[index];
+	}
+
+	public int degree(int id) {
+		return offsets[id + 1] - offsets[id];
+	}
+
+	public boolean isAdjacent(int fromId, int toId) {
+		return Arrays.binarySearch(neighbors, offsets[fromId], offsets[fromId + 1], toId) >= 0;
+	}
+
+	/**
+	 * Read only Set view of one cell's neighbors, backing {@link BoardCell#getAdjList()}
+	 */
+	final class NeighborSet extends AbstractSet<BoardCell> {
+		private final int id;
+
+		NeighborSet(int id) {
+			this.id = id;
+		}
+
+		@Override
+		public int size() {
+			return degree(id);
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof BoardCell)) {
+				return false;
+			}
+			BoardCell cell = (BoardCell) o;
+			int otherId = cell.getId();
+			// a cell nobody asked for yet can't be the one passed in
+			return otherId >= 0 && otherId < cells.getNumCells() && cells.peek(otherId) == cell
+					&& isAdjacent(id, otherId);
+		}
+
+		@Override
+		public Iterator<BoardCell> iterator() {
+			return new Iterator<BoardCell>() {
+				private int index = offsets[id];
+
+				@Override
+				public boolean hasNext() {
+					return index < offsets[id + 1];
+				}
+
+				@Override
+				public BoardCell next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					return cells.cell(neighbors[index++]);
+				}
+			};
+		}
+	}
+
+	/**
+	 * Collects directed edges in any order, then packs them into CSR arrays with
+	 * duplicates removed. The packed graph does not depend on the order edges
+	 * were added in, so builders filled on different threads can be merged
+	 */
+	public static final class Builder {
+		private final int numColumns;
+		private final GridStore cells;
+		private int[] from;
+		private int[] to;
+		private int numEdges;
+
+		public Builder(BoardCell[] cells, int numColumns) {
+			this(cells, numColumns, cells.length * 2);
+		}
+
+		/**
+		 * @param expectedEdges initial capacity, e.g. for a builder that only
+		 *                      collects part of the board
+		 */
+		public Builder(BoardCell[] cells, int numColumns, int expectedEdges) {
+			this(GridStore.of(cells, numColumns), expectedEdges);
+		}
+
+		Builder(GridStore cells, int expectedEdges) {
+			this.cells = cells;
+			this.numColumns = cells.getNumColumns();
+			this.from = new int[Math.max(16, expectedEdges)];
+			this.to = new int[from.length];
+		}
+
+		public void addEdge(int fromId, int toId) {
+			if (numEdges == from.length) {
+				from = Arrays.copyOf(from, numEdges * 2);
+				to = Arrays.copyOf(to, numEdges * 2);
+			}
+			from[numEdges] = fromId;
+			to[numEdges] = toId;
+			numEdges++;
+		}
+
+		/**
+		 * Appends every edge of {@code other}, a builder over the same cells
+		 *
+		 * @return this builder
+		 */
+		public Builder addAll(Builder other) {
+			if (numEdges + other.numEdges > from.length) {
+				from = Arrays.copyOf(from, numEdges + other.numEdges);
+				to = Arrays.copyOf(to, numEdges + other.numEdges);
+			}
+			System.arraycopy(other.from, 0, from, numEdges, other.numEdges);
+			System.arraycopy(other.to, 0, to, numEdges, other.numEdges);
+			numEdges += other.numEdges;
+			return this;
+		}
+
+		public AdjacencyGraph build() {
+			int numCells = cells.getNumCells();
+
+			// counting sort the edges by source cell
+			int[] offsets = new int[numCells + 1];
+			for (int e = 0; e < numEdges; e++) {
+				offsets[from[e] + 1]++;
+			}
+			for (int i = 0; i < numCells; i++) {
+				offsets[i + 1] += offsets[i];
+			}
+			int[] fill = Arrays.copyOf(offsets, numCells);
+			int[] packed = new int[numEdges];
+			for (int e = 0; e < numEdges; e++) {
+				packed[fill[from[e]]++] = to[e];
+			}
+
+			// sort each row and squeeze out duplicate edges in place
+			int write = 0;
+			int rowStart = 0;
+			for (int i = 0; i < numCells; i++) {
+				int rowEnd = offsets[i + 1];
+				Arrays.sort(packed, rowStart, rowEnd);
+				offsets[i] = write;
+				for (int k = rowStart; k < rowEnd; k++) {
+					if (k == rowStart || packed[k] != packed[k - 1]) {
+						packed[write++] = packed[k];
+					}
+				}
+				rowStart = rowEnd;
+			}
+			offsets[numCells] = write;
+
+			return new AdjacencyGraph(numColumns, offsets, Arrays.copyOf(packed, write), cells);
+		}
+	}
+}
@@ -0,0 +1,515 @@
+package clueGame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * BeliefSampler Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Estimates how likely each card is to be in the case file, by
+ *         sampling whole deals that agree with everything one player has
+ *         observed. The observations are taken from the player's
+ *         {@link KnowledgeMatrix}: its own hand, the cards it was shown, who
+ *         passed and who disproved each suggestion, and the hand sizes.
+ *
+ *         Every chain finds a consistent deal by rejection (the case file and
+ *         the unknown cards are dealt at random until the deal breaks no
+ *         constraint), then walks a Markov chain that swaps two unknown cards
+ *         between their holders whenever the swap keeps the deal consistent.
+ *         Swaps are proposed symmetrically, so the chain is uniform over the
+ *         consistent deals it can reach from its start, and the fraction of
+ *         samples with a card in the case file estimates its probability.
+ *         Once clauses apply, not every consistent deal is shown to be
+ *         reachable by single swaps, so the estimates are approximate; use
+ *         {@link DealCounter} for exact probabilities.
+ *
+ *         Chains run side by side on a fork-join pool until the time budget
+ *         runs out or {@link #cancel()} is called, and the result reports the
+ *         effective sample size from batch means, since swaps that follow one
+ *         another give correlated samples.
+ */
+public final class BeliefSampler {
+	// samples per batch, for the effective sample size
+	private static final int BATCH_SIZE = 32;
+	// sweeps thrown away before a chain starts counting
+	private static final int BURN_IN_SWEEPS = 20;
+	// sweeps between looks at the clock
+	private static final int SWEEPS_PER_CHECK = 16;
+	// random deals tried per chain before giving up on a start
+	private static final int MAX_START_ATTEMPTS = 10000;
+
+	private final List<Card> deck;
+	private final int numSeats;
+	private final long[] known;
+	private final long[] excluded;
+	private final int[] handSizes;
+	private final long[] typeMasks;
+	private final long[] clauses;
+	private final int[] clauseSeats;
+	// cards with no known holder, the only ones that move
+	private final int[] freeCards;
+	private final AtomicBoolean cancelled = new AtomicBoolean();
+
+	/**
+	 * Takes a snapshot of the player's knowledge, later updates to it do not
+	 * change this sampler
+	 *
+	 * @param knowledge deductions of one player, with every hand size known
+	 */
+	public BeliefSampler(KnowledgeMatrix knowledge) {
+		this.deck = knowledge.getContext().getDeck();
+		this.numSeats = knowledge.getNumSeats();
+		this.known = knowledge.copyKnown();
+		this.excluded = knowledge.copyExcluded();
+		this.handSizes = knowledge.copyHandSizes();
+		this.typeMasks = knowledge.copyTypeMasks();
+		this.clauses = knowledge.copyClauses();
+		this.clauseSeats = knowledge.copyClauseSeats();
+		for (int size : handSizes) {
+			if (size < 0) {
+				throw new IllegalArgumentException("every hand size must be known to sample deals");
+			}
+		}
+
+		long held = 0;
+		for (long cards : known) {
+			held |= cards;
+		}
+		long free = (deck.size() == Long.SIZE ? -1L : (1L << deck.size()) - 1) & ~held;
+		this.freeCards = new int[Long.bitCount(free)];
+		for (int i = 0; free != 0; free &= free - 1) {
+			freeCards[i++] = Long.numberOfTrailingZeros(free);
+		}
+	}
+
+	/**
+	 * Stops every chain at its next look at the clock, the samples taken so far
+	 * are still reported
+	 */
+	public void cancel() {
+		cancelled.set(true);
+	}
+
+	public boolean isCancelled() {
+		return cancelled.get();
+	}
+
+	/**
+	 * Samples on the common pool and waits for the result
+	 *
+	 * @param chains      number of independent chains
+	 * @param budgetNanos time the chains may run
+	 * @param seed        seed of the whole run
+	 */
+	public Beliefs sample(int chains, long budgetNanos, long seed) {
+		return submit(ForkJoinPool.commonPool(), chains, budgetNanos, seed).join();
+	}
+
+	/**
+	 * Starts sampling on {@code pool} without waiting, e.g. while the next turn
+	 * is animated
+	 *
+	 * @param pool        pool the chains run on
+	 * @param chains      number of independent chains
+	 * @param budgetNanos time the chains may run
+	 * @param seed        seed of the whole run
+	 * @return the running task, join it for the result
+	 */
+	public ForkJoinTask<Beliefs> submit(ForkJoinPool pool, int chains, long budgetNanos, long seed) {
+		long start = System.nanoTime();
+		return pool.submit(new Run(chains, start, start + budgetNanos, new SplittableRandom(seed)));
+	}
+
+	/**
+	 * Forks every chain and adds up their tallies
+	 */
+	private final class Run extends RecursiveTask<Beliefs> {
+		private static final long serialVersionUID = 1L;
+
+		private final int chains;
+		private final long start;
+		private final long deadline;
+		// tasks are never serialized
+		private final transient SplittableRandom random;
+
+		Run(int chains, long start, long deadline, SplittableRandom random) {
+			this.chains = chains;
+			this.start = start;
+			this.deadline = deadline;
+			this.random = random;
+		}
+
+		@Override
+		protected Beliefs compute() {
+			List<Chain> tasks = new ArrayList<>();
+			for (int i = 0; i < chains; i++) {
+				tasks.add(new Chain(deadline, random.split()));
+			}
+			Tally total = new Tally(deck.size());
+			for (Chain chain : invokeAll(tasks)) {
+				total.add(chain.join());
+			}
+			return new Beliefs(deck, total, cancelled.get(), System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * One Markov chain, from its random start until the deadline
+	 */
+	private final class Chain extends RecursiveTask<Tally> {
+		private static final long serialVersionUID = 1L;
+
+		private final long deadline;
+		// tasks are never serialized
+		private final transient SplittableRandom random;
+		// cards of each holder and the holder of each card
+		private final long[] owned = new long[numSeats + 1];
+		private final int[] ownerOf = new int[deck.size()];
+
+		Chain(long deadline, SplittableRandom random) {
+			this.deadline = deadline;
+			this.random = random;
+		}
+
+		private boolean outOfTime() {
+			return cancelled.get() || System.nanoTime() >= deadline;
+		}
+
+		@Override
+		protected Tally compute() {
+			Tally tally = new Tally(deck.size());
+			if (!start()) {
+				return tally;
+			}
+			int caseFile = numSeats;
+			for (int sweep = 0;; sweep++) {
+				if (sweep % SWEEPS_PER_CHECK == 0 && outOfTime()) {
+					return tally;
+				}
+				for (int step = 0; step < freeCards.length; step++) {
+					trySwap();
+				}
+				if (sweep >= BURN_IN_SWEEPS) {
+					tally.record(owned[caseFile]);
+				}
+			}
+		}
+
+		/**
+		 * Deals the case file and the unknown cards at random until the deal is
+		 * consistent
+		 *
+		 * @return false if no consistent deal was found in time
+		 */
+		private boolean start() {
+			int caseFile = numSeats;
+			int[] room = new int[numSeats + 1];
+			int[] eligible = new int[numSeats];
+			int[] order = freeCards.clone();
+			for (int attempt = 0; attempt < MAX_START_ATTEMPTS; attempt++) {
+				if (attempt % SWEEPS_PER_CHECK == 0 && outOfTime()) {
+					return false;
+				}
+				System.arraycopy(known, 0, owned, 0, owned.length);
+				for (int holder = 0; holder <= numSeats; holder++) {
+					room[holder] = handSizes[holder] - Long.bitCount(known[holder]);
+				}
+
+				// one card of every type the case file is still missing
+				long dealt = 0;
+				boolean failed = false;
+				for (long type : typeMasks) {
+					if ((owned[caseFile] & type) != 0) {
+						continue;
+					}
+					long options = type & ~excluded[caseFile] & ~knownAnywhere();
+					if (options == 0) {
+						failed = true;
+						break;
+					}
+					long card = Long.lowestOneBit(select(options, random.nextInt(Long.bitCount(options))));
+					owned[caseFile] |= card;
+					dealt |= card;
+					room[caseFile]--;
+				}
+
+				// the other unknown cards, in random order, to seats with room
+				shuffle(order);
+				for (int i = 0; i < order.length && !failed; i++) {
+					int card = order[i];
+					if ((dealt & (1L << card)) != 0) {
+						continue;
+					}
+					int count = 0;
+					for (int seat = 0; seat < numSeats; seat++) {
+						if (room[seat] > 0 && (excluded[seat] & (1L << card)) == 0) {
+							eligible[count++] = seat;
+						}
+					}
+					if (count == 0) {
+						failed = true;
+						break;
+					}
+					int seat = eligible[random.nextInt(count)];
+					owned[seat] |= 1L << card;
+					room[seat]--;
+				}
+				if (failed || !clausesHold(-1, -1)) {
+					continue;
+				}
+
+				for (int holder = 0; holder <= numSeats; holder++) {
+					for (long cards = owned[holder]; cards != 0; cards &= cards - 1) {
+						ownerOf[Long.numberOfTrailingZeros(cards)] = holder;
+					}
+				}
+				return true;
+			}
+			return false;
+		}
+
+		private long knownAnywhere() {
+			long held = 0;
+			for (long cards : known) {
+				held |= cards;
+			}
+			return held;
+		}
+
+		/**
+		 * Swaps two random unknown cards if that keeps the deal consistent
+		 */
+		private void trySwap() {
+			int a = freeCards[random.nextInt(freeCards.length)];
+			int b = freeCards[random.nextInt(freeCards.length)];
+			int holderA = ownerOf[a];
+			int holderB = ownerOf[b];
+			if (holderA == holderB) {
+				return;
+			}
+			long bitA = 1L << a;
+			long bitB = 1L << b;
+			if ((excluded[holderA] & bitB) != 0 || (excluded[holderB] & bitA) != 0) {
+				return;
+			}
+			// the case file keeps one card of each type
+			if ((holderA == numSeats || holderB == numSeats) && typeOf(bitA) != typeOf(bitB)) {
+				return;
+			}
+
+			owned[holderA] ^= bitA | bitB;
+			owned[holderB] ^= bitA | bitB;
+			if (clausesHold(holderA, holderB)) {
+				ownerOf[a] = holderB;
+				ownerOf[b] = holderA;
+			} else {
+				owned[holderA] ^= bitA | bitB;
+				owned[holderB] ^= bitA | bitB;
+			}
+		}
+
+		/**
+		 * @return true if the clauses of the two seats hold, or of every seat
+		 *         when both are -1
+		 */
+		private boolean clausesHold(int seatA, int seatB) {
+			for (int k = 0; k < clauses.length; k++) {
+				int seat = clauseSeats[k];
+				if ((seatA < 0 || seat == seatA || seat == seatB) && (owned[seat] & clauses[k]) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private int typeOf(long bit) {
+			for (int type = 0; type < typeMasks.length; type++) {
+				if ((typeMasks[type] & bit) != 0) {
+					return type;
+				}
+			}
+			return -1;
+		}
+
+		private void shuffle(int[] cards) {
+			for (int i = cards.length - 1; i > 0; i--) {
+				int j = random.nextInt(i + 1);
+				int swap = cards[i];
+				cards[i] = cards[j];
+				cards[j] = swap;
+			}
+		}
+	}
+
+	/**
+	 * @return {@code bits} without its lowest {@code skip} set bits
+	 */
+	private static long select(long bits, int skip) {
+		for (; skip > 0; skip--) {
+			bits &= bits - 1;
+		}
+		return bits;
+	}
+
+	/**
+	 * Case file counts of one or more chains, with batch means for the
+	 * effective sample size
+	 */
+	private static final class Tally {
+		private long samples;
+		private final long[] inCaseFile;
+		private final int[] batchCounts;
+		private int batchFill;
+		private long batches;
+		private final double[] batchMeanSums;
+		private final double[] batchMeanSquares;
+
+		Tally(int numCards) {
+			this.inCaseFile = new long[numCards];
+			this.batchCounts = new int[numCards];
+			this.batchMeanSums = new double[numCards];
+			this.batchMeanSquares = new double[numCards];
+		}
+
+		void record(long caseFile) {
+			samples++;
+			for (long cards = caseFile; cards != 0; cards &= cards - 1) {
+				int card = Long.numberOfTrailingZeros(cards);
+				inCaseFile[card]++;
+				batchCounts[card]++;
+			}
+			if (++batchFill == BATCH_SIZE) {
+				for (int card = 0; card < batchCounts.length; card++) {
+					double mean = (double) batchCounts[card] / BATCH_SIZE;
+					batchMeanSums[card] += mean;
+					batchMeanSquares[card] += mean * mean;
+					batchCounts[card] = 0;
+				}
+				batchFill = 0;
+				batches++;
+			}
+		}
+
+		void add(Tally other) {
+			samples += other.samples;
+			batches += other.batches;
+			for (int card = 0; card < inCaseFile.length; card++) {
+				inCaseFile[card] += other.inCaseFile[card];
+				batchMeanSums[card] += other.batchMeanSums[card];
+				batchMeanSquares[card] += other.batchMeanSquares[card];
+			}
+		}
+
+		/**
+		 * @return samples worth of independent draws, the smallest over the
+		 *         cards whose place is still uncertain
+		 */
+		double effectiveSampleSize() {
+			if (batches < 2) {
+				return 0;
+			}
+			double ess = samples;
+			for (int card = 0; card < inCaseFile.length; card++) {
+				double p = (double) inCaseFile[card] / samples;
+				double meanOfMeans = batchMeanSums[card] / batches;
+				double batchVariance = batchMeanSquares[card] / batches - meanOfMeans * meanOfMeans;
+				if (p <= 0 || p >= 1 || batchVariance <= 0) {
+					continue;
+				}
+				// variance of one sample over the variance the batches show
+				ess = Math.min(ess, samples * p * (1 - p) / (BATCH_SIZE * batchVariance));
+			}
+			return ess;
+		}
+	}
+
+	/**
+	 * Result of one run
+	 */
+	public static final class Beliefs {
+		private final List<Card> deck;
+		private final double[] probabilities;
+		private final long samples;
+		private final double effectiveSampleSize;
+		private final boolean cancelled;
+		private final long elapsedNanos;
+
+		Beliefs(List<Card> deck, Tally tally, boolean cancelled, long elapsedNanos) {
+			this.deck = deck;
+			this.probabilities = new double[deck.size()];
+			for (int card = 0; card < probabilities.length && tally.samples > 0; card++) {
+				probabilities[card] = (double) tally.inCaseFile[card] / tally.samples;
+			}
+			this.samples = tally.samples;
+			this.effectiveSampleSize = tally.effectiveSampleSize();
+			this.cancelled = cancelled;
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		/**
+		 * @return estimated probability that {@code card} is in the case file,
+		 *         0 for cards not in the deck or when nothing was sampled
+		 */
+		public double probability(Card card) {
+			int ordinal = card.getOrdinal();
+			if (ordinal < 0 || ordinal >= deck.size() || !deck.get(ordinal).equals(card)) {
+				return 0;
+			}
+			return probabilities[ordinal];
+		}
+
+		/**
+		 * @return the most likely card of each type, or null if nothing was
+		 *         sampled
+		 */
+		public Solution getMostLikely() {
+			if (samples == 0) {
+				return null;
+			}
+			return new Solution(mostLikely(CardType.PERSON), mostLikely(CardType.ROOM), mostLikely(CardType.WEAPON));
+		}
+
+		private Card mostLikely(CardType type) {
+			Card best = null;
+			for (Card card : deck) {
+				if (card.getType() == type && (best == null || probability(card) > probability(best))) {
+					best = card;
+				}
+			}
+			return best;
+		}
+
+		public long getSamples() {
+			return samples;
+		}
+
+		public double getEffectiveSampleSize() {
+			return effectiveSampleSize;
+		}
+
+		/**
+		 * @return true if the run was cancelled before its budget ran out
+		 */
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		public long getElapsedNanos() {
+			return elapsedNanos;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%d samples, effective %.0f, in %.1f ms%s", samples, effectiveSampleSize,
+					elapsedNanos / 1e6, cancelled ? ", cancelled" : "");
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package clueGame;
+
+/**
+ * Bits Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *	Static helpers for fixed size bitsets stored in plain long[] arrays, indexed by cell or card id
+ */
+public final class Bits {
+
+	private Bits() {} //should not be instantiated
+
+	/**
+	 * @param numBits
+	 * @return number of longs needed to hold numBits bits
+	 */
+	public static int words(int numBits) {
+		return (numBits + 63) >>> 6;
+	}
+
+	public static boolean get(long[] bits, int index) {
+		return (bits[index >>> 6] & (1L << index)) != 0;
+	}
+
+	public static void set(long[] bits, int index) {
+		bits[index >>> 6] |= 1L << index;
+	}
+
+	public static void clear(long[] bits, int index) {
+		bits[index >>> 6] &= ~(1L << index);
+	}
+
+	public static void set(long[] bits, int index, boolean value) {
+		if (value) {
+			set(bits, index);
+		} else {
+			clear(bits, index);
+		}
+	}
+
+	public static int cardinality(long[] bits) {
+		int count = 0;
+		for (long word : bits) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	/**
+	 * @param bits
+	 * @param from first index to check
+	 * @return index of the first set bit at or after from, or -1 if there is none
+	 */
+	public static int nextSetBit(long[] bits, int from) {
+		int w = from >>> 6;
+		if (w >= bits.length) {
+			return -1;
+		}
+		long word = bits[w] & (-1L << from);
+		while (true) {
+			if (word != 0) {
+				return (w << 6) + Long.numberOfTrailingZeros(word);
+			}
+			if (++w == bits.length) {
+				return -1;
+			}
+			word = bits[w];
+		}
+	}
+}
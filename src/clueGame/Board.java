@@ -1,25 +1,18 @@
 package clueGame;
 
-import java.awt.Color;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
-import java.util.Scanner;
 import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
-import javax.swing.JOptionPane;
 
-import gui.BoardPanel;
-import gui.ClueGame;
-import gui.GameControlPanel;
-import gui.GuessDialog;
 
 /**
  * Board Class
@@ -27,34 +20,15 @@ import gui.GuessDialog;
  * @author Jacob Dionne
  * @author Melody Goldanloo
  *
- *         Represents the Clue board. Handles loading the setup and layout
- *         config files, building the grid of BoardCells, linking them to Rooms,
- *         computing adjacency lists, and computing reachable targets given a
- *         dice roll.
+ *         Represents one game of Clue. The read-only board (cells, rooms,
+ *         adjacency, seats and deck) lives in a {@link BoardTemplate} that many
+ *         games can share, while each Board owns its players, cards, occupancy,
+ *         turn and solution. {@link #getInstance()} is a convenience singleton
+ *         that loads its own template from the config files.
  */
 public class Board {
-	private static final int MAX_SETUP_FIELDS = 6;
 	private static final int MAX_DICE_ROLL = 6;
 	private static final int MIN_DICE_ROLL = 1;
-	private static final String SETUPTYPE_ROOM = "Room";
-	private static final String SETUPTYPE_SPACE = "Space";
-	private static final String SETUPTYPE_Player = "Player";
-	private static final String SETUPTYPE_Weapon = "Weapon";
-	// mapping from layout modifiers to room metadata
-	private static final Map<Character, String> ROOM_MODIFIERS = Map.of('#', "Label", '*', "RoomCenter");
-	// mapping from layout modifiers to door directions
-	private static final Map<Character, DoorDirection> DIRECTION_MODIFIERS = 
-			Map.of('^', DoorDirection.UP, 
-					'v', DoorDirection.DOWN, 
-					'>', DoorDirection.RIGHT, 
-					'<', DoorDirection.LEFT);
-	private static final Map<String, Color> COLOR_MAP = 
-			Map.of("pink", new Color (214, 109, 149), 
-					"red", new Color (161, 21, 27), 
-					"magenta", new Color (190, 88, 199), 
-					"black", Color.black, 
-					"green", new Color (36, 133, 81), 
-					"teal", new Color(6, 136, 150));
 	// singleton instance
 	private static Board theInstance = new Board();
 
@@ -65,160 +39,240 @@ public class Board {
 		return theInstance;
 	}
 
-	private BoardCell[][] grid;
+	// shared, read-only board data
+	private BoardTemplate template;
 
-	private int numRows;
-	private int numColumns;
 	private String layoutConfigFile;
 	private String setupConfigFile;
-	private Set<BoardCell> targets;
-	
-	private GameControlPanel gamePanel;
-	private BoardPanel panel; 
+	// parser used by loadSetupConfig() and loadLayoutConfig()
+	private BoardLoader loader;
 
-	private Set<BoardCell> doorways;
+	// per-game state, everything below belongs to this game only
+	private GameContext context;
 
-	private Map<Character, Room> roomMap;
+	private Occupancy occupancy;
 
-	private List<Character> spaceInitials;
+	private Set<BoardCell> targets;
+	
+	// the GUI, simulations and loggers all observe the game through these
+	private final List<GameListener> listeners = new ArrayList<>();
 
 	private List<Player> playerList;
 
+	// seat of each player and each player by name, for resolving suggestions
+	private Map<Player, Integer> seatOf;
+
+	private Map<String, Player> playersByName;
+
 	private int currentPlayerIndex;
 
 	private int roll;
 
-	private List<Card> deck;
-
 	private Solution classified;
 
-	private Solution currSuggestion;
-
-	private Card currSuggestionResult;
+	// latest published state, the one thing other threads read
+	private volatile GameState state;
 	
 	private boolean gameOver;
-	
+
+	private Player winner;
+
+	// seat computers in the human seats when the singleton is initialized
+	private boolean allComputer;
+
+	// true while a human turn waits for finishHumanMove(), which the GUI calls on
+	// the EDT while the turn worker reads this flag in nextPlayer()
+	private volatile boolean awaitingHumanMove;
+
+	// seed of this game, the dice, the deal and the players' choices each get their own stream
+	private long seed;
+
+	private SplittableRandom diceRandom;
+
+	private SplittableRandom dealRandom;
+
+	// memoized targets keyed by start cell, roll and occupancy fingerprint
+	private final TargetCache targetCache = new TargetCache();
 
 
 	private Board() {
-		// private constructor to enforce singleton instance
+		// the singleton is configured later through setConfigFiles() and initialize()
 		super();
 	}
 
 	/**
-	 * Computes adjacency lists for all cells
+	 * Creates an independent game on a shared template. Any number of these can
+	 * run at once, each with its own players, cards, occupancy and turn state
+	 * 
+	 * @param template parsed board, see {@link #loadTemplate(String, String)}
 	 */
-	private void calcAdj() {
-		// calculate adjacent cells
-		for (int i = 0; i < this.numRows; i++) {
-			for (int j = 0; j < this.numColumns; j++) {
-				BoardCell currCell = grid[i][j];
+	public Board(BoardTemplate template) {
+		this(template, false);
+	}
 
-				// skip cells that cannot have adj list (must be a walkway or room center)
-				if ((currCell.getRoomInitial() != 'W') && !currCell.isRoomCenter()) {
-					continue;
-				}
+	/**
+	 * @param template    parsed board
+	 * @param allComputer seat computers in the human seats too, for headless games
+	 */
+	public Board(BoardTemplate template, boolean allComputer) {
+		this(template, allComputer, ThreadLocalRandom.current().nextLong());
+	}
 
-				// if cell is room center
-				if (currCell.isRoomCenter()) {
-					// get the secret passage initial from the cell's room
-					Character passageInitial = roomMap.get(currCell.getRoomInitial()).getSecretPassageTarget();
-					// if cell has a secret passage
-					if (passageInitial != null) {
-						// add the centerCell of the secretPassage room to the currentCell's adj list
-						currCell.addAdj(roomMap.get(passageInitial).getCenterCell());
-					}
-					continue;
-				}
+	/**
+	 * Creates a reproducible game: two boards with the same template and seed
+	 * deal, roll and play exactly the same
+	 * 
+	 * @param template    parsed board
+	 * @param allComputer seat computers in the human seats too
+	 * @param seed        seed of every random choice made in the game
+	 */
+	public Board(BoardTemplate template, boolean allComputer, long seed) {
+		super();
+		newGame(template, allComputer);
+		setSeed(seed);
+	}
 
-				// if cell is a doorway
-				if (currCell.isDoorway()) {
-					Room doorwayTo = null;
-					switch (currCell.getDoorDirection()) {
-					case UP:
-						if (i > 0) {
-							doorwayTo = getRoom(grid[i - 1][j]);
-						}
-						break;
-					case DOWN:
-						if (i < numRows - 1) {
-							doorwayTo = getRoom(grid[i + 1][j]);
-						}
-						break;
-					case LEFT:
-						if (j > 0) {
-							doorwayTo = getRoom(grid[i][j - 1]);
-						}
-						break;
-					case RIGHT:
-						if (j < numColumns - 1) {
-							doorwayTo = getRoom(grid[i][j + 1]);
-						}
-						break;
-					default:
-						continue;
-					}
-
-					currCell.addAdj(doorwayTo.getCenterCell());
-					doorwayTo.getCenterCell().addAdj(currCell);
-				}
+	/**
+	 * Parses a layout and setup file (both under data/) into a template that
+	 * can be shared by many games. If {@link CompiledBoard} has compiled the
+	 * pair since the files last changed, the compiled form is loaded instead.
+	 * Templates are cached in {@link TemplateCache}, so only the first call
+	 * for unchanged files loads anything
+	 * 
+	 * @param layoutFileName
+	 * @param setupFileName
+	 * @return the parsed board
+	 * @throws BadConfigFormatException if either file is invalid
+	 * @throws FileNotFoundException    if either file cannot be opened
+	 */
+	public static BoardTemplate loadTemplate(String layoutFileName, String setupFileName)
+			throws BadConfigFormatException, FileNotFoundException {
+		return TemplateCache.get("data/" + layoutFileName, "data/" + setupFileName);
+	}
 
-				// Walkway adjacency: up, down, left, right (within bounds)
-				// above
-				if (i > 0) {
-					BoardCell cellAbove = grid[i - 1][j];
-					if (cellAbove.getRoomInitial() == 'W') {
-						currCell.addAdj(cellAbove);
-					}
-				}
+	/**
+	 * Resets this board to a fresh game on {@code template}: new players seated
+	 * at their start cells, a new copy of the deck and an empty occupancy
+	 * 
+	 * @param template
+	 * @param allComputer true to make every seat a ComputerPlayer
+	 */
+	private void newGame(BoardTemplate template, boolean allComputer) {
+		this.template = template;
+		this.targetCache.clear();
+		this.occupancy = new Occupancy(template.getNumRows() * template.getNumColumns());
+		this.targets = null;
+		this.roll = 0;
+		this.currentPlayerIndex = 0;
+		this.classified = null;
+		this.gameOver = false;
+		this.winner = null;
+		this.awaitingHumanMove = false;
+
+		// every game deals its own cards, since cards remember who holds them
+		List<Card> deck = new ArrayList<>();
+		for (Card prototype : template.getDeck()) {
+			deck.add(new Card(prototype.getCardName(), prototype.getType(), prototype.getOrdinal()));
+		}
+		this.context = new GameContext(deck, template.getRoomMap());
+
+		this.playerList = new ArrayList<>();
+		this.seatOf = new IdentityHashMap<>();
+		this.playersByName = new HashMap<>();
+		for (BoardTemplate.Seat seat : template.getSeats()) {
+			Player newPlayer;
+			//if all computer players flag set, set player type to computer
+			if (seat.isHuman() && !allComputer) {
+				newPlayer = new HumanPlayer(seat.getName(), seat.getColor(), seat.getRow(), seat.getCol(), context);
+			} else {
+				newPlayer = new ComputerPlayer(seat.getName(), seat.getColor(), seat.getRow(), seat.getCol(), context);
+			}
+			this.seatOf.put(newPlayer, playerList.size());
+			this.playersByName.put(newPlayer.getName(), newPlayer);
+			this.playerList.add(newPlayer);
 
-				// below
-				if (i < numRows - 1) {
-					BoardCell cellBelow = grid[i + 1][j];
-					if (cellBelow.getRoomInitial() == 'W') {
-						currCell.addAdj(cellBelow);
-					}
-				}
+			//set all player occupied cells accordingly
+			occupancy.set(template.getAdjacencyGraph().cellId(seat.getRow(), seat.getCol()), true);
+		}
+		this.state = GameState.start(nextVersion(), playerList);
+	}
 
-				// left
-				if (j > 0) {
-					BoardCell cellToLeft = grid[i][j - 1];
-					if (cellToLeft.getRoomInitial() == 'W') {
-						currCell.addAdj(cellToLeft);
-					}
-				}
+	private long nextVersion() {
+		return state == null ? 0 : state.getVersion() + 1;
+	}
 
-				// right
-				if (j < numColumns - 1) {
-					BoardCell cellToRight = grid[i][j + 1];
-					if (cellToRight.getRoomInitial() == 'W') {
-						currCell.addAdj(cellToRight);
-					}
-				}
-			}
+	/**
+	 * Restarts this game's random streams from {@code seed}. The dice, the deal
+	 * and each player's choices draw from separate streams split off the seed,
+	 * so e.g. an extra AI decision never changes the dice
+	 * 
+	 * @param seed
+	 */
+	public final void setSeed(long seed) {
+		this.seed = seed;
+		SplittableRandom root = new SplittableRandom(seed);
+		this.diceRandom = root.split();
+		this.dealRandom = root.split();
+		SplittableRandom aiRandom = root.split();
+		for (Player player : playerList) {
+			player.setRandom(aiRandom.split());
 		}
 	}
 
-	public void setPanel(BoardPanel panel) {
-		this.panel = panel;
-	}
-	
-	public void setGamePanel(GameControlPanel gamePanel) {
-		this.gamePanel = gamePanel;
+	public long getSeed() {
+		return seed;
 	}
 
 	/**
-	 * Computed all reachable target cells from {@code cell} given a roll
+	 * Computed all reachable target cells from {@code cell} given a roll, using
+	 * the board's current occupancy. The result is read back with
+	 * {@link #getTargets()}
 	 * 
 	 * @param cell BoardCell
 	 * @param roll int
 	 */
 	public void calcTargets(BoardCell cell, int roll) {
-		targets = new HashSet<>();
-		Set<BoardCell> initialVisited = new HashSet<>();
+		targets = queryTargets(cell, roll, occupancy).asSet();
+	}
+
+	/**
+	 * Pure, thread-safe target query. Does not touch any board state other than
+	 * the shared (synchronized) target cache, so several players or hypothetical
+	 * positions can be evaluated at once on different threads. Pass an
+	 * {@link Occupancy#snapshot()} when the board may be moving concurrently.
+	 * 
+	 * @param cell      starting cell
+	 * @param roll      number of steps
+	 * @param occupancy which cells are blocked
+	 * @return immutable targets
+	 */
+	public TargetResult queryTargets(BoardCell cell, int roll, Occupancy occupancy) {
+		int startId = cell.getId();
+		long fingerprint = occupancy.getFingerprint();
+		TargetResult cached = targetCache.get(startId, roll, fingerprint);
+		if (cached != null) {
+			return cached;
+		}
+
+		long[] targetBits = template.getTargetEngine().search(startId, roll, occupancy);
+		TargetResult result = new TargetResult(template.getAdjacencyGraph(), startId, roll, targetBits);
+		targetCache.put(startId, roll, fingerprint, result);
+		return result;
+	}
 
-		initialVisited.add(cell);
-		searchTargets(cell, roll, initialVisited);
+	/**
+	 * @return the live occupancy, use {@link Occupancy#snapshot()} to share it
+	 */
+	public Occupancy getOccupancy() {
+		return occupancy;
+	}
+
+	public TargetCache getTargetCache() {
+		return targetCache;
+	}
+
+	public long getOccupancyFingerprint() {
+		return occupancy.getFingerprint();
 	}
 
 	public boolean checkAccusation(Solution accusation) {
@@ -230,8 +284,8 @@ public class Board {
 	 * deals cards to classified (solution) and each player
 	 */
 	public void deal() {
-		List<Card> deckList = new ArrayList<>(deck);
-		Collections.shuffle(deckList); // shuffle deck of cards
+		List<Card> deckList = new ArrayList<>(context.getDeck());
+		Collections.shuffle(deckList, dealRandom); // shuffle deck of cards
 
 		Card room = null;
 		Card person = null;
@@ -261,6 +315,29 @@ public class Board {
 			playerList.get(playerIndex).updateHand(deckList.remove(0));
 			playerIndex = (playerIndex + 1) % playerList.size();
 		}
+
+		// hand sizes are public, every player starts deducing from them
+		int[] handSizes = new int[playerList.size()];
+		for (int seat = 0; seat < handSizes.length; seat++) {
+			handSizes[seat] = playerList.get(seat).getHand().size();
+		}
+		for (int seat = 0; seat < handSizes.length; seat++) {
+			playerList.get(seat).cardsDealt(seat, handSizes);
+		}
+	}
+
+	/**
+	 * @return the shared, read-only part of this board
+	 */
+	public BoardTemplate getTemplate() {
+		return template;
+	}
+
+	/**
+	 * @return this game's card universe
+	 */
+	public GameContext getContext() {
+		return context;
 	}
 
 	public HumanPlayer getHumanPlayer() {
@@ -279,7 +356,7 @@ public class Board {
 		// occupied)
 		// -> doorway leads to center of room
 		// room center cells -> adjacent to all doorways for that room
-		return grid[rowNum][colNum].getAdjList();
+		return template.getCell(rowNum, colNum).getAdjList();
 	}
 
 	/**
@@ -290,19 +367,27 @@ public class Board {
 	 * @return a cell at (row, col) in the grid
 	 */
 	public BoardCell getCell(int rowNum, int colNum) {
-		return grid[rowNum][colNum];
+		return template.getCell(rowNum, colNum);
+	}
+
+	/**
+	 * @return the packed adjacency graph, for callers that want to walk
+	 *         neighbors by cell id without allocating
+	 */
+	public AdjacencyGraph getAdjacencyGraph() {
+		return template.getAdjacencyGraph();
 	}
 
 	public List<Card> getDeck() {
-		return deck;
+		return context.getDeck();
 	}
 
 	public int getNumColumns() {
-		return this.numColumns;
+		return template.getNumColumns();
 	}
 
 	public int getNumRows() {
-		return this.numRows;
+		return template.getNumRows();
 	}
 
 	public List<Player> getPlayers() {
@@ -310,15 +395,15 @@ public class Board {
 	}
 
 	public Room getRoom(BoardCell cell) {
-		return roomMap.get(cell.getRoomInitial());
+		return template.getRoom(cell.getRoomInitial());
 	}
 
 	public Room getRoom(char label) {
-		return roomMap.get(label);
+		return template.getRoom(label);
 	}
 
 	public Collection<Room> getRooms() {
-		return roomMap.values();
+		return template.getRooms();
 	}
 
 	public Solution getSolution() {
@@ -326,7 +411,11 @@ public class Board {
 	}
 
 	public Set<BoardCell> getDoorways() {
-		return doorways;
+		return template.getDoorways();
+	}
+
+	public RoomIndex getRoomIndex() {
+		return template.getRoomIndex();
 	}
 
 	public Set<BoardCell> getTargets() {
@@ -335,7 +424,7 @@ public class Board {
 
 	public List<Card> getCardsByType(CardType type) {
 		List<Card> result = new ArrayList<>();
-		for (Card c : deck) {
+		for (Card c : context.getDeck()) {
 			if (c.getType() == type) {
 				result.add(c);
 			}
@@ -348,13 +437,7 @@ public class Board {
 	}
 
 	public Card getRoomCardByName(String roomName) {
-		for (Card c : deck) {
-			if (c.getType() == CardType.ROOM &&
-					c.getCardName().equals(roomName)) {
-				return c;
-			}
-		}
-		return null;
+		return context.getDeckCard(new Card(roomName, CardType.ROOM));
 	}
 
 	public List<Card> getPersonCards() {
@@ -366,7 +449,7 @@ public class Board {
 	}
 
 	/**
-	 * Loads configuration files and initializes the board
+	 * Loads configuration files and initializes the board with a fresh game
 	 */
 	public void initialize() {
 		// Initialized in setConfigFiles()
@@ -374,19 +457,14 @@ public class Board {
 		 * this.setupConfigFile this.layoutConfigFile
 		 */
 
-		// Initialized in loadSetupConfig:
-		/*
-		 * this.roomMap this.spaceInitials this.playerList this.deck
-		 */
-
-		// Initialized in loadLayoutConfig()
+		// Initialized in TemplateCache, from CompiledBoard or BoardLoader (loadSetupConfig, loadLayoutConfig, calcAdj):
 		/*
-		 * this.grid this.numRows this.numColumns
+		 * this.template
 		 */
 
-		// Initialized in calcAdj()
+		// Initialized in newGame()
 		/*
-		 * this.grid
+		 * this.context this.playerList this.occupancy
 		 */
 
 		// Initialized in calcTargets
@@ -395,9 +473,10 @@ public class Board {
 		 */
 
 		try {
-			loadSetupConfig();
-			loadLayoutConfig();
-			calcAdj();
+			// a template of its own, BoardCell occupancy accessors report this board's occupancy
+			BoardTemplate own = TemplateCache.getBound(layoutConfigFile, setupConfigFile, this);
+			newGame(own, allComputer);
+			setSeed(ThreadLocalRandom.current().nextLong());
 		} catch (FileNotFoundException | BadConfigFormatException e) {
 			System.out.println(e.getMessage());
 			e.printStackTrace();
@@ -405,267 +484,38 @@ public class Board {
 
 	}
 
-	public void doFirstMove() {
-		currentPlayerIndex = 0; 
-		rollDice();
-		this.currSuggestion = null;
-		gameOver = false;
-
-		Player firstPlayer = getCurrentPlayer();
-		calcTargets(getCell(firstPlayer.getRow(), firstPlayer.getCol()), roll);
-	}
-
 	/**
-	 * Loads the layout file and builds the grid of BoardCells
+	 * Parses the setup file, see {@link #initialize()}
 	 *
-	 * @throws BadConfigFormatException if layout data is invalid
+	 * @throws BadConfigFormatException is a line has invalid format or room type
 	 * @throws FileNotFoundException    if the file cannot be opened
 	 */
-	public void loadLayoutConfig() throws BadConfigFormatException, FileNotFoundException {
-		FileReader reader = new FileReader(this.layoutConfigFile);
-		Scanner in = new Scanner(reader);
-		// used an arrayList to avoid initializing grid many times
-		ArrayList<BoardCell[]> boardRows = new ArrayList<>();
-		doorways = new HashSet<>();
-		this.numRows = 0;
-		// -1 indicates that an initial columns number has yet to be set
-		this.numColumns = -1;
-
-		while (in.hasNextLine()) {
-			String lineContents[] = in.nextLine().split(",");
-			this.numRows++;
-
-			// check for inconsistent columns per row
-			if (numColumns != lineContents.length) {
-				if (numColumns < 0) { // if numColums is yet to be set, set it
-					this.numColumns = lineContents.length;
-				} else { // else throw exception
-					throwBadConfig(new BadConfigFormatException(this.layoutConfigFile,
-							"discrepancy with number of columns in row" + numRows), in);
-				}
-			}
-
-			// read cells in this row
-			BoardCell[] currRow = new BoardCell[numColumns];
-			// config errors encountered in this set are mostly the same, so an object is
-			// created beforehand
-			BadConfigFormatException invalidCellData = new BadConfigFormatException(this.layoutConfigFile,
-					"Invalid cell data in row:" + (numRows - 1));
-			for (int i = 0; i < numColumns; ++i) {
-				String cellStr = lineContents[i];
-
-				char initial = cellStr.charAt(0);
-
-				// if there is too much or too little cell data throw a bad config error
-				if (cellStr.length() < 1 || cellStr.length() > 2) {
-					throwBadConfig(invalidCellData, in);
-				}
-
-				// if this Cell is part of a room in the setup file initialize, else throw a bad
-				// config error
-				if (roomMap.containsKey(initial)) {
-					currRow[i] = new BoardCell(numRows - 1, i, initial);
-					BoardCell currCell = currRow[i];
-
-					// handle modifiers
-					if (cellStr.length() > 1) {
-						char modifier = cellStr.charAt(1);
-
-						// if the cell is a doorway
-						if (Board.DIRECTION_MODIFIERS.containsKey(modifier)) {
-							// ensure the modifiers are on a Space room type, no non-space rooms will have
-							// doors
-							if (!spaceInitials.contains(initial)) {
-								throwBadConfig(invalidCellData, in);
-							}
-
-							currCell.setDoorDirection(DIRECTION_MODIFIERS.get(modifier));
-							doorways.add(currCell);
-							continue;
-
-						}
-
-						// if the cell is a Room modifier
-						Room currRoom = roomMap.get(initial);
-						if (Board.ROOM_MODIFIERS.containsKey(modifier)) {
-							// ensure the room modifier isn't on a space room type, these will never have
-							// room modifiers
-							if (spaceInitials.contains(initial)) {
-								throwBadConfig(invalidCellData, in);
-							}
-
-							switch (Board.ROOM_MODIFIERS.get(modifier)) {
-							case "Label":
-								currCell.setLabel();
-								currRoom.setLabelCell(currCell);
-								break;
-							case "RoomCenter":
-								currCell.setRoomCenter();
-								currRoom.setCenterCell(currCell);
-								break;
-							default:
-								break;
-							}
-							continue;
-						}
-
-						// if the cell has a valid secretPassage
-						if (roomMap.containsKey(modifier) && !(spaceInitials.contains(modifier))) {
-							currCell.setSecretPassage(modifier);
-							currRoom.setSecretPassageTarget(modifier);
-							continue;
-						}
-					}
-
-				} else {
-					throwBadConfig(invalidCellData, in);
-				}
-			}
-
-			boardRows.add(currRow); // add row to arrayList
-		}
-
-		// add rows to grid
-		this.grid = new BoardCell[numRows][];
-		for (int i = 0; i < boardRows.size(); ++i) {
-			// DEBUG
-			// System.out.println(boardRows.get(i));
-			grid[i] = boardRows.get(i);
-		}
-
-		//set all player occupied cells accordingly
-		for (Player player : playerList) {
-			grid[player.getRow()][player.getCol()].setOccupied(true);
-		}
-
-		in.close();
+	public void loadSetupConfig() throws BadConfigFormatException, FileNotFoundException {
+		// BoardCells built from this loader report this board's occupancy
+		loader = new BoardLoader(layoutConfigFile, setupConfigFile, this);
+		loader.loadSetupConfig();
 	}
 
 	/**
-	 * Loads the setup file and populates: - roomMap: mapping from room initial to
-	 * Room - spaceInitials: initials representing "space" (walkway)
+	 * Parses the layout file, must follow {@link #loadSetupConfig()}
 	 *
-	 * @throws BadConfigFormatException is a line has invalid format or room type
+	 * @throws BadConfigFormatException if layout data is invalid
 	 * @throws FileNotFoundException    if the file cannot be opened
 	 */
-	public void loadSetupConfig() throws BadConfigFormatException, FileNotFoundException {
-		// takes setup file and loads into room map
-		FileReader reader = new FileReader(this.setupConfigFile);
-		Scanner in = new Scanner(reader);
-		int index = 0; // index is purely for error messages
-
-		this.roomMap = new HashMap<>(); // hashMap for unordered storage
-		this.spaceInitials = new ArrayList<>(); // arrayList for varying space type rooms
-		this.playerList = new ArrayList<>(); // arrayList for varying numbers of players
-		this.roll = 0;
-		this.deck = new ArrayList<>();
-
-		while (in.hasNextLine()) {
-			// read each line into {"room type", "room name", "room character"}
-			String[] lineContents = in.nextLine().split(",\\s*");
-			String setupType = lineContents[0];
-
-			// skip lines preceded "//" (comment)
-			if (setupType.startsWith("//")) {
-				// DEBUG
-				// System.out.println(lineContents[0]);
-				index++;
-				continue;
-			}
-
-			// throws an error if incorrect number of data is passed per line
-			if (lineContents.length > MAX_SETUP_FIELDS) {
-				throwBadConfig(new BadConfigFormatException(setupConfigFile, "invalid input format on line " + index),
-						in);
-			}
-
-			// assign the data of lineContents
-			if (setupType.equals(Board.SETUPTYPE_ROOM)) {
-				Room newRoom = new Room(lineContents[1]);
-				roomMap.put(lineContents[2].charAt(0), newRoom);
-				// if data is a room add a card
-				Card room = new Card(lineContents[1], CardType.ROOM);
-				deck.add(room);
-
-			} else if (setupType.equals(Board.SETUPTYPE_SPACE)) {
-				Room newRoom = new Room(lineContents[1]);
-				roomMap.put(lineContents[2].charAt(0), newRoom);
-				// if the data is a space, add it to the spaceInitials list
-				spaceInitials.add(lineContents[2].charAt(0));
-			} else if (setupType.equals(Board.SETUPTYPE_Player)) {
-				Player newPlayer = null;
-				// read player data
-				String playerType = lineContents[1];
-				String name = lineContents[2];
-				String color = lineContents[3];
-				int row = Integer.parseInt(lineContents[4]);
-				int col = Integer.parseInt(lineContents[5]);
-
-				//if all computer players flag set, set player type to computer
-				if(ClueGame.TEST_SET_ALL_PLAYER_COMPUTER) {
-					playerType = "Computer";
-				}
-
-				if (playerType.equals("Human")) {
-					newPlayer = new HumanPlayer(name, COLOR_MAP.get(color), row, col);
-				} else if (playerType.equals("Computer")) {
-					newPlayer = new ComputerPlayer(name, COLOR_MAP.get(color), row, col);
-				} else {
-					throwBadConfig(new BadConfigFormatException(setupConfigFile,
-							"invalid player type on line " + index + ": " + playerType), in);
-				}
-				this.playerList.add(newPlayer);
-
-				Card person = new Card(name, CardType.PERSON);
-				deck.add(person);
-
-			} else if (setupType.equals(Board.SETUPTYPE_Weapon)) {
-				Card weapon = new Card(lineContents[1], CardType.WEAPON);
-				deck.add(weapon);
-
-			} else {
-				throwBadConfig(new BadConfigFormatException(setupConfigFile,
-						"invalid Setup type on line " + index + ": " + setupType), in);
-			}
-
-			index++;
-		}
-
-		//set static player cards
-		Player.setCards(deck,roomMap);
-
-		in.close();
+	public void loadLayoutConfig() throws BadConfigFormatException, FileNotFoundException {
+		loader.loadLayoutConfig();
 	}
 
-	/**
-	 * DFS helper for {@link #calcTargets(BoardCell, int)}
-	 * 
-	 * @param currCell
-	 * @param remainingSteps
-	 * @param visited
-	 */
-	private void searchTargets(BoardCell currCell, int remainingSteps, Set<BoardCell> visited) {
-		// DFS to explore possible paths from currentCell using remainingSteps
-		for (BoardCell adj : currCell.getAdjList()) {
-			if (visited.contains(adj)) {
-				// skip visited cells
-				continue;
-			} else if (adj.getOccupied() && !(adj.isRoomCenter())) {
-				// skip occupied cells that aren't the room center
-				continue;
-			}
-
-			visited.add(adj); // mark cell visited
-
-			// if last step or or cell is a room center, add it to targets
-			if (adj.isRoomCenter() || remainingSteps == 1) {
-				targets.add(adj);
-			} else { // if more steps left, recursively call
-				searchTargets(adj, remainingSteps - 1, visited);
-			}
+	public void doFirstMove() {
+		currentPlayerIndex = 0; 
+		rollDice();
+		gameOver = false;
+		winner = null;
+		awaitingHumanMove = false;
 
-			visited.remove(adj);
-		}
+		Player firstPlayer = getCurrentPlayer();
+		calcTargets(getCell(firstPlayer.getRow(), firstPlayer.getCol()), roll);
+		state = GameState.start(nextVersion(), playerList).withTurn(currentPlayerIndex, roll, targets);
 	}
 
 	/**
@@ -681,26 +531,36 @@ public class Board {
 
 	}
 
-	public void setSolution(Solution answer) {
-		this.classified = answer;
-	}
-
 	/**
-	 * Centralizes cleanup for configuration-loading errors
+	 * Seats computers in the human seats the next time {@link #initialize()}
+	 * runs, the GUI's all-computer test mode
 	 * 
-	 * @param exception
-	 * @param scanner
-	 * @throws BadConfigFormatException after closing the scanner
+	 * @param allComputer
 	 */
-	private void throwBadConfig(BadConfigFormatException exception, Scanner scanner) throws BadConfigFormatException {
-		scanner.close();
-		throw exception;
+	public void setAllComputer(boolean allComputer) {
+		this.allComputer = allComputer;
+	}
+
+	public void setSolution(Solution answer) {
+		this.classified = answer;
 	}
 
 	public Player getCurrentPlayer() {
 		return this.playerList.get(currentPlayerIndex);
 	}
 
+	public void addGameListener(GameListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeGameListener(GameListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Checks the current player's accusation, if they are making one. Any
+	 * accusation ends the game, the listeners are told whether it was right
+	 */
 	public void doAccuse() {
 		Player player = getCurrentPlayer();
 		
@@ -711,24 +571,16 @@ public class Board {
 				return;
 			}
 
-			String message = null;
-			String playerName = player.getName();
-			if(player instanceof HumanPlayer) {
-				playerName = "you";
-			}
-
-			if(checkAccusation(accusation) == true) {
-				message = "Congratulations!!! " + playerName + " has won the game!"
-						+"\nit was: " + this.getSolution();
-			}else {
-				message = "Dratz! " + playerName + " looks like you got it wrong." 
-						+ "\nthe real solution was:\n" + this.getSolution();
+			boolean correct = checkAccusation(accusation);
+			if (correct) {
+				winner = player;
 			}
-			message += "\nThanks for playing! Please close this window.";
-			JOptionPane.showMessageDialog(panel, message, "GAME OVER!", JOptionPane.INFORMATION_MESSAGE);
 			gameOver = true;
+			state = state.withGameOver(winner);
 
-			
+			for (GameListener listener : listeners) {
+				listener.accusationMade(player, accusation, correct);
+			}
 		}
 
 	}
@@ -738,8 +590,8 @@ public class Board {
 	 * @return true if successful, false if waiting for a selection
 	 */
 	public boolean nextPlayer() {
-		if(panel.isListening() || gameOver == true) {
-			// return false if panel is currently listening for a player selection or the game is over
+		if(awaitingHumanMove || gameOver == true) {
+			// return false if the human is still picking a target or the game is over
 			return false;
 		}
 
@@ -750,39 +602,97 @@ public class Board {
 	}
 
 	private void rollDice() {
-		Random random = new Random();
-		this.roll = random.nextInt(MAX_DICE_ROLL - MIN_DICE_ROLL + 1) + MIN_DICE_ROLL;
+		this.roll = diceRandom.nextInt(MIN_DICE_ROLL, MAX_DICE_ROLL + 1);
 	}
 
+	/**
+	 * Plays the current player's turn. Computer players move, accuse and suggest
+	 * immediately, a human turn waits for {@link #finishHumanMove(BoardCell)}
+	 */
 	public void startTurn() {
 		Player player = getCurrentPlayer();
+		for (GameListener listener : listeners) {
+			listener.turnStarted(player, roll);
+		}
 
 		calcTargets(getCell(player.getRow(), player.getCol()), getRoll());
+		state = state.withTurn(currentPlayerIndex, roll, targets);
 
 		// if the player is a human player 
 		if(player instanceof HumanPlayer) {
 			// ensure human player selects a valid target
 
-			// get move data from panel
-			// panel will call the decision phase
+			// the listeners collect the move, finishHumanMove() runs the decision phase
 			if(player.willAccuse() == false) {
-				panel.handleHumanPlayerTurn(true);
+				awaitingHumanMove = true;
+				state = state.withAwaitingHumanMove(true);
+				for (GameListener listener : listeners) {
+					listener.humanMoveRequested((HumanPlayer) player, targets);
+				}
 			}
 
 		} else if (player instanceof ComputerPlayer) {
 			ComputerPlayer compPlayer = (ComputerPlayer) player; // safe cast
 			// move to a cell
 			BoardCell newLocation = compPlayer.selectTarget(targets);
-			movePlayerTo(compPlayer, newLocation);
+			// a boxed in player has no targets and stays put
+			if (newLocation != null) {
+				movePlayerTo(compPlayer, newLocation);
+			}
 			
 			doAccuse();
 
 			doPlayerDecision(compPlayer);
 
 			// update board
-			panel.updateUI();
+			fireBoardChanged();
+
+		}
+	}
+
+	/**
+	 * Completes a human turn started by {@link #startTurn()}
+	 * 
+	 * @param target cell the human picked
+	 * @return false if the board was not waiting for the human or target is not
+	 *         a valid target
+	 */
+	public boolean finishHumanMove(BoardCell target) {
+		Player player = getCurrentPlayer();
+		if (!awaitingHumanMove || !targets.contains(target) || player.willAccuse()) {
+			return false;
+		}
+
+		awaitingHumanMove = false;
+		state = state.withAwaitingHumanMove(false);
+		movePlayerTo(player, target);
 
+		if (target.isRoomCenter()) {
+			doPlayerDecision(player);
 		}
+		fireBoardChanged();
+		return true;
+	}
+
+	public boolean isAwaitingHumanMove() {
+		return awaitingHumanMove;
+	}
+
+	/**
+	 * Plays a whole game without any user interface, for all-computer games
+	 * 
+	 * @param maxTurns turn limit, in case nobody ever accuses
+	 * @return number of turns played
+	 */
+	public int playGame(int maxTurns) {
+		doFirstMove();
+		startTurn();
+		int turns = 1;
+		while (!gameOver && turns < maxTurns && nextPlayer()) {
+			startTurn();
+			turns++;
+		}
+		return turns;
 	}
 
 	public void doPlayerDecision(Player player){
@@ -795,7 +705,7 @@ public class Board {
 				HumanPlayer humanPlayer = (HumanPlayer) player;
 
 				Card room = getRoomCardByName(getRoom(location).getName());
-				suggestion = humanPlayer.getSuggestion(room, panel);
+				suggestion = humanPlayer.getSuggestion(room);
 
 			}else if(player instanceof ComputerPlayer) {
 				ComputerPlayer compPlayer = (ComputerPlayer) player; // safe cast
@@ -803,122 +713,173 @@ public class Board {
 				suggestion =  compPlayer.createSuggestion(location.getRoomInitial());
 			}
 
-			Card result = handleSuggestion(suggestion, player);
-			player.receiveSuggestionResult(result, suggestion);
-			//testing logic
-			if(ClueGame.TEST_SUGGESTION) {
-				if(result != null) {
-					System.out.println("Suggestion: " + suggestion
-							+ "\nMade by : " + player.getName()
-							+ "\nDisproven by: " + result.getPlayerHoldingThis().getName()
-							+ "\nWith the card: " + result);
-				}else {
-					System.out.println("Suggestion: " + suggestion
-							+ "\nMade by : " + player.getName()
-							+ "\n not disproven");
+			if (suggestion != null) {
+				Card result = handleSuggestion(suggestion, player);
+				player.receiveSuggestionResult(result, suggestion);
+				for (GameListener listener : listeners) {
+					listener.suggestionHandled(player, suggestion, result);
 				}
-				System.out.println();
-
-
 			}
 		}else {
-			this.currSuggestion = null;
-			//testing logic
-			if(ClueGame.TEST_SUGGESTION) {
-				System.out.println(player.getName() + " has not reached a room");
-			}
+			state = state.withSuggestion(null, null);
 		}
 		
-		panel.updateUI();
-		
-		gamePanel.setGuess(getCurrentGuess());
-		gamePanel.setGuessResult(getCurrentGuessResult());
-		gamePanel.updateUI();
+		fireBoardChanged();
+		for (GameListener listener : listeners) {
+			listener.decisionMade(player);
+		}
 	}
 
-	public Card handleSuggestion(Solution suggestion, Player suggester) {
-		
-		int numPlayers = 6;
-		int accuserIndex = playerList.indexOf(suggester);
-		this.currSuggestion = suggestion;
-
-		//find the player to move
-		String suggestedPlayerName = suggestion.getPerson().getCardName();
-		Player suggestedPlayer = null;
-		for (Player player : playerList) {
-			if(player.getName() == suggestedPlayerName) {
-				suggestedPlayer = player;
-			}
+	private void fireBoardChanged() {
+		for (GameListener listener : listeners) {
+			listener.boardChanged();
 		}
+	}
 
-		//find the room to move them to 
-		String suggestedRoomName = suggestion.getRoom().getCardName();
-		Room suggestedRoom = null;
-		for(Room room : roomMap.values()) {
-			if(room.getName() == suggestedRoomName) {
-				suggestedRoom = room;
-			}
+	/**
+	 * Moves the suggested person to the suggested room and goes around the
+	 * table from the suggester's left until someone can disprove it. Owners are
+	 * looked up per suggested card, so this costs the same for any hand size
+	 * or number of players
+	 * 
+	 * @param suggestion
+	 * @param suggester
+	 * @return the disproving card, or null if no other player holds any
+	 */
+	public Card handleSuggestion(Solution suggestion, Player suggester) {
+		//move the suggested player to the room, unknown names are not moved
+		Player suggestedPlayer = playersByName.get(suggestion.getPerson().getCardName());
+		Room suggestedRoom = template.getRoomByName(suggestion.getRoom().getCardName());
+		if (suggestedPlayer != null && suggestedRoom != null) {
+			this.movePlayerTo(suggestedPlayer, suggestedRoom.getCenterCell());
 		}
 
-		//move player to room
-		this.movePlayerTo(suggestedPlayer, suggestedRoom.getCenterCell());
-
-		// start index is the player after the suggester, loop around playerList once
-		for (int i = 1; i < numPlayers; i++) {
-			int playerIndex = (accuserIndex + i) % numPlayers;
-			Player currPlayer = playerList.get(playerIndex);
-
-			// suggester can't disprove self
-			if (currPlayer == suggester) {
-				continue;
-			}
-
-			// see if current player can disprove the suggestion
-			Card disprovingCard = currPlayer.disproveSuggestion(suggestion);
-
-			if (disprovingCard != null) { 	// if current player can disprove
-				suggester.updateSeen(disprovingCard);	// update suggester's seen cards
-				this.currSuggestionResult = disprovingCard;
-				return disprovingCard;		// return matching card
+		// the first owner after the suggester, going around the table once
+		Integer suggesterSeat = seatOf.get(suggester);
+		int start = suggesterSeat == null ? -1 : suggesterSeat;
+		int closest = Math.min(seatsAfter(start, suggestion.getPerson(), suggester),
+				Math.min(seatsAfter(start, suggestion.getRoom(), suggester),
+						seatsAfter(start, suggestion.getWeapon(), suggester)));
+
+		if (closest < playerList.size()) {
+			int disproverSeat = Math.floorMod(start + closest, playerList.size());
+			Player disprover = playerList.get(disproverSeat);
+			// a player holding more than one of the cards picks which to show
+			Card disprovingCard = disprover.disproveSuggestion(suggestion);
+			// update suggester's seen cards
+			if (suggester.updateSeen(disprovingCard)) {
+				for (GameListener listener : listeners) {
+					listener.cardSeen(suggester, disprovingCard);
+				}
 			}
+			state = state.withSuggestion(suggestion, disprovingCard);
+			announceAnswer(start, suggestion, disproverSeat, disprovingCard);
+			return disprovingCard;		// return matching card
 		}
 
 		// if no player could disprove, return null
-		this.currSuggestionResult = null;
+		state = state.withSuggestion(suggestion, null);
+		announceAnswer(start, suggestion, -1, null);
 		return null;
 	}
 
-	private String getCurrentGuessResult() {
-		if(currSuggestion == null) {
-			return "";
+	/**
+	 * Tells every player who passed and who disproved a suggestion, only the
+	 * suggester sees the card
+	 */
+	private void announceAnswer(int suggesterSeat, Solution suggestion, int disproverSeat, Card shown) {
+		for (int seat = 0; seat < playerList.size(); seat++) {
+			playerList.get(seat).suggestionAnswered(suggesterSeat, suggestion, disproverSeat,
+					seat == suggesterSeat ? shown : null);
 		}
-		
-		if(currSuggestionResult == null) {
-			return "Suggestion was not disproven";
-		}else{
-			return "Disproven by: " + currSuggestionResult.getPlayerHoldingThis().getName();
+	}
+
+	/**
+	 * @return how many seats after {@code start} the holder of {@code card}
+	 *         sits, or the number of players if nobody but the suggester holds it
+	 */
+	private int seatsAfter(int start, Card card, Player suggester) {
+		Player owner = ownerOf(card);
+		Integer seat = owner == null ? null : seatOf.get(owner);
+		if (seat == null || owner == suggester) {
+			return playerList.size();
 		}
+		return Math.floorMod(seat - start, playerList.size());
 	}
 
-	private String getCurrentGuess() {
-		if(currSuggestion == null) {
-			return "Waiting For a Guess!";
-		}else {
-			return currSuggestion.toString();
+	/**
+	 * @param card suggested card, from the deck or built elsewhere
+	 * @return the player holding the card, or null
+	 */
+	private Player ownerOf(Card card) {
+		Card deckCard = context.getDeckCard(card);
+		if (deckCard != null && holds(deckCard.getPlayerHoldingThis(), card)) {
+			return deckCard.getPlayerHoldingThis();
+		}
+		if (holds(card.getPlayerHoldingThis(), card)) {
+			return card.getPlayerHoldingThis();
 		}
+		return null;
+	}
+
+	private static boolean holds(Player player, Card card) {
+		// a card remembers its last holder even after clearHand()
+		return player != null && player.getHand().contains(card);
+	}
+
+	/**
+	 * @return description of who disproved the latest suggestion
+	 */
+	public String getCurrentGuessResult() {
+		return state.getGuessResultText();
+	}
+
+	/**
+	 * @return the latest suggestion, or a prompt if there is none
+	 */
+	public String getCurrentGuess() {
+		return state.getGuessText();
+	}
+
+	/**
+	 * @return the latest published state of this game. Never changes, so it can
+	 *         be read on any thread while the game goes on
+	 */
+	public GameState getState() {
+		return state;
 	}
 
 
 	public void movePlayerTo(Player player, BoardCell target) {
 		BoardCell currentCell = getCell(player.getRow(), player.getCol());
-		currentCell.setOccupied(false);
+		// update this game's occupancy, cells may be shared with other games
+		occupancy.set(currentCell.getId(), false);
 
 		player.moveTo(target.getRow(), target.getColumn());
-		target.setOccupied(true);
+		occupancy.set(target.getId(), true);
+		Integer seat = seatOf.get(player);
+		if (seat != null) {
+			state = state.withPlayerAt(seat, target.getRow(), target.getColumn());
+		}
+
+		for (GameListener listener : listeners) {
+			listener.playerMoved(player, target);
+		}
 	}
 
 	public int getRoll() {
 		return this.roll;
 	}
 
+	public boolean isGameOver() {
+		return gameOver;
+	}
+
+	/**
+	 * @return the player who accused correctly, or null
+	 */
+	public Player getWinner() {
+		return winner;
+	}
+
 }
\ No newline at end of file
@@ -2,11 +2,9 @@ package clueGame;
 
 import java.awt.Color;
 import java.awt.Graphics;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Set;
 
-import gui.ClueGUIUtil;
-
 
 /**
  * BoardCell Class
@@ -15,20 +13,35 @@ import gui.ClueGUIUtil;
  * @author Melody Goldanloo
  *
  * Represents one Cell in the Board, can have different properties and each cell interacts with the players
+ * 
+ * Cells are made by the board's {@link GridStore} from its cell arrays, on a large board only when asked for
  *
  */
 public class BoardCell {
 	private static int DOORWAY_THICKNESS_FACTOR = 4;
 
+	// drawing colors, shared so painting allocates nothing per cell
+	private static final Color WALKWAY_COLOR = new Color(112, 81, 64);
+	// the walkway darkened to 60%, kept here so headless games never load the gui classes
+	private static final Color WALKWAY_HIGHLIGHT_COLOR = new Color(67, 48, 38);
+	private static final Color ROOM_HIGHLIGHT_COLOR = new Color(100, 0, 0, 160); // dark red overlay
+	private static final Color DOOR_COLOR = new Color(56, 71, 133);
+
 	private int row;
 	private int col;
 	private char initial; // initial can never be null therefore the primitive was used
 	private DoorDirection doorDirection;
 	private boolean roomLabel;
 	private boolean roomCenter;
-	private boolean isOccupied;
 	private Character secretPassage;
+	// id of this cell in the board's AdjacencyGraph (row * numColumns + col)
+	private int id;
+	// compatibility view over the board's AdjacencyGraph, empty until adjacency is built
 	private Set<BoardCell> adjList;
+	// board whose occupancy getOccupied()/setOccupied() read and write, only set
+	// on the singleton's own template, cells of shared templates leave it null
+	// and their games track occupancy themselves
+	private Board board;
 
 	public BoardCell(int row, int col, char initial) {
 		super();
@@ -38,10 +51,10 @@ public class BoardCell {
 		this.initial = initial;
 		this.roomLabel = false;
 		this.roomCenter = false;
-		this.isOccupied = false;
 		this.doorDirection = DoorDirection.NONE;
 		this.secretPassage = null;
-		this.adjList = new HashSet<>();
+		this.id = -1;
+		this.adjList = Collections.emptySet();
 	}
 
 	public boolean isDoorway() {
@@ -72,12 +85,35 @@ public class BoardCell {
 		this.roomCenter = true;
 	}
 
+	/**
+	 * Marks this cell in the occupancy of the board its template is bound to.
+	 * Cells of shared templates are not bound, their games track occupancy
+	 * through {@link Board#getOccupancy()}
+	 * 
+	 * @param occupied
+	 * @throws IllegalStateException if the cell is not bound to a board
+	 */
 	public void setOccupied(boolean occupied) {
-		this.isOccupied = occupied;
+		boundBoard().getOccupancy().set(id, occupied);
 	}
 
+	void setBoard(Board board) {
+		this.board = board;
+	}
+
+	/**
+	 * @throws IllegalStateException if the cell is not bound to a board
+	 */
 	public boolean getOccupied() {
-		return isOccupied;
+		return boundBoard().getOccupancy().isOccupied(id);
+	}
+
+	private Board boundBoard() {
+		if (board == null) {
+			throw new IllegalStateException("cell (" + row + ", " + col
+					+ ") belongs to a shared template, use Board.getOccupancy() of its game");
+		}
+		return board;
 	}
 
 	public DoorDirection getDoorDirection() {
@@ -96,11 +132,21 @@ public class BoardCell {
 		this.secretPassage = newVal;
 	}
 
-	public void addAdj(BoardCell adj) {
-		// add adjacent cell to adjacency list
-		adjList.add(adj);
+	public int getId() {
+		return id;
+	}
+
+	void setId(int id) {
+		this.id = id;
+	}
+
+	void setAdjacency(AdjacencyGraph graph) {
+		this.adjList = graph.new NeighborSet(id);
 	}
 
+	/**
+	 * @return read-only view of the adjacent cells, backed by the board's AdjacencyGraph
+	 */
 	public Set<BoardCell> getAdjList() {
 		return adjList;
 	}
@@ -156,7 +202,7 @@ public class BoardCell {
 		switch(initial){
 		case 'W': // walkway
 			// draw border
-			fillColor = new Color(112, 81, 64);
+			fillColor = WALKWAY_COLOR;
 			borderColor = Color.BLACK;
 			break;
 		case 'X': // unused
@@ -180,13 +226,8 @@ public class BoardCell {
 		int y = row * height;
 
 		if (initial == 'W') {
-			// base walkway color from your draw() method
-			Color walkway = new Color(112, 81, 64);
-
-			// make it darker – you can tweak this factor
-			Color darkerWalkway = ClueGUIUtil.darken(walkway, 0.6);
-
-			g.setColor(darkerWalkway);
+			// darker version of the walkway color from draw()
+			g.setColor(WALKWAY_HIGHLIGHT_COLOR);
 			g.fillRect(x, y, width, height);
 
 			// keep same border as normal walkways
@@ -198,8 +239,7 @@ public class BoardCell {
 		// room highlight
 		java.awt.Graphics2D g2 = (java.awt.Graphics2D) g;
 
-		Color overlay = new Color(100, 0, 0, 160); // dark red overlay
-		g2.setColor(overlay);
+		g2.setColor(ROOM_HIGHLIGHT_COLOR);
 		g2.fillRect(x, y, width, height);
 
 		// room highlight border
@@ -212,7 +252,7 @@ public class BoardCell {
 	public void drawDoor(Graphics g, int width, int height){
 		int cellX = col * width;
 		int cellY = row * height;
-		g.setColor(new Color (56, 71, 133));
+		g.setColor(DOOR_COLOR);
 		int thickness;
 
 		switch(doorDirection) {
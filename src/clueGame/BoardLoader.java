@@ -0,0 +1,577 @@
+package clueGame;
+
+import java.awt.Color;
+import java.io.FileNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * BoardLoader Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Parses the setup and layout config files and turns them into an
+ *         immutable {@link BoardTemplate}: the cells linked to their Rooms, the
+ *         adjacency graph, the player seats and the deck.
+ */
+class BoardLoader {
+	private static final int MAX_SETUP_FIELDS = 6;
+	private static final String SETUPTYPE_ROOM = "Room";
+	private static final String SETUPTYPE_SPACE = "Space";
+	private static final String SETUPTYPE_Player = "Player";
+	private static final String SETUPTYPE_Weapon = "Weapon";
+	// boards with fewer cells build their adjacency on the calling thread
+	private static final int PARALLEL_ADJ_CELLS = 1 << 16;
+	// rows each fork-join task collects edges for
+	private static final int ADJ_BAND_ROWS = 64;
+	// boards with at least this many cells only make the BoardCells that are used
+	static final int LAZY_CELLS = 1 << 16;
+	private static final Map<String, Color> COLOR_MAP = 
+			Map.of("pink", new Color (214, 109, 149), 
+					"red", new Color (161, 21, 27), 
+					"magenta", new Color (190, 88, 199), 
+					"black", Color.black, 
+					"green", new Color (36, 133, 81), 
+					"teal", new Color(6, 136, 150));
+
+	private final String layoutConfigFile;
+	private final String setupConfigFile;
+	// board whose BoardCell occupancy accessors these cells report, may be null
+	private final Board owner;
+
+	private GridStore cells;
+	private int numRows;
+	private int numColumns;
+	private Set<BoardCell> doorways;
+	private Map<Character, Room> roomMap;
+	private List<Character> spaceInitials;
+	private List<BoardTemplate.Seat> seats;
+	private List<Card> deck;
+
+	/**
+	 * @param layoutConfigFile path of the layout csv
+	 * @param setupConfigFile  path of the setup txt
+	 * @param owner            board that BoardCell.getOccupied()/setOccupied()
+	 *                         should report for, or null
+	 */
+	BoardLoader(String layoutConfigFile, String setupConfigFile, Board owner) {
+		this.layoutConfigFile = layoutConfigFile;
+		this.setupConfigFile = setupConfigFile;
+		this.owner = owner;
+	}
+
+	/**
+	 * Loads both config files and builds the template
+	 *
+	 * @return the parsed, immutable board
+	 * @throws BadConfigFormatException if either file is invalid
+	 * @throws FileNotFoundException    if either file cannot be opened
+	 */
+	BoardTemplate load() throws BadConfigFormatException, FileNotFoundException {
+		loadSetupConfig();
+		loadLayoutConfig();
+		return build();
+	}
+
+	/**
+	 * Computes adjacency and packages everything loaded so far. Boards of
+	 * {@value #LAZY_CELLS} cells or more make their BoardCell objects lazily
+	 */
+	BoardTemplate build() {
+		return build(numRows * numColumns >= LAZY_CELLS);
+	}
+
+	/**
+	 * @param lazyCells true to make BoardCell objects only when they are asked
+	 *                  for, false to make them all now
+	 */
+	BoardTemplate build(boolean lazyCells) {
+		AdjacencyGraph adjacency = calcAdj();
+		if (!lazyCells) {
+			cells.materializeAll();
+		}
+		return new BoardTemplate(layoutConfigFile, setupConfigFile, cells, numRows, numColumns, adjacency, doorways,
+				roomMap, spaceInitials, seats, deck);
+	}
+
+	/**
+	 * Computes the adjacency graph for all cells. Edges are collected into an
+	 * {@link AdjacencyGraph.Builder} and packed once into CSR arrays, which every
+	 * cell's {@link BoardCell#getAdjList()} then views. Large boards collect
+	 * their edges in row bands on the common fork-join pool
+	 */
+	private AdjacencyGraph calcAdj() {
+		return calcAdj(numRows * numColumns < PARALLEL_ADJ_CELLS ? null : ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param pool pool to collect row bands on, or null to collect every row on
+	 *             this thread. The graph is the same either way, the builder
+	 *             sorts each cell's edges no matter which band added them
+	 */
+	AdjacencyGraph calcAdj(ForkJoinPool pool) {
+		AdjacencyGraph.Builder builder;
+		if (pool == null) {
+			builder = new AdjacencyGraph.Builder(cells, numRows * numColumns * 2);
+			addRowEdges(builder, 0, numRows);
+		} else {
+			builder = pool.invoke(new EdgeBand(0, numRows));
+		}
+
+		AdjacencyGraph adjacency = builder.build();
+		cells.setAdjacency(adjacency);
+		return adjacency;
+	}
+
+	/**
+	 * Adds the edges leaving every cell in rows {@code fromRow} to
+	 * {@code toRow - 1}. A doorway also adds the edge back from its room center,
+	 * which may be in another band, the builder keeps it with the doorway's
+	 * edges until everything is packed. Reads only the store's arrays, so no
+	 * BoardCell is made
+	 */
+	private void addRowEdges(AdjacencyGraph.Builder builder, int fromRow, int toRow) {
+		for (int i = fromRow; i < toRow; i++) {
+			for (int j = 0; j < this.numColumns; j++) {
+				int currId = i * numColumns + j;
+				char initial = cells.initial(currId);
+
+				// skip cells that cannot have adj list (must be a walkway or room center)
+				if ((initial != 'W') && !cells.isRoomCenter(currId)) {
+					continue;
+				}
+
+				// if cell is room center
+				if (cells.isRoomCenter(currId)) {
+					// get the secret passage initial from the cell's room
+					Character passageInitial = roomMap.get(initial).getSecretPassageTarget();
+					// if cell has a secret passage
+					if (passageInitial != null) {
+						// add the centerCell of the secretPassage room to the currentCell's adj list
+						builder.addEdge(currId, roomMap.get(passageInitial).getCenterCell().getId());
+					}
+					continue;
+				}
+
+				// if cell is a doorway
+				if (cells.isDoorway(currId)) {
+					Room doorwayTo = null;
+					switch (cells.doorDirection(currId)) {
+					case UP:
+						if (i > 0) {
+							doorwayTo = roomMap.get(cells.initial(currId - numColumns));
+						}
+						break;
+					case DOWN:
+						if (i < numRows - 1) {
+							doorwayTo = roomMap.get(cells.initial(currId + numColumns));
+						}
+						break;
+					case LEFT:
+						if (j > 0) {
+							doorwayTo = roomMap.get(cells.initial(currId - 1));
+						}
+						break;
+					case RIGHT:
+						if (j < numColumns - 1) {
+							doorwayTo = roomMap.get(cells.initial(currId + 1));
+						}
+						break;
+					default:
+						continue;
+					}
+
+					int centerId = doorwayTo.getCenterCell().getId();
+					builder.addEdge(currId, centerId);
+					builder.addEdge(centerId, currId);
+				}
+
+				// Walkway adjacency: up, down, left, right (within bounds)
+				// above
+				if (i > 0 && cells.initial(currId - numColumns) == 'W') {
+					builder.addEdge(currId, currId - numColumns);
+				}
+
+				// below
+				if (i < numRows - 1 && cells.initial(currId + numColumns) == 'W') {
+					builder.addEdge(currId, currId + numColumns);
+				}
+
+				// left
+				if (j > 0 && cells.initial(currId - 1) == 'W') {
+					builder.addEdge(currId, currId - 1);
+				}
+
+				// right
+				if (j < numColumns - 1 && cells.initial(currId + 1) == 'W') {
+					builder.addEdge(currId, currId + 1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Splits a range of rows in half until it is one band, then collects the
+	 * band's edges. Bands are merged left to right
+	 */
+	private class EdgeBand extends RecursiveTask<AdjacencyGraph.Builder> {
+		private static final long serialVersionUID = 1L;
+
+		private final int fromRow;
+		private final int toRow;
+
+		EdgeBand(int fromRow, int toRow) {
+			this.fromRow = fromRow;
+			this.toRow = toRow;
+		}
+
+		@Override
+		protected AdjacencyGraph.Builder compute() {
+			if (toRow - fromRow <= ADJ_BAND_ROWS) {
+				// about two edges per cell
+				AdjacencyGraph.Builder band = new AdjacencyGraph.Builder(cells, (toRow - fromRow) * numColumns * 2);
+				addRowEdges(band, fromRow, toRow);
+				return band;
+			}
+
+			int mid = (fromRow + toRow) >>> 1;
+			EdgeBand left = new EdgeBand(fromRow, mid);
+			left.fork();
+			AdjacencyGraph.Builder right = new EdgeBand(mid, toRow).compute();
+			return left.join().addAll(right);
+		}
+	}
+
+	/**
+	 * Loads the layout file into the cell arrays of a GridStore. Requires
+	 * {@link #loadSetupConfig()} to have been called first. Cells are read
+	 * straight out of the line's bytes, only the BoardCells themselves are
+	 * allocated
+	 *
+	 * @throws BadConfigFormatException if layout data is invalid
+	 * @throws FileNotFoundException    if the file cannot be opened
+	 */
+	void loadLayoutConfig() throws BadConfigFormatException, FileNotFoundException {
+		// rooms and spaces by initial, instead of boxing every initial for roomMap,
+		// initials past the table are looked up in roomMap
+		Room[] roomsByInitial = new Room[256];
+		boolean[] isSpace = new boolean[256];
+		for (Map.Entry<Character, Room> entry : roomMap.entrySet()) {
+			if (entry.getKey() < 256) {
+				roomsByInitial[entry.getKey()] = entry.getValue();
+				isSpace[entry.getKey()] = spaceInitials.contains(entry.getKey());
+			}
+		}
+
+		try (ConfigReader in = new ConfigReader(this.layoutConfigFile)) {
+			// cells go straight into the store's arrays, no BoardCell is made here
+			GridStore.Builder store = new GridStore.Builder();
+			// label, center and door cells, linked to their rooms once the store exists
+			List<Integer> markedIds = new ArrayList<>();
+			this.numRows = 0;
+			// -1 indicates that an initial columns number has yet to be set
+			this.numColumns = -1;
+
+			while (in.nextLine()) {
+				byte[] line = in.line();
+				int length = in.length();
+				this.numRows++;
+
+				// check for inconsistent columns per row
+				int fields = countLayoutFields(line, length);
+				if (numColumns != fields) {
+					if (numColumns < 0) { // if numColums is yet to be set, set it
+						this.numColumns = fields;
+					} else {
+						throw new BadConfigFormatException(this.layoutConfigFile,
+								"discrepancy with number of columns in row" + numRows);
+					}
+				}
+
+				// read cells in this row
+				store.ensureCapacity(numColumns);
+				int start = 0;
+				for (int i = 0; i < numColumns; ++i) {
+					int end = start;
+					while (end < length && line[end] != ',') {
+						end++;
+					}
+					int cellLength = end - start;
+					char initial = cellLength > 0 ? (char) line[start] : 0;
+					char modifier = cellLength > 1 ? (char) line[start + 1] : 0;
+					// cells are almost always ASCII, others are decoded as UTF-8 like the setup file
+					if (cellLength > 2 || initial > 0x7F || modifier > 0x7F) {
+						String cell = new String(line, start, cellLength, StandardCharsets.UTF_8);
+						cellLength = cell.length();
+						initial = cell.charAt(0);
+						modifier = cellLength > 1 ? cell.charAt(1) : 0;
+					}
+
+					// if there is too much or too little cell data throw a bad config error
+					if (cellLength < 1 || cellLength > 2) {
+						throw invalidCellData();
+					}
+
+					// if this Cell is not part of a room in the setup file throw a bad config error
+					Room currRoom = initial < 256 ? roomsByInitial[initial] : roomMap.get(initial);
+					if (currRoom == null) {
+						throw invalidCellData();
+					}
+					boolean space = initial < 256 ? isSpace[initial] : spaceInitials.contains(initial);
+
+					int id = store.addCell(initial);
+
+					// handle modifiers
+					if (cellLength > 1) {
+						DoorDirection direction = doorDirection(modifier);
+
+						if (direction != null) {
+							// doorways can only be on a Space room type
+							if (!space) {
+								throw invalidCellData();
+							}
+							store.setDoorDirection(id, direction);
+							markedIds.add(id);
+
+						} else if (modifier == '#' || modifier == '*') {
+							// room modifiers can never be on a Space room type
+							if (space) {
+								throw invalidCellData();
+							}
+							store.setFlag(id, modifier == '#' ? GridStore.LABEL : GridStore.CENTER);
+							markedIds.add(id);
+
+						} else if (roomMap.containsKey(modifier) && !spaceInitials.contains(modifier)) {
+							// the cell has a valid secretPassage
+							store.setSecretPassage(id, modifier);
+							currRoom.setSecretPassageTarget(modifier);
+						}
+					}
+					start = end + 1;
+				}
+			}
+
+			this.cells = store.build(numColumns);
+			cells.bind(owner);
+			linkMarkedCells(markedIds);
+		}
+	}
+
+	/**
+	 * Collects the doorways and gives each room its label and center cell. The
+	 * last label or center of a room in the file wins, only those cells and
+	 * the doorways are made here
+	 *
+	 * @param markedIds ids of the doorway, label and center cells in file order
+	 */
+	private void linkMarkedCells(List<Integer> markedIds) {
+		int[] doorIds = new int[markedIds.size()];
+		int numDoors = 0;
+		for (int id : markedIds) {
+			if (cells.isDoorway(id)) {
+				doorIds[numDoors++] = id;
+			}
+		}
+		doorways = cells.cellSet(Arrays.copyOf(doorIds, numDoors));
+
+		for (int k = markedIds.size() - 1; k >= 0; k--) {
+			int id = markedIds.get(k);
+			Room room = roomMap.get(cells.initial(id));
+			if (cells.isLabel(id) && room.getLabelCell() == null) {
+				room.setLabelCell(cells.cell(id));
+			} else if (cells.isRoomCenter(id) && room.getCenterCell() == null) {
+				room.setCenterCell(cells.cell(id));
+			}
+		}
+	}
+
+	/**
+	 * @return the config error for a bad cell in the current row
+	 */
+	private BadConfigFormatException invalidCellData() {
+		return new BadConfigFormatException(this.layoutConfigFile, "Invalid cell data in row:" + (numRows - 1));
+	}
+
+	/**
+	 * Counts cells the way {@code String.split(",")} would: an empty line is
+	 * one empty cell and empty cells at the end of a line don't count
+	 */
+	private static int countLayoutFields(byte[] line, int length) {
+		if (length == 0) {
+			return 1;
+		}
+		int end = length;
+		while (end > 0 && line[end - 1] == ',') {
+			end--;
+		}
+		if (end == 0) {
+			return 0;
+		}
+		int fields = 1;
+		for (int i = 0; i < end; i++) {
+			if (line[i] == ',') {
+				fields++;
+			}
+		}
+		return fields;
+	}
+
+	private static DoorDirection doorDirection(char modifier) {
+		switch (modifier) {
+		case '^':
+			return DoorDirection.UP;
+		case 'v':
+			return DoorDirection.DOWN;
+		case '>':
+			return DoorDirection.RIGHT;
+		case '<':
+			return DoorDirection.LEFT;
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Loads the setup file and populates: - roomMap: mapping from room initial to
+	 * Room - spaceInitials: initials representing "space" (walkway) - seats:
+	 * the players to create in every game - deck: one prototype card per
+	 * room, person and weapon
+	 *
+	 * @throws BadConfigFormatException is a line has invalid format or room type
+	 * @throws FileNotFoundException    if the file cannot be opened
+	 */
+	void loadSetupConfig() throws BadConfigFormatException, FileNotFoundException {
+		this.roomMap = new HashMap<>(); // hashMap for unordered storage
+		this.spaceInitials = new ArrayList<>(); // arrayList for varying space type rooms
+		this.seats = new ArrayList<>(); // arrayList for varying numbers of players
+		this.deck = new ArrayList<>();
+
+		try (ConfigReader in = new ConfigReader(this.setupConfigFile)) {
+			int index = 0; // index is purely for error messages
+			List<String> lineContents = new ArrayList<>(MAX_SETUP_FIELDS);
+
+			while (in.nextLine()) {
+				byte[] line = in.line();
+				int length = in.length();
+
+				// skip lines preceded "//" (comment)
+				if (length >= 2 && line[0] == '/' && line[1] == '/') {
+					index++;
+					continue;
+				}
+
+				// read each line into {"room type", "room name", "room character"}
+				splitSetupLine(line, length, lineContents);
+				String setupType = lineContents.isEmpty() ? "" : lineContents.get(0);
+
+				// throws an error if incorrect number of data is passed per line
+				if (lineContents.size() > MAX_SETUP_FIELDS) {
+					throw invalidFormat(index);
+				}
+
+				// assign the data of lineContents
+				if (setupType.equals(SETUPTYPE_ROOM)) {
+					requireFields(lineContents, 3, index);
+					Room newRoom = new Room(lineContents.get(1));
+					roomMap.put(lineContents.get(2).charAt(0), newRoom);
+					// if data is a room add a card
+					Card room = new Card(lineContents.get(1), CardType.ROOM, deck.size());
+					deck.add(room);
+
+				} else if (setupType.equals(SETUPTYPE_SPACE)) {
+					requireFields(lineContents, 3, index);
+					Room newRoom = new Room(lineContents.get(1));
+					roomMap.put(lineContents.get(2).charAt(0), newRoom);
+					// if the data is a space, add it to the spaceInitials list
+					spaceInitials.add(lineContents.get(2).charAt(0));
+
+				} else if (setupType.equals(SETUPTYPE_Player)) {
+					requireFields(lineContents, MAX_SETUP_FIELDS, index);
+					// read player data
+					String playerType = lineContents.get(1);
+					String name = lineContents.get(2);
+					String color = lineContents.get(3);
+					int row;
+					int col;
+					try {
+						row = Integer.parseInt(lineContents.get(4));
+						col = Integer.parseInt(lineContents.get(5));
+					} catch (NumberFormatException e) {
+						throw invalidFormat(index);
+					}
+
+					if (!playerType.equals("Human") && !playerType.equals("Computer")) {
+						throw new BadConfigFormatException(setupConfigFile,
+								"invalid player type on line " + index + ": " + playerType);
+					}
+					this.seats.add(new BoardTemplate.Seat(playerType, name, COLOR_MAP.get(color), row, col));
+
+					Card person = new Card(name, CardType.PERSON, deck.size());
+					deck.add(person);
+
+				} else if (setupType.equals(SETUPTYPE_Weapon)) {
+					requireFields(lineContents, 2, index);
+					Card weapon = new Card(lineContents.get(1), CardType.WEAPON, deck.size());
+					deck.add(weapon);
+
+				} else {
+					throw new BadConfigFormatException(setupConfigFile,
+							"invalid Setup type on line " + index + ": " + setupType);
+				}
+
+				index++;
+			}
+		}
+	}
+
+	private BadConfigFormatException invalidFormat(int index) {
+		return new BadConfigFormatException(setupConfigFile, "invalid input format on line " + index);
+	}
+
+	private void requireFields(List<String> lineContents, int count, int index) throws BadConfigFormatException {
+		if (lineContents.size() < count || lineContents.get(count - 1).isEmpty()) {
+			throw invalidFormat(index);
+		}
+	}
+
+	/**
+	 * Splits a setup line the way {@code String.split(",\\s*")} would: a comma
+	 * and the whitespace after it separate fields, and empty fields at the end
+	 * of the line are dropped
+	 */
+	private static void splitSetupLine(byte[] line, int length, List<String> fields) {
+		fields.clear();
+		int start = 0;
+		for (int i = 0; i < length; i++) {
+			if (line[i] == ',') {
+				fields.add(new String(line, start, i - start, StandardCharsets.UTF_8));
+				start = i + 1;
+				while (start < length && isWhitespace(line[start])) {
+					start++;
+				}
+				i = start - 1;
+			}
+		}
+		fields.add(new String(line, start, length - start, StandardCharsets.UTF_8));
+
+		// an empty line is one empty field, otherwise trailing empty fields go
+		if (length > 0) {
+			while (!fields.isEmpty() && fields.get(fields.size() - 1).isEmpty()) {
+				fields.remove(fields.size() - 1);
+			}
+		}
+	}
+
+	// the characters \s matches
+	private static boolean isWhitespace(byte b) {
+		return b == ' ' || b == '\t' || b == '\n' || b == 0x0B || b == '\f' || b == '\r';
+	}
+}
@@ -0,0 +1,204 @@
+package clueGame;
+
+import java.awt.Color;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * BoardTemplate Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Everything about a board that never changes during a game: the
+ *         cells, the Rooms, the adjacency graph, the player seats and the
+ *         deck. A template is read-only once built, so any number of
+ *         concurrent {@link Board} games can share one.
+ *
+ *         Cells are kept in a {@link GridStore}, a large board only makes the
+ *         BoardCell objects that are asked for. A {@link RoomIndex} answers
+ *         where each room is without scanning the cells.
+ */
+public final class BoardTemplate {
+	private final String layoutConfigFile;
+	private final String setupConfigFile;
+	private final GridStore cells;
+	private final int numRows;
+	private final int numColumns;
+	private final AdjacencyGraph adjacency;
+	private final Set<BoardCell> doorways;
+	private final Map<Character, Room> roomMap;
+	// rooms (not spaces) by name, the name a room card carries
+	private final Map<String, Room> roomsByName;
+	private final List<Character> spaceInitials;
+	private final List<Seat> seats;
+	private final List<Card> deck;
+	private final RoomIndex roomIndex;
+	// target engines hold scratch state, so every querying thread gets its own
+	private final ThreadLocal<TargetEngine> targetEngines;
+
+	BoardTemplate(String layoutConfigFile, String setupConfigFile, GridStore cells, int numRows,
+			int numColumns, AdjacencyGraph adjacency, Set<BoardCell> doorways, Map<Character, Room> roomMap,
+			List<Character> spaceInitials, List<Seat> seats, List<Card> deck) {
+		this.layoutConfigFile = layoutConfigFile;
+		this.setupConfigFile = setupConfigFile;
+		this.cells = cells;
+		this.numRows = numRows;
+		this.numColumns = numColumns;
+		this.adjacency = adjacency;
+		this.doorways = Collections.unmodifiableSet(doorways);
+		this.roomMap = Collections.unmodifiableMap(roomMap);
+		this.spaceInitials = List.copyOf(spaceInitials);
+		Map<String, Room> byName = new HashMap<>();
+		for (Map.Entry<Character, Room> entry : roomMap.entrySet()) {
+			if (!spaceInitials.contains(entry.getKey())) {
+				byName.put(entry.getValue().getName(), entry.getValue());
+			}
+		}
+		this.roomsByName = Map.copyOf(byName);
+		this.seats = List.copyOf(seats);
+		this.deck = List.copyOf(deck);
+		this.roomIndex = new RoomIndex(cells, this.roomMap, this.spaceInitials);
+		this.targetEngines = ThreadLocal.withInitial(() -> new TargetEngine(adjacency));
+	}
+
+	public String getLayoutConfigFile() {
+		return layoutConfigFile;
+	}
+
+	public String getSetupConfigFile() {
+		return setupConfigFile;
+	}
+
+	public BoardCell getCell(int rowNum, int colNum) {
+		if (rowNum < 0 || rowNum >= numRows || colNum < 0 || colNum >= numColumns) {
+			throw new ArrayIndexOutOfBoundsException("no cell at (" + rowNum + ", " + colNum + ")");
+		}
+		return cells.cell(rowNum * numColumns + colNum);
+	}
+
+	/**
+	 * @return number of BoardCell objects made so far, every cell on a small
+	 *         board and only the ones used on a large one
+	 */
+	public int countCellViews() {
+		return cells.countViews();
+	}
+
+	public int getNumRows() {
+		return numRows;
+	}
+
+	public int getNumColumns() {
+		return numColumns;
+	}
+
+	public AdjacencyGraph getAdjacencyGraph() {
+		return adjacency;
+	}
+
+	public Set<BoardCell> getDoorways() {
+		return doorways;
+	}
+
+	/**
+	 * @return cells, doorways and bounds of every room
+	 */
+	public RoomIndex getRoomIndex() {
+		return roomIndex;
+	}
+
+	public Room getRoom(char label) {
+		return roomMap.get(label);
+	}
+
+	public Collection<Room> getRooms() {
+		return roomMap.values();
+	}
+
+	/**
+	 * @param name room name from the setup file
+	 * @return the room, or null if no room (spaces excluded) has that name
+	 */
+	public Room getRoomByName(String name) {
+		return roomsByName.get(name);
+	}
+
+	public Map<Character, Room> getRoomMap() {
+		return roomMap;
+	}
+
+	public List<Character> getSpaceInitials() {
+		return spaceInitials;
+	}
+
+	public List<Seat> getSeats() {
+		return seats;
+	}
+
+	/**
+	 * @return prototype cards, every game deals its own copies of these
+	 */
+	public List<Card> getDeck() {
+		return deck;
+	}
+
+	/**
+	 * @return this thread's target engine for the template's adjacency graph
+	 */
+	TargetEngine getTargetEngine() {
+		return targetEngines.get();
+	}
+
+	GridStore getCells() {
+		return cells;
+	}
+
+	/**
+	 * A player as described by the setup file: what kind of player sits there,
+	 * who they are and where they start
+	 */
+	public static final class Seat {
+		private final String playerType;
+		private final String name;
+		private final Color color;
+		private final int row;
+		private final int col;
+
+		public Seat(String playerType, String name, Color color, int row, int col) {
+			this.playerType = playerType;
+			this.name = name;
+			this.color = color;
+			this.row = row;
+			this.col = col;
+		}
+
+		public String getPlayerType() {
+			return playerType;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public Color getColor() {
+			return color;
+		}
+
+		public int getRow() {
+			return row;
+		}
+
+		public int getCol() {
+			return col;
+		}
+
+		public boolean isHuman() {
+			return playerType.equals("Human");
+		}
+	}
+}
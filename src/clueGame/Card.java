@@ -13,10 +13,20 @@ public class Card {
 	private String cardName;
 	private CardType type;
 	private Player inHandOf;
+	// dense index of this card in its deck, -1 for cards made outside a deck
+	private final int ordinal;
 
 	public Card(String cardName, CardType type) {
+		this(cardName, type, -1);
+	}
+
+	/**
+	 * @param ordinal position of the card in the deck, used by {@link CardSet}
+	 */
+	Card(String cardName, CardType type, int ordinal) {
 		this.cardName = cardName;
 		this.type = type;
+		this.ordinal = ordinal;
 		inHandOf = null;
 	}
 
@@ -35,6 +45,14 @@ public class Card {
 	public Player getPlayerHoldingThis() {
 		return inHandOf;
 	}
+
+	/**
+	 * @return index of this card in its deck, or -1 if it is not from a deck
+	 */
+	public int getOrdinal() {
+		return ordinal;
+	}
+
 	/**
 	 * @param target
 	 */
@@ -50,6 +68,12 @@ public class Card {
 		return this.cardName.equals(other.cardName) && this.type == other.type;
 	}
 
+	@Override
+	public int hashCode() {
+		// must agree with equals, the ordinal is left out
+		return 31 * cardName.hashCode() + (type == null ? 0 : type.hashCode());
+	}
+
 	@Override
 	public String toString() {
 		return cardName;
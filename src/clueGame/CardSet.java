@@ -0,0 +1,350 @@
+package clueGame;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * CardSet Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         A Set of Cards stored as a bitmask over the card ordinals, so
+ *         union, intersection and difference of two CardSets are a few
+ *         bitwise ops with no allocation. Iterates in ordinal (deck) order.
+ *         Cards made outside of a deck have no ordinal, those are kept in a
+ *         small side list and handled by equals() like any other Set. The
+ *         bitwise fast paths assume both sets hold cards of one deck layout,
+ *         i.e. equal ordinals mean equal cards.
+ */
+public final class CardSet extends AbstractSet<Card> {
+	// bit k is set when the card with ordinal k is in the set
+	private long[] bits;
+	// card stored for each set bit, so iteration can return it
+	private Card[] cards;
+	// cards without a usable ordinal
+	private final List<Card> others;
+	private boolean frozen;
+
+	public CardSet() {
+		this.bits = new long[1];
+		this.cards = new Card[Long.SIZE];
+		this.others = new ArrayList<>(0);
+	}
+
+	public CardSet(Collection<? extends Card> cards) {
+		this();
+		addAll(cards);
+	}
+
+	/**
+	 * @return a copy that can not be modified, for sets shared by a whole game
+	 */
+	public CardSet frozenCopy() {
+		CardSet copy = new CardSet(this);
+		copy.frozen = true;
+		return copy;
+	}
+
+	@Override
+	public int size() {
+		return Bits.cardinality(bits) + others.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		for (long word : bits) {
+			if (word != 0) {
+				return false;
+			}
+		}
+		return others.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (!(o instanceof Card)) {
+			return false;
+		}
+		Card card = (Card) o;
+		int ordinal = card.getOrdinal();
+		if (ordinal >= 0 && ordinal < cards.length && Bits.get(bits, ordinal) && cards[ordinal].equals(card)) {
+			return true;
+		}
+		return find(card) != null;
+	}
+
+	@Override
+	public boolean add(Card card) {
+		checkMutable();
+		int ordinal = card.getOrdinal();
+		if (ordinal >= 0) {
+			ensureCapacity(ordinal);
+			if (!Bits.get(bits, ordinal)) {
+				if (find(card) != null) {
+					// an equal card without an ordinal is already here
+					return false;
+				}
+				Bits.set(bits, ordinal);
+				cards[ordinal] = card;
+				return true;
+			}
+			if (cards[ordinal].equals(card)) {
+				return false;
+			}
+			// same ordinal but a different card, it belongs to another deck
+		}
+
+		if (contains(card)) {
+			return false;
+		}
+		others.add(card);
+		return true;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		checkMutable();
+		if (!(o instanceof Card)) {
+			return false;
+		}
+		Card card = (Card) o;
+		int ordinal = card.getOrdinal();
+		if (ordinal >= 0 && ordinal < cards.length && Bits.get(bits, ordinal) && cards[ordinal].equals(card)) {
+			clearOrdinal(ordinal);
+			return true;
+		}
+
+		Card match = find(card);
+		if (match == null) {
+			return false;
+		}
+		if (match.getOrdinal() >= 0 && match.getOrdinal() < cards.length && cards[match.getOrdinal()] == match) {
+			clearOrdinal(match.getOrdinal());
+		} else {
+			others.remove(match);
+		}
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		checkMutable();
+		Arrays.fill(bits, 0);
+		Arrays.fill(cards, null);
+		others.clear();
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends Card> c) {
+		if (c instanceof CardSet && !((CardSet) c).hasOthers()) {
+			checkMutable();
+			CardSet other = (CardSet) c;
+			ensureCapacity(other.cards.length - 1);
+			boolean changed = false;
+			for (int i = 0; i < other.bits.length; i++) {
+				long added = other.bits[i] & ~bits[i];
+				if (added != 0 && others.isEmpty()) {
+					bits[i] |= added;
+					copyCards(other, i, added);
+					changed = true;
+				} else {
+					// equal cards may already sit in the side list
+					for (; added != 0; added &= added - 1) {
+						changed |= add(other.cards[(i << 6) + Long.numberOfTrailingZeros(added)]);
+					}
+				}
+			}
+			return changed;
+		}
+		return super.addAll(c);
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		if (c instanceof CardSet && !hasOthers() && !((CardSet) c).hasOthers()) {
+			checkMutable();
+			CardSet other = (CardSet) c;
+			boolean changed = false;
+			int shared = Math.min(bits.length, other.bits.length);
+			for (int i = 0; i < shared; i++) {
+				long removed = bits[i] & other.bits[i];
+				if (removed != 0) {
+					bits[i] &= ~removed;
+					changed = true;
+				}
+			}
+			return changed;
+		}
+		boolean changed = false;
+		for (Object o : c) {
+			changed |= remove(o);
+		}
+		return changed;
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		if (c instanceof CardSet && !hasOthers() && !((CardSet) c).hasOthers()) {
+			checkMutable();
+			CardSet other = (CardSet) c;
+			boolean changed = false;
+			for (int i = 0; i < bits.length; i++) {
+				long kept = i < other.bits.length ? bits[i] & other.bits[i] : 0;
+				if (kept != bits[i]) {
+					bits[i] = kept;
+					changed = true;
+				}
+			}
+			return changed;
+		}
+		return super.retainAll(c);
+	}
+
+	/**
+	 * @param other
+	 * @return true if the two sets share a card
+	 */
+	public boolean intersects(CardSet other) {
+		if (hasOthers() || other.hasOthers()) {
+			for (Card card : other) {
+				if (contains(card)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		int shared = Math.min(bits.length, other.bits.length);
+		for (int i = 0; i < shared; i++) {
+			if ((bits[i] & other.bits[i]) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the first 64 ordinals as a mask, for decks that fit in a long
+	 */
+	public long toLong() {
+		return bits[0];
+	}
+
+	/**
+	 * @param index position in iteration order
+	 * @return the card at that position
+	 */
+	public Card get(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		int remaining = index;
+		for (int i = 0; i < bits.length; i++) {
+			int count = Long.bitCount(bits[i]);
+			if (remaining < count) {
+				long word = bits[i];
+				for (; remaining > 0; remaining--) {
+					word &= word - 1;
+				}
+				return cards[(i << 6) + Long.numberOfTrailingZeros(word)];
+			}
+			remaining -= count;
+		}
+		if (remaining < others.size()) {
+			return others.get(remaining);
+		}
+		throw new IndexOutOfBoundsException(index);
+	}
+
+	@Override
+	public Iterator<Card> iterator() {
+		return new Iterator<Card>() {
+			private int next = Bits.nextSetBit(bits, 0);
+			private int other = 0;
+			private Card last;
+
+			@Override
+			public boolean hasNext() {
+				return next >= 0 || other < others.size();
+			}
+
+			@Override
+			public Card next() {
+				if (next >= 0) {
+					last = cards[next];
+					next = Bits.nextSetBit(bits, next + 1);
+				} else if (other < others.size()) {
+					last = others.get(other++);
+				} else {
+					throw new NoSuchElementException();
+				}
+				return last;
+			}
+
+			@Override
+			public void remove() {
+				if (last == null) {
+					throw new IllegalStateException();
+				}
+				if (next < 0 && other > 0 && others.get(other - 1) == last) {
+					other--;
+				}
+				CardSet.this.remove(last);
+				last = null;
+			}
+		};
+	}
+
+	private boolean hasOthers() {
+		return !others.isEmpty();
+	}
+
+	/**
+	 * Linear search by equals, only used for cards without a matching ordinal
+	 */
+	private Card find(Card card) {
+		for (int i = Bits.nextSetBit(bits, 0); i >= 0; i = Bits.nextSetBit(bits, i + 1)) {
+			if (cards[i].equals(card)) {
+				return cards[i];
+			}
+		}
+		for (Card other : others) {
+			if (other.equals(card)) {
+				return other;
+			}
+		}
+		return null;
+	}
+
+	private void copyCards(CardSet other, int word, long added) {
+		while (added != 0) {
+			int index = (word << 6) + Long.numberOfTrailingZeros(added);
+			cards[index] = other.cards[index];
+			added &= added - 1;
+		}
+	}
+
+	private void clearOrdinal(int ordinal) {
+		Bits.clear(bits, ordinal);
+		cards[ordinal] = null;
+	}
+
+	private void ensureCapacity(int ordinal) {
+		if (ordinal >= cards.length) {
+			int words = Bits.words(ordinal + 1);
+			bits = Arrays.copyOf(bits, words);
+			cards = Arrays.copyOf(cards, words << 6);
+		}
+	}
+
+	private void checkMutable() {
+		if (frozen) {
+			throw new UnsupportedOperationException("CardSet is read-only");
+		}
+	}
+}
@@ -0,0 +1,353 @@
+package clueGame;
+
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * CompiledBoard Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Binary snapshot of a parsed BoardTemplate, so a launch can skip the
+ *         text parsers and the adjacency computation. The file holds the
+ *         rooms, every cell with its door direction and secret passage, the
+ *         packed adjacency arrays, the seats and the deck. It is read through
+ *         a memory mapped FileChannel.
+ *
+ *         The header records the format version, the modification times of
+ *         the two text files it was compiled from and a CRC32 of the rest. A
+ *         file with another version, a bad checksum or older than either text
+ *         file is ignored, and the caller parses the text files instead.
+ *
+ *         Usage: CompiledBoard [layout] [setup], both under data/
+ */
+public final class CompiledBoard {
+	// "CLUB"
+	private static final int MAGIC = 0x434C5542;
+	private static final int FORMAT_VERSION = 1;
+	// magic, version, both mtimes, payload length and checksum
+	private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4 + 8;
+	private static final String EXTENSION = ".clueboard";
+
+	// cell flags
+	private static final int LABEL = 1;
+	private static final int CENTER = 1 << 1;
+	private static final int PASSAGE = 1 << 2;
+
+	private CompiledBoard() {}
+
+	/**
+	 * @return where the compiled form of a layout and setup pair is kept, next
+	 *         to the layout file
+	 */
+	public static Path pathFor(String layoutConfigFile, String setupConfigFile) {
+		Path layout = Paths.get(layoutConfigFile);
+		String name = baseName(layout) + "+" + baseName(Paths.get(setupConfigFile)) + EXTENSION;
+		Path parent = layout.getParent();
+		return parent == null ? Paths.get(name) : parent.resolve(name);
+	}
+
+	/**
+	 * Loads the compiled form of the two files if it is there and up to date
+	 *
+	 * @param owner board that the cells report occupancy for, or null
+	 * @return the template, or null if the text files have to be parsed
+	 */
+	static BoardTemplate readIfFresh(String layoutConfigFile, String setupConfigFile, Board owner) {
+		return read(pathFor(layoutConfigFile, setupConfigFile), layoutConfigFile, setupConfigFile, owner);
+	}
+
+	/**
+	 * Loads a compiled board from {@code file}
+	 *
+	 * @param file             compiled board
+	 * @param layoutConfigFile layout it must be at least as new as
+	 * @param setupConfigFile  setup it must be at least as new as
+	 * @param owner            board that the cells report occupancy for, or null
+	 * @return the template, or null if the file is missing, stale or damaged
+	 */
+	public static BoardTemplate read(Path file, String layoutConfigFile, String setupConfigFile, Board owner) {
+		if (!Files.isRegularFile(file)) {
+			return null;
+		}
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_BYTES) {
+				return null;
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+			if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+				return null;
+			}
+			// text edited after compiling wins
+			long layoutModified = buffer.getLong();
+			long setupModified = buffer.getLong();
+			if (new File(layoutConfigFile).lastModified() > layoutModified
+					|| new File(setupConfigFile).lastModified() > setupModified) {
+				return null;
+			}
+			int length = buffer.getInt();
+			long checksum = buffer.getLong();
+			if (length != channel.size() - HEADER_BYTES) {
+				return null;
+			}
+
+			ByteBuffer payload = buffer.slice(HEADER_BYTES, length);
+			CRC32 crc = new CRC32();
+			crc.update(payload.duplicate());
+			if (crc.getValue() != checksum) {
+				return null;
+			}
+			return decode(payload, layoutConfigFile, setupConfigFile, owner);
+		} catch (IOException | RuntimeException e) {
+			// an unreadable or truncated file is treated like a missing one
+			return null;
+		}
+	}
+
+	/**
+	 * Writes {@code template} to {@code file}, stamped with the modification
+	 * times of the text files it came from
+	 *
+	 * @param template
+	 * @param file
+	 * @throws IOException if the file can not be written
+	 */
+	public static void write(BoardTemplate template, Path file) throws IOException {
+		byte[] payload = encode(template);
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+		header.putInt(MAGIC);
+		header.putInt(FORMAT_VERSION);
+		header.putLong(new File(template.getLayoutConfigFile()).lastModified());
+		header.putLong(new File(template.getSetupConfigFile()).lastModified());
+		header.putInt(payload.length);
+		header.putLong(crc.getValue());
+		header.flip();
+
+		// written next to the target and moved over it, so readers never see half a file
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer body = ByteBuffer.wrap(payload);
+			while (header.hasRemaining() || body.hasRemaining()) {
+				channel.write(new ByteBuffer[] { header, body });
+			}
+		}
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static byte[] encode(BoardTemplate template) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		int numRows = template.getNumRows();
+		int numColumns = template.getNumColumns();
+		out.writeInt(numRows);
+		out.writeInt(numColumns);
+
+		// rooms and spaces, in setup file order for the spaces
+		Map<Character, Room> roomMap = template.getRoomMap();
+		List<Character> spaces = template.getSpaceInitials();
+		out.writeInt(roomMap.size());
+		for (Map.Entry<Character, Room> entry : roomMap.entrySet()) {
+			out.writeChar(entry.getKey());
+			writeString(out, entry.getValue().getName());
+		}
+		out.writeInt(spaces.size());
+		for (char initial : spaces) {
+			out.writeChar(initial);
+		}
+
+		// cells in id order, read from the store so a lazy board makes no BoardCells
+		GridStore cells = template.getCells();
+		for (int id = 0; id < numRows * numColumns; id++) {
+			Character passage = cells.secretPassage(id);
+			int flags = (cells.isLabel(id) ? LABEL : 0) | (cells.isRoomCenter(id) ? CENTER : 0)
+					| (passage != null ? PASSAGE : 0);
+			out.writeChar(cells.initial(id));
+			out.writeByte(flags);
+			out.writeByte(cells.doorDirection(id).ordinal());
+			if (passage != null) {
+				out.writeChar(passage);
+			}
+		}
+
+		// adjacency exactly as packed, no need to compute it again
+		AdjacencyGraph adjacency = template.getAdjacencyGraph();
+		int numCells = adjacency.getNumCells();
+		for (int id = 0; id <= numCells; id++) {
+			out.writeInt(id < numCells ? adjacency.neighborStart(id) : adjacency.getNumEdges());
+		}
+		for (int index = 0; index < adjacency.getNumEdges(); index++) {
+			out.writeInt(adjacency.neighborAt(index));
+		}
+
+		List<BoardTemplate.Seat> seats = template.getSeats();
+		out.writeInt(seats.size());
+		for (BoardTemplate.Seat seat : seats) {
+			writeString(out, seat.getPlayerType());
+			writeString(out, seat.getName());
+			// the setup file may name a color we don't know
+			out.writeBoolean(seat.getColor() != null);
+			out.writeInt(seat.getColor() == null ? 0 : seat.getColor().getRGB());
+			out.writeInt(seat.getRow());
+			out.writeInt(seat.getCol());
+		}
+
+		List<Card> deck = template.getDeck();
+		out.writeInt(deck.size());
+		for (Card card : deck) {
+			writeString(out, card.getCardName());
+			out.writeByte(card.getType().ordinal());
+		}
+
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	private static BoardTemplate decode(ByteBuffer in, String layoutConfigFile, String setupConfigFile,
+			Board owner) {
+		int numRows = in.getInt();
+		int numColumns = in.getInt();
+
+		Map<Character, Room> roomMap = new HashMap<>();
+		int numRooms = in.getInt();
+		for (int i = 0; i < numRooms; i++) {
+			char initial = in.getChar();
+			roomMap.put(initial, new Room(readString(in)));
+		}
+		List<Character> spaceInitials = new ArrayList<>();
+		int numSpaces = in.getInt();
+		for (int i = 0; i < numSpaces; i++) {
+			spaceInitials.add(in.getChar());
+		}
+
+		DoorDirection[] directions = DoorDirection.values();
+		GridStore.Builder store = new GridStore.Builder();
+		store.ensureCapacity(numRows * numColumns);
+		for (int id = 0; id < numRows * numColumns; id++) {
+			char initial = in.getChar();
+			int flags = in.get();
+			DoorDirection direction = directions[in.get()];
+			store.addCell(initial);
+			store.setDoorDirection(id, direction);
+			if ((flags & LABEL) != 0) {
+				store.setFlag(id, GridStore.LABEL);
+			}
+			if ((flags & CENTER) != 0) {
+				store.setFlag(id, GridStore.CENTER);
+			}
+			if ((flags & PASSAGE) != 0) {
+				char passage = in.getChar();
+				store.setSecretPassage(id, passage);
+				roomMap.get(initial).setSecretPassageTarget(passage);
+			}
+		}
+		GridStore cells = store.build(numColumns);
+		cells.bind(owner);
+
+		int[] offsets = new int[cells.getNumCells() + 1];
+		for (int i = 0; i < offsets.length; i++) {
+			offsets[i] = in.getInt();
+		}
+		int[] neighbors = new int[offsets[cells.getNumCells()]];
+		in.asIntBuffer().get(neighbors);
+		in.position(in.position() + neighbors.length * Integer.BYTES);
+		AdjacencyGraph adjacency = AdjacencyGraph.fromArrays(numColumns, offsets, neighbors, cells);
+		cells.setAdjacency(adjacency);
+
+		// doorways and each room's last label and center cell, the only cells made here
+		int[] doorIds = new int[cells.getNumCells()];
+		int numDoors = 0;
+		for (int id = 0; id < cells.getNumCells(); id++) {
+			if (cells.isDoorway(id)) {
+				doorIds[numDoors++] = id;
+			}
+		}
+		Set<BoardCell> doorways = cells.cellSet(Arrays.copyOf(doorIds, numDoors));
+		for (int id = cells.getNumCells() - 1; id >= 0; id--) {
+			if (cells.isLabel(id) && roomMap.get(cells.initial(id)).getLabelCell() == null) {
+				roomMap.get(cells.initial(id)).setLabelCell(cells.cell(id));
+			} else if (cells.isRoomCenter(id) && roomMap.get(cells.initial(id)).getCenterCell() == null) {
+				roomMap.get(cells.initial(id)).setCenterCell(cells.cell(id));
+			}
+		}
+		if (numRows * numColumns < BoardLoader.LAZY_CELLS) {
+			cells.materializeAll();
+		}
+
+		List<BoardTemplate.Seat> seats = new ArrayList<>();
+		int numSeats = in.getInt();
+		for (int i = 0; i < numSeats; i++) {
+			String playerType = readString(in);
+			String name = readString(in);
+			boolean hasColor = in.get() != 0;
+			int rgb = in.getInt();
+			seats.add(new BoardTemplate.Seat(playerType, name, hasColor ? new Color(rgb, true) : null, in.getInt(),
+					in.getInt()));
+		}
+
+		CardType[] types = CardType.values();
+		List<Card> deck = new ArrayList<>();
+		int numCards = in.getInt();
+		for (int i = 0; i < numCards; i++) {
+			String name = readString(in);
+			deck.add(new Card(name, types[in.get()], deck.size()));
+		}
+
+		return new BoardTemplate(layoutConfigFile, setupConfigFile, cells, numRows, numColumns, adjacency, doorways,
+				roomMap, spaceInitials, seats, deck);
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(ByteBuffer in) {
+		byte[] bytes = new byte[in.getInt()];
+		in.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static String baseName(Path path) {
+		String name = path.getFileName().toString();
+		int dot = name.lastIndexOf('.');
+		return dot > 0 ? name.substring(0, dot) : name;
+	}
+
+	public static void main(String[] args) throws BadConfigFormatException, IOException {
+		String layout = "data/" + (args.length > 0 ? args[0] : "ClueLayout.csv");
+		String setup = "data/" + (args.length > 1 ? args[1] : "ClueSetup.txt");
+
+		BoardTemplate template = new BoardLoader(layout, setup, null).load();
+		Path file = pathFor(layout, setup);
+		write(template, file);
+		System.out.println("Compiled " + layout + " and " + setup + " to " + file + " (" + Files.size(file)
+				+ " bytes)");
+	}
+}
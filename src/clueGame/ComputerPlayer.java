@@ -5,7 +5,6 @@ import java.util.Set;
 
 import gui.ClueGame;
 
-import java.util.Collections;
 
 /**
  * ComputerPlayer Class
@@ -17,19 +16,82 @@ import java.util.Collections;
  */
 public class ComputerPlayer extends Player {
 	Solution accusation;
+	// what this player deduced from every suggestion, null until the deal
+	private KnowledgeMatrix knowledge;
+	// seat at the table, set when the cards are dealt
+	private int seat = -1;
+	private SuggestionStrategy strategy = SuggestionStrategy.RANDOM;
+	// made on the first scored suggestion of a game
+	private SuggestionScorer scorer;
 	
 	public ComputerPlayer(String name, Color color, int row, int col) {
 		super(name, color, row, col);
 		this.accusation = null;
 	}
+
+	public ComputerPlayer(String name, Color color, int row, int col, GameContext context) {
+		super(name, color, row, col, context);
+		this.accusation = null;
+	}
+
+	/**
+	 * @return this player's deductions, or null if it was not dealt in by a game
+	 */
+	public KnowledgeMatrix getKnowledge() {
+		return knowledge;
+	}
+
+	public SuggestionStrategy getSuggestionStrategy() {
+		return strategy;
+	}
+
+	public void setSuggestionStrategy(SuggestionStrategy strategy) {
+		this.strategy = strategy;
+	}
+
+	@Override
+	void cardsDealt(int seat, int[] handSizes) {
+		this.seat = seat;
+		this.scorer = null;
+		// bigger decks fall back to the seen cards alone
+		if (KnowledgeMatrix.supports(getContext())) {
+			knowledge = new KnowledgeMatrix(getContext(), handSizes);
+			knowledge.setHand(seat, getHand());
+		}
+	}
+
+	@Override
+	void suggestionAnswered(int suggester, Solution suggestion, int disprover, Card shown) {
+		if (knowledge == null) {
+			return;
+		}
+		knowledge.suggestionAnswered(suggester, suggestion, disprover, shown);
+
+		// cards deduced to be held by someone are ruled out like seen ones,
+		// the player accuses as soon as one solution is left
+		if (getSolutionSpace().retain(knowledge.getPossibleMask(knowledge.getCaseFile()))) {
+			checkUnseenCards();
+		}
+	}
 	
 	
 	public Solution createSuggestion(Card room) {
+		Card roomCard = getContext().getDeckCard(room);
+		if (strategy == SuggestionStrategy.INFORMATION_GAIN && knowledge != null && roomCard != null) {
+			if (scorer == null) {
+				scorer = new SuggestionScorer(knowledge);
+			}
+			Solution best = scorer.choose(seat, roomCard, getSolutionSpace(), getRandom());
+			if (best != null) {
+				return best;
+			}
+		}
+
 		//debug artifact
 		//Card nullCard = new Card("INVALID_ROOM", null);
 		
-		Set<Card> unseenPeople = getUnseenCards(ALL_PEOPLE_SET);
-		Set<Card> unseenWeapons = getUnseenCards(ALL_WEAPONS_SET);
+		Set<Card> unseenPeople = getUnseenCards(getContext().getPeople());
+		Set<Card> unseenWeapons = getUnseenCards(getContext().getWeapons());
 		
 		//select a random Unseen person
 		Card suggestionPerson = getRandomElement(unseenPeople);  
@@ -41,15 +103,16 @@ public class ComputerPlayer extends Player {
 	}
 	
 	public Solution createSuggestion(char roomInitial) {
-		Card roomCard = ALL_ROOMS_MAP.get(roomInitial);
+		Card roomCard = getContext().getRoomCard(roomInitial);
 		return createSuggestion(roomCard);
 	}
 	
 	public BoardCell selectTarget(Set<BoardCell> targets) {
 		Set<Card> seenCards = getSeenCards();
+		GameContext context = getContext();
 		
 		for(BoardCell cell : targets) {
-			if(cell.isRoomCenter() && seenCards.contains(ALL_ROOMS_MAP.get(cell.getRoomInitial())) == false) {
+			if(cell.isRoomCenter() && seenCards.contains(context.getRoomCard(cell.getRoomInitial())) == false) {
 				return cell;
 			}
 		}
@@ -61,7 +124,7 @@ public class ComputerPlayer extends Player {
 	public void receiveSuggestionResult(Card card, Solution suggestion) {
 		if(card == null) {
 			//ensure nothing in the suggestion has been seen already
-			if(Collections.disjoint(suggestion.toSet(), this.getSeenCards())) {
+			if(!suggestion.toSet().intersects(this.getSeenCards())) {
 				//DEBUG
 				if(ClueGame.TEST_COMPUTER_SOLUTION_METHOD && !(willAccuse())) {
 					System.out.println("\n_____" + getName() + " Has made a correct Suggestion_______"
@@ -75,27 +138,19 @@ public class ComputerPlayer extends Player {
 		}
 	}
 	
-	//check unSeen Cards to see if unseen card requirments are met to accuse
+	//check the solutions left to see if unseen card requirments are met to accuse
 	private void checkUnseenCards() {
-		Set<Card> unseenPeople = getUnseenCards(ALL_PEOPLE_SET);
-		Set<Card> unseenWeapons = getUnseenCards(ALL_WEAPONS_SET);
-		Set<Card> unseenRooms = getUnseenCards(ALL_ROOMS_MAP.values());
+		SolutionSpace solutions = getSolutionSpace();
 		
-		//the comp player will accuse if there is only a single unseen card in every category
-		if(unseenPeople.size() == 1 && unseenWeapons.size() == 1 && unseenRooms.size() == 1) {
-			Card accusedPerson = getRandomElement(unseenPeople);
-			Card murderWeapon = getRandomElement(unseenWeapons);
-			Card murderLocation = getRandomElement(unseenRooms);
-			
+		//the comp player will accuse once a single solution is left
+		if(solutions.isUnique() && accusation == null) {
 			//DEBUG
-			if(ClueGame.TEST_COMPUTER_SOLUTION_METHOD && !(willAccuse())) {
+			if(ClueGame.TEST_COMPUTER_SOLUTION_METHOD) {
 				System.out.println("\n_____" + getName() + " Has eliminated all incorrect solutions_______"
-						+ "\n Accusation: " +  new Solution(accusedPerson, murderLocation,  murderWeapon));
+						+ "\n Accusation: " +  solutions.getSolution());
 			}
 			
-			this.accusation =  new Solution(accusedPerson, murderLocation,  murderWeapon);
-			
-			
+			this.accusation = solutions.getSolution();
 		}
 	}
 	
@@ -0,0 +1,132 @@
+package clueGame;
+
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * ConfigReader Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Reads a config file one line at a time as raw bytes, through a
+ *         FileChannel and one reused buffer. Lines end at \n, \r\n or \r like
+ *         Scanner.nextLine(), and the bytes of the current line stay in a
+ *         reused array, so the parsers can pick cells out of a line without
+ *         making a String for each one.
+ */
+final class ConfigReader implements Closeable {
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final String file;
+	private final FileChannel channel;
+	private final byte[] bytes = new byte[BUFFER_SIZE];
+	private final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+	private int position;
+	private int limit;
+	// bytes of the current line, without the line terminator
+	private byte[] line = new byte[256];
+	private int lineLength;
+
+	/**
+	 * @param file path of the config file
+	 * @throws FileNotFoundException if it can not be opened
+	 */
+	ConfigReader(String file) throws FileNotFoundException {
+		this.file = file;
+		try {
+			this.channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+		} catch (IOException e) {
+			throw new FileNotFoundException(file + " (" + e.getMessage() + ")");
+		}
+	}
+
+	/**
+	 * Moves to the next line
+	 *
+	 * @return false at the end of the file
+	 * @throws BadConfigFormatException if the file can not be read
+	 */
+	boolean nextLine() throws BadConfigFormatException {
+		if (position == limit && !fill()) {
+			return false;
+		}
+
+		lineLength = 0;
+		while (true) {
+			// copy up to the terminator or the end of the buffer in one go
+			int end = position;
+			while (end < limit && bytes[end] != '\n' && bytes[end] != '\r') {
+				end++;
+			}
+			append(position, end);
+			position = end;
+
+			if (position < limit) {
+				byte terminator = bytes[position++];
+				if (terminator == '\r' && (position < limit || fill()) && bytes[position] == '\n') {
+					position++;
+				}
+				return true;
+			}
+			if (!fill()) {
+				// last line has no terminator
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * @return bytes of the current line, only the first {@link #length()} are
+	 *         valid and they are overwritten by the next line
+	 */
+	byte[] line() {
+		return line;
+	}
+
+	/**
+	 * @return length of the current line
+	 */
+	int length() {
+		return lineLength;
+	}
+
+	private void append(int from, int to) {
+		int count = to - from;
+		if (lineLength + count > line.length) {
+			line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + count));
+		}
+		System.arraycopy(bytes, from, line, lineLength, count);
+		lineLength += count;
+	}
+
+	private boolean fill() throws BadConfigFormatException {
+		try {
+			buffer.clear();
+			int read;
+			do {
+				read = channel.read(buffer);
+			} while (read == 0);
+			position = 0;
+			limit = Math.max(read, 0);
+			return read > 0;
+		} catch (IOException e) {
+			throw new BadConfigFormatException(file, "could not be read: " + e.getMessage());
+		}
+	}
+
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// nothing was written, there is nothing to lose
+		}
+	}
+}
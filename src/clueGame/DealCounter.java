@@ -0,0 +1,328 @@
+package clueGame;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * DealCounter Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Counts exactly the deals that agree with everything one player has
+ *         observed, and how many of them have each card in the case file, which
+ *         gives exact case file probabilities. The observations come from the
+ *         player's {@link KnowledgeMatrix}, which keeps every pass, shown card
+ *         and hidden disproof, so its deals are those of the suggestion
+ *         history.
+ *
+ *         Every possible case file triple is tried, then the unknown cards
+ *         left are handed out seat by seat. Two things keep this small:
+ *
+ *         - the count for the seats still to fill only depends on which cards
+ *           are left, so it is cached by seat and remaining-card bitmask
+ *         - cards none of the seats still to fill has ruled out and none of
+ *           their clauses mentions can be swapped freely, so only how many of
+ *           them are left matters, and choosing j of u of them is a binomial
+ *           factor instead of C(u, j) branches
+ *
+ *         At the start of a game every unknown card is of the second kind and
+ *         the count is a handful of cache entries. Seats that have ruled out
+ *         the most cards are filled first, so more cards become
+ *         interchangeable for the seats after them.
+ */
+public final class DealCounter {
+	// subsets of a seat's constrained cards are walked as masks of positions
+	// below 1L << 62, so Gosper's hack never reaches the sign bit
+	public static final int MAX_CONSTRAINED = 62;
+
+	private final List<Card> deck;
+	private final int numSeats;
+	private final long[] known;
+	private final long[] excluded;
+	private final long[] typeMasks;
+	// cards with no known holder
+	private final long free;
+	// seats that still get unknown cards, and how many each
+	private final int[] seats;
+	private final int[] room;
+	// open clauses of each seat in seats
+	private final long[][] seatClauses;
+	// unknown cards that seats[i] or a later seat treats differently from the
+	// others, one more entry than seats
+	private final long[] constrainedFrom;
+	// one cache per seat index and number of interchangeable cards left, at
+	// i * memoStride + unconstrained, from constrained cards left to the count
+	private final List<HashMap<Long, BigInteger>> memo;
+	private final int memoStride;
+
+	/**
+	 * Takes a snapshot of the player's knowledge
+	 *
+	 * @param knowledge deductions of one player, with every hand size known
+	 * @throws IllegalArgumentException if a hand size is unknown, or more than
+	 *                                  {@value #MAX_CONSTRAINED} unknown cards
+	 *                                  are ruled out or in a clause of a seat
+	 */
+	public DealCounter(KnowledgeMatrix knowledge) {
+		this.deck = knowledge.getContext().getDeck();
+		this.numSeats = knowledge.getNumSeats();
+		this.known = knowledge.copyKnown();
+		this.excluded = knowledge.copyExcluded();
+		this.typeMasks = knowledge.copyTypeMasks();
+		int[] handSizes = knowledge.copyHandSizes();
+		long[] clauses = knowledge.copyClauses();
+		int[] clauseSeats = knowledge.copyClauseSeats();
+
+		long held = 0;
+		for (long cards : known) {
+			held |= cards;
+		}
+		long free = (deck.size() == Long.SIZE ? -1L : (1L << deck.size()) - 1) & ~held;
+
+		Integer[] open = new Integer[numSeats];
+		int count = 0;
+		for (int seat = 0; seat < numSeats; seat++) {
+			if (handSizes[seat] < 0) {
+				throw new IllegalArgumentException("every hand size must be known to count deals");
+			}
+			if (handSizes[seat] > Long.bitCount(known[seat])) {
+				open[count++] = seat;
+			}
+		}
+		// the seats that may take the fewest unknown cards go first
+		Arrays.sort(open, 0, count, Comparator.comparingInt(seat -> Long.bitCount(free & ~excluded[seat])));
+		this.seats = new int[count];
+		this.room = new int[count];
+		for (int i = 0; i < count; i++) {
+			seats[i] = open[i];
+			room[i] = handSizes[seats[i]] - Long.bitCount(known[seats[i]]);
+		}
+
+		this.seatClauses = new long[count][0];
+		for (int k = 0; k < clauses.length; k++) {
+			for (int i = 0; i < count; i++) {
+				if (seats[i] == clauseSeats[k]) {
+					seatClauses[i] = Arrays.copyOf(seatClauses[i], seatClauses[i].length + 1);
+					seatClauses[i][seatClauses[i].length - 1] = clauses[k] & free;
+				}
+			}
+		}
+		this.constrainedFrom = new long[count + 1];
+		for (int i = count - 1; i >= 0; i--) {
+			long special = excluded[seats[i]];
+			for (long clause : seatClauses[i]) {
+				special |= clause;
+			}
+			constrainedFrom[i] = constrainedFrom[i + 1] | (free & special);
+		}
+		if (Long.bitCount(constrainedFrom[0]) > MAX_CONSTRAINED) {
+			throw new IllegalArgumentException("at most " + MAX_CONSTRAINED + " constrained cards can be counted, not "
+					+ Long.bitCount(constrainedFrom[0]));
+		}
+		this.free = free;
+		this.memoStride = Long.bitCount(free) + 1;
+		this.memo = new ArrayList<>(Collections.<HashMap<Long, BigInteger>>nCopies(count * memoStride, null));
+	}
+
+	/**
+	 * Counts the deals and returns the exact probabilities
+	 */
+	public Counts count() {
+		int caseFile = numSeats;
+		long[] options = new long[typeMasks.length];
+		for (int type = 0; type < typeMasks.length; type++) {
+			long knownCard = known[caseFile] & typeMasks[type];
+			options[type] = knownCard != 0 ? knownCard
+					: typeMasks[type] & ~excluded[caseFile] & free;
+		}
+
+		BigInteger total = BigInteger.ZERO;
+		BigInteger[] inCaseFile = new BigInteger[deck.size()];
+		Arrays.fill(inCaseFile, BigInteger.ZERO);
+		for (long people = options[0]; people != 0; people &= people - 1) {
+			for (long rooms = options[1]; rooms != 0; rooms &= rooms - 1) {
+				for (long weapons = options[2]; weapons != 0; weapons &= weapons - 1) {
+					long triple = Long.lowestOneBit(people) | Long.lowestOneBit(rooms) | Long.lowestOneBit(weapons);
+					long taken = triple & ~known[caseFile];
+					long left = free & ~taken;
+					BigInteger deals = countFrom(0, left & constrainedFrom[0],
+							Long.bitCount(left & ~constrainedFrom[0]));
+					if (deals.signum() == 0) {
+						continue;
+					}
+					total = total.add(deals);
+					for (long cards = triple; cards != 0; cards &= cards - 1) {
+						int card = Long.numberOfTrailingZeros(cards);
+						inCaseFile[card] = inCaseFile[card].add(deals);
+					}
+				}
+			}
+		}
+		return new Counts(deck, total, inCaseFile);
+	}
+
+	/**
+	 * @return number of ways to hand the cards left to seats[i] and after
+	 *
+	 * @param remaining     constrained cards left, within constrainedFrom[i]
+	 * @param unconstrained number of interchangeable cards left
+	 */
+	private BigInteger countFrom(int i, long remaining, int unconstrained) {
+		if (i == seats.length) {
+			return remaining == 0 && unconstrained == 0 ? BigInteger.ONE : BigInteger.ZERO;
+		}
+		HashMap<Long, BigInteger> cache = memo.get(i * memoStride + unconstrained);
+		if (cache == null) {
+			cache = new HashMap<>();
+			memo.set(i * memoStride + unconstrained, cache);
+		}
+		BigInteger cached = cache.get(remaining);
+		if (cached != null) {
+			return cached;
+		}
+
+		int seat = seats[i];
+		int need = room[i];
+		long allowed = remaining & ~excluded[seat];
+		int numAllowed = Long.bitCount(allowed);
+		int[] bits = new int[numAllowed];
+		for (int k = 0; k < numAllowed; k++) {
+			bits[k] = Long.numberOfTrailingZeros(allowed);
+			allowed &= allowed - 1;
+		}
+
+		BigInteger ways = BigInteger.ZERO;
+		for (int t = Math.max(0, need - unconstrained); t <= Math.min(need, numAllowed); t++) {
+			BigInteger rest = BigInteger.ZERO;
+			// every t of the allowed constrained cards, as positions into bits
+			for (long pick = (1L << t) - 1; pick < 1L << numAllowed; pick = nextCombination(pick)) {
+				long hand = 0;
+				for (long p = pick; p != 0; p &= p - 1) {
+					hand |= 1L << bits[Long.numberOfTrailingZeros(p)];
+				}
+				if (satisfies(i, hand)) {
+					// cards only this seat treated specially join the interchangeable ones
+					long left = remaining & ~hand;
+					long next = left & constrainedFrom[i + 1];
+					rest = rest.add(countFrom(i + 1, next, unconstrained - (need - t) + Long.bitCount(left & ~next)));
+				}
+				if (t == 0) {
+					break;
+				}
+			}
+			ways = ways.add(rest.multiply(binomial(unconstrained, need - t)));
+		}
+		cache.put(remaining, ways);
+		return ways;
+	}
+
+	/**
+	 * @return true if {@code hand} meets every clause of seats[i]; clause cards
+	 *         are never interchangeable, so the other cards do not matter
+	 */
+	private boolean satisfies(int i, long hand) {
+		for (long clause : seatClauses[i]) {
+			if ((hand & clause) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return next larger number with as many set bits (Gosper's hack)
+	 */
+	private static long nextCombination(long pick) {
+		long lowest = pick & -pick;
+		long ripple = pick + lowest;
+		return ripple | ((pick ^ ripple) >>> 2) / lowest;
+	}
+
+	private static BigInteger binomial(int n, int k) {
+		BigInteger result = BigInteger.ONE;
+		for (int j = 1; j <= k; j++) {
+			result = result.multiply(BigInteger.valueOf(n - k + j)).divide(BigInteger.valueOf(j));
+		}
+		return result;
+	}
+
+	/**
+	 * Exact numbers of consistent deals, in total and with each card in the
+	 * case file
+	 */
+	public static final class Counts {
+		private final List<Card> deck;
+		private final BigInteger total;
+		private final BigInteger[] inCaseFile;
+
+		Counts(List<Card> deck, BigInteger total, BigInteger[] inCaseFile) {
+			this.deck = deck;
+			this.total = total;
+			this.inCaseFile = inCaseFile;
+		}
+
+		/**
+		 * @return number of deals consistent with the observations, 0 if the
+		 *         observations contradict each other
+		 */
+		public BigInteger getTotal() {
+			return total;
+		}
+
+		/**
+		 * @return number of consistent deals with {@code card} in the case file
+		 */
+		public BigInteger getCount(Card card) {
+			int ordinal = card.getOrdinal();
+			if (ordinal < 0 || ordinal >= deck.size() || !deck.get(ordinal).equals(card)) {
+				return BigInteger.ZERO;
+			}
+			return inCaseFile[ordinal];
+		}
+
+		/**
+		 * @return probability that {@code card} is in the case file, 0 when no
+		 *         deal is consistent
+		 */
+		public double probability(Card card) {
+			if (total.signum() == 0) {
+				return 0;
+			}
+			return new BigDecimal(getCount(card)).divide(new BigDecimal(total), MathContext.DECIMAL64).doubleValue();
+		}
+
+		/**
+		 * @return the most likely card of each type, or null if no deal is
+		 *         consistent
+		 */
+		public Solution getMostLikely() {
+			if (total.signum() == 0) {
+				return null;
+			}
+			return new Solution(mostLikely(CardType.PERSON), mostLikely(CardType.ROOM), mostLikely(CardType.WEAPON));
+		}
+
+		private Card mostLikely(CardType type) {
+			Card best = null;
+			for (Card card : deck) {
+				if (card.getType() == type && (best == null || getCount(card).compareTo(getCount(best)) > 0)) {
+					best = card;
+				}
+			}
+			return best;
+		}
+
+		@Override
+		public String toString() {
+			return total + " consistent deals";
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package clueGame;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GameContext Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         The card universe of one game: its deck, split into people, rooms
+ *         (keyed by room initial) and weapons. Every Player of a game shares
+ *         its game's context, so games running side by side never see each
+ *         other's cards.
+ */
+public final class GameContext {
+	private final List<Card> deck;
+	// each deck card keyed by itself, to find the game's copy of an equal card
+	private final Map<Card, Card> canonical;
+	private final CardSet people;
+	private final Map<Character, Card> rooms;
+	private final CardSet roomCards;
+	private final CardSet weapons;
+	// every solution of this deck, copied for each player
+	private final SolutionSpace allSolutions;
+
+	public GameContext(List<Card> deck, Map<Character, Room> roomMap) {
+		// deck ordered, so seeded games iterate the cards the same way every run
+		CardSet personCards = new CardSet();
+		Map<Character, Card> roomCards = new LinkedHashMap<>();
+		CardSet weaponCards = new CardSet();
+
+		// sort non-room Cards
+		for (Card card : deck) {
+			switch (card.getType()) {
+			case PERSON:
+				personCards.add(card);
+				break;
+			case WEAPON:
+				weaponCards.add(card);
+				break;
+			case ROOM:
+				break;
+			}
+		}
+
+		// map each room card
+		for (Character initial : roomMap.keySet()) {
+			Room room = roomMap.get(initial);
+			for (Card card : deck) {
+				if (card.getType() == CardType.ROOM && card.getCardName().equals(room.getName())) {
+					roomCards.put(initial, card);
+				}
+			}
+		}
+
+		// read-only, contexts are shared by every player of a game
+		this.deck = List.copyOf(deck);
+		this.canonical = new HashMap<>();
+		for (Card card : deck) {
+			canonical.put(card, card);
+		}
+		this.people = personCards.frozenCopy();
+		this.rooms = Collections.unmodifiableMap(roomCards);
+		this.roomCards = new CardSet(roomCards.values()).frozenCopy();
+		this.weapons = weaponCards.frozenCopy();
+		this.allSolutions = new SolutionSpace(this);
+	}
+
+	public List<Card> getDeck() {
+		return deck;
+	}
+
+	/**
+	 * @param card any card, possibly built outside of the deck
+	 * @return this game's deck card equal to {@code card}, or null
+	 */
+	public Card getDeckCard(Card card) {
+		int ordinal = card.getOrdinal();
+		if (ordinal >= 0 && ordinal < deck.size() && deck.get(ordinal).equals(card)) {
+			return deck.get(ordinal);
+		}
+		return canonical.get(card);
+	}
+
+	public CardSet getPeople() {
+		return people;
+	}
+
+	public CardSet getWeapons() {
+		return weapons;
+	}
+
+	public CardSet getRooms() {
+		return roomCards;
+	}
+
+	/**
+	 * @return every solution of this game's deck, a new copy each call
+	 */
+	public SolutionSpace newSolutionSpace() {
+		return allSolutions.copy();
+	}
+
+	/**
+	 * @param initial room initial from the layout
+	 * @return the room's card, or null for spaces such as walkways
+	 */
+	public Card getRoomCard(char initial) {
+		return rooms.get(initial);
+	}
+}
@@ -0,0 +1,58 @@
+package clueGame;
+
+import java.util.Set;
+
+/**
+ * GameListener Interface
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Receives the events of a game as the Board plays it. Every method has
+ *         an empty default so a listener only overrides what it cares about.
+ *         The Swing GUI is one listener, simulations and loggers are others.
+ *         Callbacks run on whichever thread is playing the turn.
+ */
+public interface GameListener {
+
+	/**
+	 * A player's turn has begun and they have rolled
+	 */
+	default void turnStarted(Player player, int roll) {}
+
+	/**
+	 * The board is waiting for the human to pick one of {@code targets}, see
+	 * {@link Board#finishHumanMove(BoardCell)}
+	 */
+	default void humanMoveRequested(HumanPlayer player, Set<BoardCell> targets) {}
+
+	default void playerMoved(Player player, BoardCell target) {}
+
+	/**
+	 * A suggestion went around the table
+	 *
+	 * @param result the disproving card, or null if nobody could disprove it
+	 */
+	default void suggestionHandled(Player suggester, Solution suggestion, Card result) {}
+
+	/**
+	 * {@code player} was shown a card they had not seen before. Fired before
+	 * {@link #suggestionHandled}, so views can add just this card
+	 */
+	default void cardSeen(Player player, Card card) {}
+
+	/**
+	 * The player's move/suggest phase is over, whether or not they suggested
+	 */
+	default void decisionMade(Player player) {}
+
+	/**
+	 * An accusation was checked, which ends the game either way
+	 */
+	default void accusationMade(Player accuser, Solution accusation, boolean correct) {}
+
+	/**
+	 * Something visible on the board changed
+	 */
+	default void boardChanged() {}
+}
@@ -0,0 +1,210 @@
+package clueGame;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * GameState Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Immutable view of one game at one moment: whose turn it is, the roll
+ *         and its targets, where every pawn stands, the last suggestion and
+ *         whether the game is over. The Board publishes a new version after
+ *         every turn step, readers on other threads take the latest with
+ *         {@link Board#getState()} and never need a lock.
+ *
+ *         Each step makes a new state from the previous one and shares every
+ *         part it does not change, a move copies only the pawn positions and
+ *         a suggestion copies nothing at all.
+ */
+public final class GameState {
+	private final long version;
+	// never modified, shared by every version of a game
+	private final List<Player> players;
+	// pawn position of each seat, copied on write
+	private final int[] rows;
+	private final int[] cols;
+	private final int currentPlayer;
+	private final int roll;
+	private final Set<BoardCell> targets;
+	private final boolean awaitingHumanMove;
+	private final Solution suggestion;
+	private final Card suggestionResult;
+	private final boolean gameOver;
+	private final Player winner;
+
+	private GameState(long version, List<Player> players, int[] rows, int[] cols, int currentPlayer, int roll,
+			Set<BoardCell> targets, boolean awaitingHumanMove, Solution suggestion, Card suggestionResult,
+			boolean gameOver, Player winner) {
+		this.version = version;
+		this.players = players;
+		this.rows = rows;
+		this.cols = cols;
+		this.currentPlayer = currentPlayer;
+		this.roll = roll;
+		this.targets = targets;
+		this.awaitingHumanMove = awaitingHumanMove;
+		this.suggestion = suggestion;
+		this.suggestionResult = suggestionResult;
+		this.gameOver = gameOver;
+		this.winner = winner;
+	}
+
+	/**
+	 * @param version first version number, so a new game keeps counting up
+	 * @param players seats of the game, at their current positions
+	 * @return the state before the first turn
+	 */
+	static GameState start(long version, List<Player> players) {
+		int[] rows = new int[players.size()];
+		int[] cols = new int[players.size()];
+		for (int i = 0; i < rows.length; i++) {
+			rows[i] = players.get(i).getRow();
+			cols[i] = players.get(i).getCol();
+		}
+		return new GameState(version, List.copyOf(players), rows, cols, 0, 0, Collections.emptySet(), false, null,
+				null, false, null);
+	}
+
+	/**
+	 * @param targets immutable targets of the roll
+	 * @return the state at the start of a turn
+	 */
+	GameState withTurn(int currentPlayer, int roll, Set<BoardCell> targets) {
+		return new GameState(version + 1, players, rows, cols, currentPlayer, roll, targets, false, suggestion,
+				suggestionResult, gameOver, winner);
+	}
+
+	GameState withAwaitingHumanMove(boolean awaiting) {
+		return new GameState(version + 1, players, rows, cols, currentPlayer, roll, targets, awaiting, suggestion,
+				suggestionResult, gameOver, winner);
+	}
+
+	GameState withPlayerAt(int seat, int row, int col) {
+		int[] newRows = rows.clone();
+		int[] newCols = cols.clone();
+		newRows[seat] = row;
+		newCols[seat] = col;
+		return new GameState(version + 1, players, newRows, newCols, currentPlayer, roll, targets,
+				awaitingHumanMove, suggestion, suggestionResult, gameOver, winner);
+	}
+
+	/**
+	 * @param suggestion the suggestion, or null when the player did not suggest
+	 * @param result     the card that disproved it, or null
+	 */
+	GameState withSuggestion(Solution suggestion, Card result) {
+		return new GameState(version + 1, players, rows, cols, currentPlayer, roll, targets, awaitingHumanMove,
+				suggestion, result, gameOver, winner);
+	}
+
+	/**
+	 * @param winner the player who accused correctly, or null
+	 */
+	GameState withGameOver(Player winner) {
+		return new GameState(version + 1, players, rows, cols, currentPlayer, roll, targets, awaitingHumanMove,
+				suggestion, suggestionResult, true, winner);
+	}
+
+	/**
+	 * @return a number that grows with every step of the game
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	public List<Player> getPlayers() {
+		return players;
+	}
+
+	public int getRow(int seat) {
+		return rows[seat];
+	}
+
+	public int getCol(int seat) {
+		return cols[seat];
+	}
+
+	/**
+	 * @return true if a pawn stands on the cell in this state
+	 */
+	public boolean isOccupied(int row, int col) {
+		for (int i = 0; i < rows.length; i++) {
+			if (rows[i] == row && cols[i] == col) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public int getCurrentSeat() {
+		return currentPlayer;
+	}
+
+	/**
+	 * @return the player whose turn it is, or null in a game without players
+	 */
+	public Player getCurrentPlayer() {
+		return players.isEmpty() ? null : players.get(currentPlayer);
+	}
+
+	public int getRoll() {
+		return roll;
+	}
+
+	/**
+	 * @return the current player's targets, can not be modified
+	 */
+	public Set<BoardCell> getTargets() {
+		return targets;
+	}
+
+	public boolean isAwaitingHumanMove() {
+		return awaitingHumanMove;
+	}
+
+	/**
+	 * @return the suggestion of the current turn, or null
+	 */
+	public Solution getSuggestion() {
+		return suggestion;
+	}
+
+	/**
+	 * @return the card that disproved the suggestion, or null
+	 */
+	public Card getSuggestionResult() {
+		return suggestionResult;
+	}
+
+	public String getGuessText() {
+		if (suggestion == null) {
+			return "Waiting For a Guess!";
+		}
+		return suggestion.toString();
+	}
+
+	public String getGuessResultText() {
+		if (suggestion == null) {
+			return "";
+		}
+		if (suggestionResult == null) {
+			return "Suggestion was not disproven";
+		}
+		return "Disproven by: " + suggestionResult.getPlayerHoldingThis().getName();
+	}
+
+	public boolean isGameOver() {
+		return gameOver;
+	}
+
+	/**
+	 * @return the player who accused correctly, or null
+	 */
+	public Player getWinner() {
+		return winner;
+	}
+}
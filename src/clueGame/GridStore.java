@@ -0,0 +1,331 @@
+package clueGame;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * GridStore Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         The cells of a board as parallel arrays indexed by cell id (row *
+ *         numColumns + col): one byte for the room initial and one byte of
+ *         packed flags holding the door direction, label and center. The few
+ *         cells with a secret passage are kept in a small sorted table.
+ *
+ *         BoardCell objects are views made from these arrays. A lazy store
+ *         makes a cell's view the first time something asks for it and hands
+ *         out that same object from then on, so a big board only pays for the
+ *         cells that are actually used. An eager store makes every view up
+ *         front, which is what small boards and the GUI use.
+ */
+final class GridStore {
+	// low bits of a flag byte are the DoorDirection ordinal
+	static final int DOOR_MASK = 0x07;
+	static final int LABEL = 1 << 3;
+	static final int CENTER = 1 << 4;
+	private static final DoorDirection[] DIRECTIONS = DoorDirection.values();
+	private static final int NO_DOOR = DoorDirection.NONE.ordinal();
+
+	private final int numRows;
+	private final int numColumns;
+	private final byte[] initials;
+	private final byte[] flags;
+	// ids of the cells with a secret passage, sorted, and where each one leads
+	private final int[] passageIds;
+	private final char[] passageTargets;
+	// views made so far, a slot never changes once set
+	private final AtomicReferenceArray<BoardCell> views;
+	private volatile AdjacencyGraph adjacency;
+	private volatile Board owner;
+
+	private GridStore(int numRows, int numColumns, byte[] initials, byte[] flags, int[] passageIds,
+			char[] passageTargets) {
+		this.numRows = numRows;
+		this.numColumns = numColumns;
+		this.initials = initials;
+		this.flags = flags;
+		this.passageIds = passageIds;
+		this.passageTargets = passageTargets;
+		this.views = new AtomicReferenceArray<>(initials.length);
+	}
+
+	/**
+	 * Wraps BoardCells that already exist, they become the views of the store
+	 *
+	 * @param cells every cell of the board, indexed by id
+	 */
+	static GridStore of(BoardCell[] cells, int numColumns) {
+		Builder builder = new Builder();
+		builder.ensureCapacity(cells.length);
+		for (BoardCell cell : cells) {
+			int id = builder.addCell(cell.getRoomInitial());
+			builder.setDoorDirection(id, cell.getDoorDirection());
+			if (cell.isLabel()) {
+				builder.setFlag(id, LABEL);
+			}
+			if (cell.isRoomCenter()) {
+				builder.setFlag(id, CENTER);
+			}
+			if (cell.getSecretPassage() != null) {
+				builder.setSecretPassage(id, cell.getSecretPassage());
+			}
+		}
+		GridStore store = builder.build(numColumns);
+		for (int id = 0; id < cells.length; id++) {
+			store.views.set(id, cells[id]);
+		}
+		return store;
+	}
+
+	int getNumRows() {
+		return numRows;
+	}
+
+	int getNumColumns() {
+		return numColumns;
+	}
+
+	int getNumCells() {
+		return initials.length;
+	}
+
+	char initial(int id) {
+		return (char) (initials[id] & 0xFF);
+	}
+
+	DoorDirection doorDirection(int id) {
+		return DIRECTIONS[flags[id] & DOOR_MASK];
+	}
+
+	boolean isDoorway(int id) {
+		return (flags[id] & DOOR_MASK) != NO_DOOR;
+	}
+
+	boolean isLabel(int id) {
+		return (flags[id] & LABEL) != 0;
+	}
+
+	boolean isRoomCenter(int id) {
+		return (flags[id] & CENTER) != 0;
+	}
+
+	/**
+	 * @return initial of the room the cell's secret passage leads to, or null
+	 */
+	Character secretPassage(int id) {
+		int index = Arrays.binarySearch(passageIds, id);
+		return index < 0 ? null : passageTargets[index];
+	}
+
+	/**
+	 * @return the cell's view, made now if nobody asked for it before
+	 */
+	BoardCell cell(int id) {
+		BoardCell cell = views.get(id);
+		if (cell != null) {
+			return cell;
+		}
+		cell = materialize(id);
+		// two threads may make the same view, both then use the first one stored
+		if (!views.compareAndSet(id, null, cell)) {
+			cell = views.get(id);
+		}
+		return cell;
+	}
+
+	/**
+	 * @return the cell's view if it was made already, or null
+	 */
+	BoardCell peek(int id) {
+		return views.get(id);
+	}
+
+	/**
+	 * @param ids sorted cell ids
+	 * @return read-only set of those cells, their views are made as the set is
+	 *         iterated
+	 */
+	Set<BoardCell> cellSet(int[] ids) {
+		return new AbstractSet<BoardCell>() {
+			@Override
+			public int size() {
+				return ids.length;
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				if (!(o instanceof BoardCell)) {
+					return false;
+				}
+				int id = ((BoardCell) o).getId();
+				return Arrays.binarySearch(ids, id) >= 0 && peek(id) == o;
+			}
+
+			@Override
+			public Iterator<BoardCell> iterator() {
+				return new Iterator<BoardCell>() {
+					private int index;
+
+					@Override
+					public boolean hasNext() {
+						return index < ids.length;
+					}
+
+					@Override
+					public BoardCell next() {
+						if (!hasNext()) {
+							throw new NoSuchElementException();
+						}
+						return cell(ids[index++]);
+					}
+				};
+			}
+		};
+	}
+
+	/**
+	 * @return number of views made so far
+	 */
+	int countViews() {
+		int count = 0;
+		for (int id = 0; id < views.length(); id++) {
+			if (views.get(id) != null) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Makes the view of every cell
+	 */
+	void materializeAll() {
+		for (int id = 0; id < initials.length; id++) {
+			cell(id);
+		}
+	}
+
+	/**
+	 * Sets the adjacency every view's getAdjList() reads, views made later get
+	 * it too
+	 */
+	void setAdjacency(AdjacencyGraph adjacency) {
+		this.adjacency = adjacency;
+		for (int id = 0; id < views.length(); id++) {
+			BoardCell cell = views.get(id);
+			if (cell != null) {
+				cell.setAdjacency(adjacency);
+			}
+		}
+	}
+
+	/**
+	 * Points every view's getOccupied()/setOccupied() at {@code board}, views
+	 * made later get it too. Only called while a template is being built, a
+	 * finished template is never bound again
+	 */
+	void bind(Board board) {
+		this.owner = board;
+		for (int id = 0; id < views.length(); id++) {
+			BoardCell cell = views.get(id);
+			if (cell != null) {
+				cell.setBoard(board);
+			}
+		}
+	}
+
+	private BoardCell materialize(int id) {
+		BoardCell cell = new BoardCell(id / numColumns, id % numColumns, initial(id));
+		cell.setId(id);
+		if (isLabel(id)) {
+			cell.setLabel();
+		}
+		if (isRoomCenter(id)) {
+			cell.setRoomCenter();
+		}
+		cell.setDoorDirection(doorDirection(id));
+		Character passage = secretPassage(id);
+		if (passage != null) {
+			cell.setSecretPassage(passage);
+		}
+		cell.setBoard(owner);
+		AdjacencyGraph graph = adjacency;
+		if (graph != null) {
+			cell.setAdjacency(graph);
+		}
+		return cell;
+	}
+
+	/**
+	 * Collects cells row by row while a layout is read
+	 */
+	static final class Builder {
+		private byte[] initials = new byte[1024];
+		private byte[] flags = new byte[1024];
+		private int[] passageIds = new int[8];
+		private char[] passageTargets = new char[8];
+		private int numCells;
+		private int numPassages;
+
+		/**
+		 * Makes room for {@code moreCells} more cells, e.g. a whole row
+		 */
+		void ensureCapacity(int moreCells) {
+			if (numCells + moreCells > initials.length) {
+				int capacity = Math.max(initials.length * 2, numCells + moreCells);
+				initials = Arrays.copyOf(initials, capacity);
+				flags = Arrays.copyOf(flags, capacity);
+			}
+		}
+
+		/**
+		 * @return id of the new cell, which has no door and no flags
+		 */
+		int addCell(char initial) {
+			if (initial > 0xFF) {
+				throw new IllegalArgumentException("room initial " + initial + " does not fit in a byte");
+			}
+			ensureCapacity(1);
+			initials[numCells] = (byte) initial;
+			flags[numCells] = (byte) NO_DOOR;
+			return numCells++;
+		}
+
+		void setFlag(int id, int flag) {
+			flags[id] = (byte) (flags[id] | flag);
+		}
+
+		void setDoorDirection(int id, DoorDirection direction) {
+			flags[id] = (byte) ((flags[id] & ~DOOR_MASK) | direction.ordinal());
+		}
+
+		/**
+		 * Cells must be given their passages in id order
+		 */
+		void setSecretPassage(int id, char target) {
+			if (numPassages == passageIds.length) {
+				passageIds = Arrays.copyOf(passageIds, numPassages * 2);
+				passageTargets = Arrays.copyOf(passageTargets, numPassages * 2);
+			}
+			passageIds[numPassages] = id;
+			passageTargets[numPassages] = target;
+			numPassages++;
+		}
+
+		/**
+		 * @param numColumns cells per row, the store has numCells / numColumns rows
+		 */
+		GridStore build(int numColumns) {
+			int numRows = numColumns <= 0 ? 0 : numCells / numColumns;
+			return new GridStore(numRows, numColumns, Arrays.copyOf(initials, numCells),
+					Arrays.copyOf(flags, numCells), Arrays.copyOf(passageIds, numPassages),
+					Arrays.copyOf(passageTargets, numPassages));
+		}
+	}
+}
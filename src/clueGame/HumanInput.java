@@ -0,0 +1,25 @@
+package clueGame;
+
+/**
+ * HumanInput Interface
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *	Supplies the choices a HumanPlayer has to make, so the game logic never has to open a window itself
+ */
+public interface HumanInput {
+
+	/**
+	 * @param player      the human making the suggestion
+	 * @param currentRoom card of the room the human is standing in
+	 * @return the suggestion to make
+	 */
+	Solution chooseSuggestion(HumanPlayer player, Card currentRoom);
+
+	/**
+	 * @param player the human accusing
+	 * @return the accusation, or null if the human backed out
+	 */
+	Solution chooseAccusation(HumanPlayer player);
+}
@@ -1,13 +1,6 @@
 package clueGame;
 
 import java.awt.Color;
-import java.awt.Component;
-import java.util.ArrayList;
-
-import javax.swing.JOptionPane;
-
-import gui.GuessDialog;
-import gui.KnownCardsGUI;
 
 /**
  * HumanPlayer Class
@@ -15,46 +8,38 @@ import gui.KnownCardsGUI;
  * @author Jacob Dionne
  * @author Melody Goldanloo
  *
- *	Extends Player, represents a human-controlled player on the board
+ *	Extends Player, represents a human-controlled player on the board. Choices are
+ *	delegated to a {@link HumanInput}, which the GUI provides
  */
 public class HumanPlayer extends Player {
 	private boolean accusing;
-	private KnownCardsGUI infoPanel;
+	private HumanInput input;
 
 	public HumanPlayer(String name, Color color, int row, int col) {
 		super(name, color, row, col);
 		this.accusing = false;
 	}
-	
-	public void setInfoPanel(KnownCardsGUI panel) {
-		this.infoPanel = panel;
-	}
-	
-	private void updateInfo() {
-		if(infoPanel != null) {
-			infoPanel.updatePanels();
-		}
+
+	public HumanPlayer(String name, Color color, int row, int col, GameContext context) {
+		super(name, color, row, col, context);
+		this.accusing = false;
 	}
-	
-	public Solution getSuggestion(Card currentRoom, Component locationComponent) {
-		
-		//Create Dialog
-		GuessDialog suggestionDialog = new GuessDialog(null, currentRoom, ALL_ROOMS_MAP.values(), 
-				Player.ALL_PEOPLE_SET, Player.ALL_WEAPONS_SET, false);
-		suggestionDialog.setLocationRelativeTo(locationComponent);
-		suggestionDialog.setVisible(true);
-		
 
-		if(suggestionDialog.wasSubmitted()) {			
-			return suggestionDialog.getSolution();
+	public void setInput(HumanInput input) {
+		this.input = input;
+	}
 
-		}else {
-			JOptionPane.showMessageDialog(null, "ERROR: Please make a suggestion", 
-					"Suggestion Error", JOptionPane.ERROR_MESSAGE);
-			return getSuggestion(currentRoom, locationComponent);
+	/**
+	 * @param currentRoom card of the room the human is in
+	 * @return the human's suggestion, or null when no input is attached
+	 */
+	public Solution getSuggestion(Card currentRoom) {
+		if (input == null) {
+			return null;
 		}
+		return input.chooseSuggestion(this, currentRoom);
 	}
-	
+
 	public void startAccusing() {
 		this.accusing = true;
 	}
@@ -63,29 +48,26 @@ public class HumanPlayer extends Player {
 	public boolean willAccuse() {
 		return this.accusing;
 	}
-	
+
 	/**
-	 * Returns Accusation
+	 * Returns Accusation, or null if the human backed out
 	 */
 	@Override
 	public Solution makeAccusation() {
-		//Create Dialog                                                               
-		GuessDialog accusationDialog = new GuessDialog(null, null, ALL_ROOMS_MAP.values(),    
-				Player.ALL_PEOPLE_SET, Player.ALL_WEAPONS_SET, true);                                     
-		accusationDialog.setLocationRelativeTo(null);                                   
-		accusationDialog.setVisible(true);
-		
-		if(accusationDialog.wasSubmitted()) {
-			return accusationDialog.getSolution();
-		}else {
+		Solution accusation = null;
+		if (input != null) {
+			accusation = input.chooseAccusation(this);
+		}
+
+		if (accusation == null) {
 			this.accusing = false;
-			return null;
 		}
+		return accusation;
 	}
 
 	@Override
 	public void receiveSuggestionResult(Card card, Solution suggestion) {
-		updateInfo();
-	} 
+		// the human reads results off the known cards panel
+	}
 
 }
@@ -0,0 +1,409 @@
+package clueGame;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * KnowledgeMatrix Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         What one player can deduce about where every card is. Each holder
+ *         (every seat, plus the case file after the last seat) has two
+ *         bitmasks over the card ordinals, one long each: the cards it is
+ *         known to have and the cards it is known not to have. A card in
+ *         neither is unknown. Decks of up to 64 cards fit.
+ *
+ *         Every answered suggestion feeds it: players who passed have none of
+ *         the three cards, the player who disproved has at least one of them,
+ *         and the suggester also learns which one. After each update the rules
+ *         below are applied until nothing changes:
+ *
+ *         - a card has exactly one holder, the case file one card per type
+ *         - a card only one holder can still have is held by that holder
+ *         - a holder whose known cards fill its hand has nothing else, and one
+ *           whose possible cards just fill it has all of them
+ *         - an "at least one of" clause with one possible card left is that card
+ *
+ *         Satisfied clauses are dropped, so the work shrinks as the game goes
+ *         on. Facts that contradict each other (e.g. hands changed by hand in
+ *         a test) mark the matrix inconsistent and it stops deducing.
+ */
+public final class KnowledgeMatrix {
+	// a holder's cards are one long, bit k for the card with ordinal k
+	public static final int MAX_CARDS = Long.SIZE;
+	// number of cards in the case file
+	private static final int SOLUTION_SIZE = 3;
+
+	private final GameContext context;
+	private final int numSeats;
+	private final long deckMask;
+	// cards of each type, people, rooms and weapons
+	private final long[] typeMasks;
+	// hand size of each holder, -1 if unknown
+	private final int[] handSizes;
+	private final long[] has;
+	private final long[] hasNot;
+	// "seat clauseSeats[k] has at least one of clauses[k]"
+	private long[] clauses = new long[8];
+	private int[] clauseSeats = new int[8];
+	private int numClauses;
+	private boolean consistent = true;
+
+	/**
+	 * @param context   the game's card universe, at most {@link #MAX_CARDS}
+	 *                  cards
+	 * @param handSizes number of cards dealt to each seat, -1 where unknown
+	 */
+	public KnowledgeMatrix(GameContext context, int[] handSizes) {
+		int numCards = context.getDeck().size();
+		if (numCards > MAX_CARDS) {
+			throw new IllegalArgumentException("deck of " + numCards + " cards, at most " + MAX_CARDS + " supported");
+		}
+		this.context = context;
+		this.numSeats = handSizes.length;
+		this.deckMask = numCards == MAX_CARDS ? -1L : (1L << numCards) - 1;
+		this.typeMasks = new long[] { maskOf(context.getPeople()), maskOf(context.getRooms()),
+				maskOf(context.getWeapons()) };
+
+		this.handSizes = Arrays.copyOf(handSizes, numSeats + 1);
+		this.handSizes[numSeats] = SOLUTION_SIZE;
+		this.has = new long[numSeats + 1];
+		this.hasNot = new long[numSeats + 1];
+	}
+
+	/**
+	 * @return true if a game with this context fits in a matrix
+	 */
+	public static boolean supports(GameContext context) {
+		return context.getDeck().size() <= MAX_CARDS;
+	}
+
+	private long maskOf(Collection<Card> cards) {
+		long mask = 0;
+		for (Card card : cards) {
+			mask |= bitOf(card);
+		}
+		return mask;
+	}
+
+	/**
+	 * @return bit of the game's copy of {@code card}, or 0 if it is not in the
+	 *         deck
+	 */
+	private long bitOf(Card card) {
+		Card deckCard = card == null ? null : context.getDeckCard(card);
+		return deckCard == null ? 0 : 1L << deckCard.getOrdinal();
+	}
+
+	public int getNumSeats() {
+		return numSeats;
+	}
+
+	/**
+	 * @return row of the case file, one past the last seat
+	 */
+	public int getCaseFile() {
+		return numSeats;
+	}
+
+	public boolean isConsistent() {
+		return consistent;
+	}
+
+	/**
+	 * @return number of "at least one of" clauses not yet resolved
+	 */
+	public int getOpenClauses() {
+		return numClauses;
+	}
+
+	/**
+	 * @param holder a seat or {@link #getCaseFile()}
+	 * @return true if the holder is known to have the card
+	 */
+	public boolean has(int holder, Card card) {
+		return (has[holder] & bitOf(card)) != 0;
+	}
+
+	/**
+	 * @param holder a seat or {@link #getCaseFile()}
+	 * @return true if the holder is known not to have the card
+	 */
+	public boolean hasNot(int holder, Card card) {
+		return (hasNot[holder] & bitOf(card)) != 0;
+	}
+
+	/**
+	 * @return bitmask over the card ordinals of the cards the holder is known
+	 *         to have
+	 */
+	public long getKnownMask(int holder) {
+		return has[holder];
+	}
+
+	/**
+	 * @return bitmask of the cards the holder may still have, known ones
+	 *         included
+	 */
+	public long getPossibleMask(int holder) {
+		return deckMask & ~hasNot[holder];
+	}
+
+	GameContext getContext() {
+		return context;
+	}
+
+	/**
+	 * @return copy of every holder's known cards, by holder
+	 */
+	long[] copyKnown() {
+		return has.clone();
+	}
+
+	/**
+	 * @return copy of every holder's ruled out cards, by holder
+	 */
+	long[] copyExcluded() {
+		return hasNot.clone();
+	}
+
+	/**
+	 * @return copy of the hand sizes, the case file's last
+	 */
+	int[] copyHandSizes() {
+		return handSizes.clone();
+	}
+
+	/**
+	 * @return masks of the people, rooms and weapons
+	 */
+	long[] copyTypeMasks() {
+		return typeMasks.clone();
+	}
+
+	/**
+	 * @return copy of the open "at least one of" clauses
+	 */
+	long[] copyClauses() {
+		return Arrays.copyOf(clauses, numClauses);
+	}
+
+	/**
+	 * @return copy of the seat of each open clause
+	 */
+	int[] copyClauseSeats() {
+		return Arrays.copyOf(clauseSeats, numClauses);
+	}
+
+	/**
+	 * @return the cards the holder is known to have
+	 */
+	public CardSet getKnown(int holder) {
+		return cardsOf(getKnownMask(holder));
+	}
+
+	/**
+	 * @return the cards the holder may still have, known ones included
+	 */
+	public CardSet getPossible(int holder) {
+		return cardsOf(getPossibleMask(holder));
+	}
+
+	private CardSet cardsOf(long bits) {
+		CardSet cards = new CardSet();
+		List<Card> deck = context.getDeck();
+		for (long rest = bits; rest != 0; rest &= rest - 1) {
+			cards.add(deck.get(Long.numberOfTrailingZeros(rest)));
+		}
+		return cards;
+	}
+
+	/**
+	 * @return the case file once a person, room and weapon are all known to be
+	 *         in it, otherwise null
+	 */
+	public Solution getSolution() {
+		long caseFile = has[numSeats];
+		if (!consistent || Long.bitCount(caseFile) < SOLUTION_SIZE) {
+			return null;
+		}
+		List<Card> deck = context.getDeck();
+		return new Solution(deck.get(Long.numberOfTrailingZeros(caseFile & typeMasks[0])),
+				deck.get(Long.numberOfTrailingZeros(caseFile & typeMasks[1])),
+				deck.get(Long.numberOfTrailingZeros(caseFile & typeMasks[2])));
+	}
+
+	/**
+	 * The seat's whole hand is known, e.g. the player's own hand
+	 */
+	public void setHand(int seat, Collection<Card> hand) {
+		long mask = maskOf(hand);
+		has[seat] |= mask;
+		hasNot[seat] |= deckMask & ~mask;
+		propagate();
+	}
+
+	/**
+	 * The seat showed {@code card}
+	 */
+	public void cardShown(int seat, Card card) {
+		long bit = bitOf(card);
+		if ((has[seat] & bit) != bit) {
+			has[seat] |= bit;
+			propagate();
+		}
+	}
+
+	/**
+	 * Records an answered suggestion. Seats after the suggester up to the
+	 * disprover passed, so they have none of the three cards
+	 *
+	 * @param suggester  seat of the suggester, -1 if it has none
+	 * @param suggestion the suggested cards
+	 * @param disprover  seat that disproved it, -1 if nobody could
+	 * @param shown      the card shown, or null if this player did not see it
+	 */
+	public void suggestionAnswered(int suggester, Solution suggestion, int disprover, Card shown) {
+		long suggested = bitOf(suggestion.getPerson()) | bitOf(suggestion.getRoom()) | bitOf(suggestion.getWeapon());
+
+		long learned = 0;
+		for (int offset = 1; offset <= numSeats; offset++) {
+			int seat = Math.floorMod(suggester + offset, numSeats);
+			if (seat == disprover || seat == suggester) {
+				break;
+			}
+			learned |= suggested & ~hasNot[seat];
+			hasNot[seat] |= suggested;
+		}
+
+		if (disprover >= 0) {
+			long bit = bitOf(shown);
+			if (bit != 0) {
+				learned |= bit & ~has[disprover];
+				has[disprover] |= bit;
+			} else if ((has[disprover] & suggested) == 0) {
+				addClause(disprover, suggested);
+				learned |= suggested;
+			}
+		}
+		// most answers late in a game only repeat what is known
+		if (learned != 0) {
+			propagate();
+		}
+	}
+
+	private void addClause(int seat, long cards) {
+		if (numClauses == clauses.length) {
+			clauses = Arrays.copyOf(clauses, numClauses * 2);
+			clauseSeats = Arrays.copyOf(clauseSeats, numClauses * 2);
+		}
+		clauses[numClauses] = cards;
+		clauseSeats[numClauses++] = seat;
+	}
+
+	/**
+	 * Applies every rule until none of them learns anything new
+	 */
+	private void propagate() {
+		boolean changed = consistent;
+		while (changed) {
+			changed = false;
+
+			// a card held by someone is not held by anyone else, and a card only
+			// one holder may have is held by that holder
+			long held = 0;
+			long possibleOnce = 0;
+			long possibleTwice = 0;
+			for (int holder = 0; holder <= numSeats; holder++) {
+				long possible = deckMask & ~hasNot[holder];
+				held |= has[holder];
+				possibleTwice |= possibleOnce & possible;
+				possibleOnce |= possible;
+			}
+			if (possibleOnce != deckMask) {
+				// some card can not be anywhere
+				consistent = false;
+				return;
+			}
+			long onlyOne = possibleOnce & ~possibleTwice;
+			for (int holder = 0; holder <= numSeats; holder++) {
+				long notHeld = hasNot[holder] | (held & ~has[holder]);
+				long nowHeld = has[holder] | (onlyOne & ~notHeld);
+				changed |= notHeld != hasNot[holder] || nowHeld != has[holder];
+				hasNot[holder] = notHeld;
+				has[holder] = nowHeld;
+			}
+
+			// the case file has one card of each type
+			for (long type : typeMasks) {
+				long known = has[numSeats] & type;
+				long possible = type & ~hasNot[numSeats];
+				if (Long.bitCount(known) > 1 || possible == 0) {
+					consistent = false;
+					return;
+				}
+				if (known != 0) {
+					changed |= (hasNot[numSeats] | type & ~known) != hasNot[numSeats];
+					hasNot[numSeats] |= type & ~known;
+				} else if (Long.bitCount(possible) == 1) {
+					has[numSeats] |= possible;
+					changed = true;
+				}
+			}
+
+			// full hands
+			for (int holder = 0; holder <= numSeats; holder++) {
+				int size = handSizes[holder];
+				if (size < 0) {
+					continue;
+				}
+				long possible = deckMask & ~hasNot[holder];
+				int known = Long.bitCount(has[holder]);
+				int possibleCount = Long.bitCount(possible);
+				if (known > size || possibleCount < size) {
+					consistent = false;
+					return;
+				}
+				if (known == size && possible != has[holder]) {
+					hasNot[holder] |= possible & ~has[holder];
+					changed = true;
+				} else if (known < size && possibleCount == size) {
+					has[holder] = possible;
+					changed = true;
+				}
+			}
+
+			// clauses, dropping the ones that are satisfied or resolved
+			int kept = 0;
+			for (int k = 0; k < numClauses; k++) {
+				int seat = clauseSeats[k];
+				if ((clauses[k] & has[seat]) != 0) {
+					continue;
+				}
+				long left = clauses[k] & ~hasNot[seat];
+				if (left == 0) {
+					consistent = false;
+					return;
+				}
+				if (Long.bitCount(left) == 1) {
+					has[seat] |= left;
+					changed = true;
+					continue;
+				}
+				clauses[kept] = left;
+				clauseSeats[kept++] = seat;
+			}
+			numClauses = kept;
+
+			for (int holder = 0; holder <= numSeats; holder++) {
+				if ((has[holder] & hasNot[holder]) != 0) {
+					consistent = false;
+					return;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,375 @@
+package clueGame;
+
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * LoaderBenchmark Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Times the streaming config parsers against the original Scanner
+ *         parsers, on the real board and on a large board made by tiling the
+ *         real layout. Both parsers have to read the same cells, rooms and
+ *         deck before any time is reported. The Scanner parsers only live here,
+ *         as the reference for the streaming ones. Then times the adjacency
+ *         build on this thread against the row band build, which must pack the
+ *         same graph.
+ *
+ *         Usage: LoaderBenchmark [tiles] [rounds]
+ */
+public class LoaderBenchmark {
+	private static final String LAYOUT = "data/ClueLayout.csv";
+	private static final String SETUP = "data/ClueSetup.txt";
+	private static final int DEFAULT_TILES = 20;
+	private static final int DEFAULT_ROUNDS = 20;
+
+	// mapping from layout modifiers to room metadata
+	private static final Map<Character, String> ROOM_MODIFIERS = Map.of('#', "Label", '*', "RoomCenter");
+	// mapping from layout modifiers to door directions
+	private static final Map<Character, DoorDirection> DIRECTION_MODIFIERS = 
+			Map.of('^', DoorDirection.UP, 
+					'v', DoorDirection.DOWN, 
+					'>', DoorDirection.RIGHT, 
+					'<', DoorDirection.LEFT);
+
+	private interface Parse {
+		void run(String layout) throws BadConfigFormatException, FileNotFoundException;
+	}
+
+	public static void main(String[] args) throws IOException, BadConfigFormatException {
+		int tiles = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TILES;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+		Path large = Files.createTempFile("ClueLayoutTiled", ".csv");
+		try {
+			writeTiled(Paths.get(LAYOUT), large, tiles);
+			run(LAYOUT, rounds * 10);
+			run(large.toString(), rounds);
+		} finally {
+			Files.deleteIfExists(large);
+		}
+	}
+
+	private static void run(String layout, int rounds) throws BadConfigFormatException, FileNotFoundException {
+		BoardLoader streaming = new BoardLoader(layout, SETUP, null);
+		streaming.loadSetupConfig();
+		streaming.loadLayoutConfig();
+		ScannerLoader scanner = new ScannerLoader(layout, SETUP);
+		scanner.loadSetupConfig();
+		scanner.loadLayoutConfig();
+		BoardTemplate actual = streaming.build();
+		if (!scanner.matches(actual)) {
+			throw new IllegalStateException("parsers disagree on " + layout);
+		}
+
+		System.out.println(layout + " (" + actual.getNumRows() + "x" + actual.getNumColumns() + ")");
+		report("  scanner  ", time(rounds, layout, path -> {
+			ScannerLoader loader = new ScannerLoader(path, SETUP);
+			loader.loadSetupConfig();
+			loader.loadLayoutConfig();
+		}));
+		report("  streaming", time(rounds, layout, path -> {
+			BoardLoader loader = new BoardLoader(path, SETUP, null);
+			loader.loadSetupConfig();
+			loader.loadLayoutConfig();
+		}));
+
+		// adjacency on this thread and in row bands on the common pool must be identical
+		if (!sameGraph(streaming.calcAdj(null), streaming.calcAdj(ForkJoinPool.commonPool()))) {
+			throw new IllegalStateException("adjacency builds disagree on " + layout);
+		}
+		report("  adjacency, one thread", timeAdjacency(streaming, null, rounds));
+		report("  adjacency, row bands ", timeAdjacency(streaming, ForkJoinPool.commonPool(), rounds));
+	}
+
+	/**
+	 * @return best time of the rounds in milliseconds, after as many warm up
+	 *         rounds
+	 */
+	private static double time(int rounds, String layout, Parse parse)
+			throws BadConfigFormatException, FileNotFoundException {
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < rounds * 2; i++) {
+			long start = System.nanoTime();
+			parse.run(layout);
+			long elapsed = System.nanoTime() - start;
+			if (i >= rounds) {
+				best = Math.min(best, elapsed);
+			}
+		}
+		return best / 1e6;
+	}
+
+	private static double timeAdjacency(BoardLoader loader, ForkJoinPool pool, int rounds) {
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < rounds * 2; i++) {
+			long start = System.nanoTime();
+			loader.calcAdj(pool);
+			long elapsed = System.nanoTime() - start;
+			if (i >= rounds) {
+				best = Math.min(best, elapsed);
+			}
+		}
+		return best / 1e6;
+	}
+
+	private static void report(String name, double millis) {
+		System.out.printf("%s %10.3f ms%n", name, millis);
+	}
+
+	private static boolean sameGraph(AdjacencyGraph expected, AdjacencyGraph actual) {
+		if (expected.getNumCells() != actual.getNumCells() || expected.getNumEdges() != actual.getNumEdges()) {
+			return false;
+		}
+		for (int id = 0; id < expected.getNumCells(); id++) {
+			if (expected.neighborStart(id) != actual.neighborStart(id)) {
+				return false;
+			}
+		}
+		for (int k = 0; k < expected.getNumEdges(); k++) {
+			if (expected.neighborAt(k) != actual.neighborAt(k)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Writes the layout repeated tiles times across and down
+	 */
+	private static void writeTiled(Path layout, Path target, int tiles) throws IOException {
+		List<String> rows = Files.readAllLines(layout, StandardCharsets.UTF_8);
+		List<String> tiled = new ArrayList<>(rows.size() * tiles);
+		for (int t = 0; t < tiles; t++) {
+			for (String row : rows) {
+				tiled.add(String.join(",", Collections.nCopies(tiles, row)));
+			}
+		}
+		Files.write(target, tiled, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * The original Scanner and regex split parsers, which make every BoardCell
+	 * as they go
+	 */
+	private static final class ScannerLoader {
+		private final String layoutConfigFile;
+		private final String setupConfigFile;
+		private BoardCell[][] grid;
+		private int numRows;
+		private int numColumns;
+		private Map<Character, Room> roomMap;
+		private List<Character> spaceInitials;
+		private List<BoardTemplate.Seat> seats;
+		private List<Card> deck;
+
+		ScannerLoader(String layoutConfigFile, String setupConfigFile) {
+			this.layoutConfigFile = layoutConfigFile;
+			this.setupConfigFile = setupConfigFile;
+		}
+
+		void loadLayoutConfig() throws BadConfigFormatException, FileNotFoundException {
+			FileReader reader = new FileReader(this.layoutConfigFile);
+			Scanner in = new Scanner(reader);
+			// used an arrayList to avoid initializing grid many times
+			ArrayList<BoardCell[]> boardRows = new ArrayList<>();
+			this.numRows = 0;
+			// -1 indicates that an initial columns number has yet to be set
+			this.numColumns = -1;
+
+			while (in.hasNextLine()) {
+				String lineContents[] = in.nextLine().split(",");
+				this.numRows++;
+
+				// check for inconsistent columns per row
+				if (numColumns != lineContents.length) {
+					if (numColumns < 0) { // if numColums is yet to be set, set it
+						this.numColumns = lineContents.length;
+					} else { // else throw exception
+						throwBadConfig(new BadConfigFormatException(this.layoutConfigFile,
+								"discrepancy with number of columns in row" + numRows), in);
+					}
+				}
+
+				// read cells in this row
+				BoardCell[] currRow = new BoardCell[numColumns];
+				BadConfigFormatException invalidCellData = new BadConfigFormatException(this.layoutConfigFile,
+						"Invalid cell data in row:" + (numRows - 1));
+				for (int i = 0; i < numColumns; ++i) {
+					String cellStr = lineContents[i];
+
+					// if there is too much or too little cell data throw a bad config error
+					if (cellStr.length() < 1 || cellStr.length() > 2) {
+						throwBadConfig(invalidCellData, in);
+					}
+					char initial = cellStr.charAt(0);
+
+					// if this Cell is not part of a room in the setup file throw a bad config error
+					if (!roomMap.containsKey(initial)) {
+						throwBadConfig(invalidCellData, in);
+					}
+					currRow[i] = new BoardCell(numRows - 1, i, initial);
+					BoardCell currCell = currRow[i];
+					if (cellStr.length() < 2) {
+						continue;
+					}
+
+					// handle modifiers
+					char modifier = cellStr.charAt(1);
+					Room currRoom = roomMap.get(initial);
+					if (DIRECTION_MODIFIERS.containsKey(modifier)) {
+						// doorways can only be on a Space room type
+						if (!spaceInitials.contains(initial)) {
+							throwBadConfig(invalidCellData, in);
+						}
+						currCell.setDoorDirection(DIRECTION_MODIFIERS.get(modifier));
+
+					} else if (ROOM_MODIFIERS.containsKey(modifier)) {
+						// room modifiers can never be on a Space room type
+						if (spaceInitials.contains(initial)) {
+							throwBadConfig(invalidCellData, in);
+						}
+						if (ROOM_MODIFIERS.get(modifier).equals("Label")) {
+							currCell.setLabel();
+							currRoom.setLabelCell(currCell);
+						} else {
+							currCell.setRoomCenter();
+							currRoom.setCenterCell(currCell);
+						}
+
+					} else if (roomMap.containsKey(modifier) && !(spaceInitials.contains(modifier))) {
+						// the cell has a valid secretPassage
+						currCell.setSecretPassage(modifier);
+						currRoom.setSecretPassageTarget(modifier);
+					}
+				}
+
+				boardRows.add(currRow); // add row to arrayList
+			}
+			this.grid = boardRows.toArray(new BoardCell[0][]);
+
+			in.close();
+		}
+
+		void loadSetupConfig() throws BadConfigFormatException, FileNotFoundException {
+			// takes setup file and loads into room map
+			FileReader reader = new FileReader(this.setupConfigFile);
+			Scanner in = new Scanner(reader);
+			int index = 0; // index is purely for error messages
+
+			this.roomMap = new HashMap<>(); // hashMap for unordered storage
+			this.spaceInitials = new ArrayList<>(); // arrayList for varying space type rooms
+			this.seats = new ArrayList<>(); // arrayList for varying numbers of players
+			this.deck = new ArrayList<>();
+
+			while (in.hasNextLine()) {
+				// read each line into {"room type", "room name", "room character"}
+				String[] lineContents = in.nextLine().split(",\\s*");
+				String setupType = lineContents[0];
+
+				// skip lines preceded "//" (comment)
+				if (setupType.startsWith("//")) {
+					index++;
+					continue;
+				}
+
+				// assign the data of lineContents
+				if (setupType.equals("Room")) {
+					roomMap.put(lineContents[2].charAt(0), new Room(lineContents[1]));
+					deck.add(new Card(lineContents[1], CardType.ROOM, deck.size()));
+
+				} else if (setupType.equals("Space")) {
+					roomMap.put(lineContents[2].charAt(0), new Room(lineContents[1]));
+					spaceInitials.add(lineContents[2].charAt(0));
+
+				} else if (setupType.equals("Player")) {
+					// colors are not compared, the streaming parser's lookup is not repeated here
+					String name = lineContents[2];
+					this.seats.add(new BoardTemplate.Seat(lineContents[1], name, null,
+							Integer.parseInt(lineContents[4]), Integer.parseInt(lineContents[5])));
+					deck.add(new Card(name, CardType.PERSON, deck.size()));
+
+				} else if (setupType.equals("Weapon")) {
+					deck.add(new Card(lineContents[1], CardType.WEAPON, deck.size()));
+
+				} else {
+					throwBadConfig(new BadConfigFormatException(setupConfigFile,
+							"invalid Setup type on line " + index + ": " + setupType), in);
+				}
+
+				index++;
+			}
+
+			in.close();
+		}
+
+		/**
+		 * @return true if the template has the same cells, rooms, seats and deck
+		 */
+		boolean matches(BoardTemplate template) {
+			if (template.getNumRows() != numRows || template.getNumColumns() != numColumns
+					|| !template.getSpaceInitials().equals(spaceInitials)
+					|| !template.getRoomMap().keySet().equals(roomMap.keySet())
+					|| template.getSeats().size() != seats.size() || !template.getDeck().equals(deck)) {
+				return false;
+			}
+			for (int i = 0; i < numRows; i++) {
+				for (int j = 0; j < numColumns; j++) {
+					BoardCell a = grid[i][j];
+					BoardCell b = template.getCell(i, j);
+					if (a.getRoomInitial() != b.getRoomInitial() || a.getDoorDirection() != b.getDoorDirection()
+							|| a.isLabel() != b.isLabel() || a.isRoomCenter() != b.isRoomCenter()
+							|| !Objects.equals(a.getSecretPassage(), b.getSecretPassage())) {
+						return false;
+					}
+				}
+			}
+			for (Map.Entry<Character, Room> entry : roomMap.entrySet()) {
+				Room a = entry.getValue();
+				Room b = template.getRoom(entry.getKey());
+				if (!a.getName().equals(b.getName()) || !sameCell(a.getLabelCell(), b.getLabelCell())
+						|| !sameCell(a.getCenterCell(), b.getCenterCell())
+						|| !Objects.equals(a.getSecretPassageTarget(), b.getSecretPassageTarget())) {
+					return false;
+				}
+			}
+			for (int k = 0; k < seats.size(); k++) {
+				BoardTemplate.Seat a = seats.get(k);
+				BoardTemplate.Seat b = template.getSeats().get(k);
+				if (!a.getName().equals(b.getName()) || a.isHuman() != b.isHuman() || a.getRow() != b.getRow()
+						|| a.getCol() != b.getCol()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static boolean sameCell(BoardCell a, BoardCell b) {
+			return a == null ? b == null : b != null && a.getRow() == b.getRow() && a.getColumn() == b.getColumn();
+		}
+
+		/**
+		 * Closes the scanner before throwing
+		 */
+		private static void throwBadConfig(BadConfigFormatException exception, Scanner scanner)
+				throws BadConfigFormatException {
+			scanner.close();
+			throw exception;
+		}
+	}
+}
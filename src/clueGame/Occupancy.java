@@ -0,0 +1,94 @@
+package clueGame;
+
+/**
+ * Occupancy Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Which cells of a board are occupied, as a bitset over cell ids plus a
+ *         Zobrist style fingerprint (the XOR of {@link #key(int)} over every
+ *         occupied cell) that identifies the occupancy in target cache keys.
+ *
+ *         A Board owns one mutable Occupancy. {@link #snapshot()} returns a
+ *         frozen copy that can be handed to target queries on other threads.
+ */
+public final class Occupancy {
+	private final long[] bits;
+	private final boolean frozen;
+	private long fingerprint;
+
+	public Occupancy(int numCells) {
+		this(new long[Bits.words(numCells)], 0L, false);
+	}
+
+	private Occupancy(long[] bits, long fingerprint, boolean frozen) {
+		this.bits = bits;
+		this.fingerprint = fingerprint;
+		this.frozen = frozen;
+	}
+
+	public boolean isOccupied(int cellId) {
+		return Bits.get(bits, cellId);
+	}
+
+	/**
+	 * Marks a cell occupied or free, updating the fingerprint in O(1)
+	 *
+	 * @param cellId
+	 * @param occupied
+	 * @throws IllegalStateException if this is a snapshot
+	 */
+	public void set(int cellId, boolean occupied) {
+		if (frozen) {
+			throw new IllegalStateException("occupancy snapshots cannot be modified");
+		}
+		if (Bits.get(bits, cellId) == occupied) {
+			return;
+		}
+		Bits.set(bits, cellId, occupied);
+		fingerprint ^= key(cellId);
+	}
+
+	public long getFingerprint() {
+		return fingerprint;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * @return an immutable copy of the current occupancy
+	 */
+	public Occupancy snapshot() {
+		if (frozen) {
+			return this;
+		}
+		return new Occupancy(bits.clone(), fingerprint, true);
+	}
+
+	/**
+	 * @return a mutable copy, for hypothetical positions
+	 */
+	public Occupancy mutableCopy() {
+		return new Occupancy(bits.clone(), fingerprint, false);
+	}
+
+	// raw words for the target engine, never handed out publicly
+	long[] words() {
+		return bits;
+	}
+
+	/**
+	 * @param cellId
+	 * @return a well mixed 64 bit key for the cell
+	 */
+	public static long key(int cellId) {
+		// splitmix64 finalizer
+		long z = cellId + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
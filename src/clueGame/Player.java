@@ -2,13 +2,10 @@ package clueGame;
 
 import java.awt.Color;
 import java.awt.Graphics;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
+import java.util.Iterator;
 import java.util.Set;
+import java.util.SplittableRandom;
 
 /**
  * Player Class
@@ -24,20 +21,35 @@ public abstract class Player {
 	private Color color;
 	private int row;
 	private int col;
-	private Set<Card> hand;
-	private Set<Card> seenCards;
-
-	protected static Set<Card> ALL_PEOPLE_SET;
-	protected static Map<Character, Card> ALL_ROOMS_MAP;
-	protected static Set<Card> ALL_WEAPONS_SET;
-
+	private CardSet hand;
+	private CardSet seenCards;
+	// card universe of the game this player belongs to
+	private GameContext context;
+	// stream for this player's random choices, set by the game from its seed
+	private SplittableRandom random;
+	// solutions not ruled out by the seen cards, made on first use
+	private SolutionSpace solutionSpace;
+
+	/**
+	 * Makes a player outside of any game, one without a card universe
+	 */
 	public Player(String name, Color color, int row, int col) {
+		this(name, color, row, col, null);
+	}
+
+	/**
+	 * @param context card universe of the game this player belongs to
+	 */
+	public Player(String name, Color color, int row, int col, GameContext context) {
 		this.name = name;
 		this.color = color;
 		this.row = row;
 		this.col = col;
-		hand = new HashSet<>();
-		seenCards = new HashSet<>();
+		// deck ordered bitmasks, so a seeded game always picks from the same order
+		hand = new CardSet();
+		seenCards = new CardSet();
+		this.context = context;
+		random = new SplittableRandom();
 	}
 	
 	//returns true if the player is ready to accuse
@@ -47,33 +59,90 @@ public abstract class Player {
 	
 	public abstract void receiveSuggestionResult(Card card, Solution suggestion);
 
+	/**
+	 * Called on every player once the cards are dealt
+	 * 
+	 * @param seat      this player's seat
+	 * @param handSizes number of cards dealt to each seat
+	 */
+	void cardsDealt(int seat, int[] handSizes) {
+	}
+
+	/**
+	 * Called on every player after any player's suggestion is answered
+	 * 
+	 * @param suggester  seat of the suggester, -1 if it has none
+	 * @param suggestion the suggested cards
+	 * @param disprover  seat that disproved it, -1 if nobody could
+	 * @param shown      the card shown, only given to the suggester
+	 */
+	void suggestionAnswered(int suggester, Solution suggestion, int disprover, Card shown) {
+	}
+
 	public void moveTo(int row, int col) {
 		this.row = row;
 		this.col = col;
 	}
 
 	public Card disproveSuggestion(Solution suggestion) {
-		// create set from Solution cards (toSet method)
-		Set<Card> matches = new HashSet<>(hand);
-		// only keep cards that are also suggested
-		matches.retainAll(suggestion.toSet());
+		// check the three suggested cards against the hand, nothing is allocated
+		Card person = hand.contains(suggestion.getPerson()) ? suggestion.getPerson() : null;
+		Card room = hand.contains(suggestion.getRoom()) ? suggestion.getRoom() : null;
+		Card weapon = hand.contains(suggestion.getWeapon()) ? suggestion.getWeapon() : null;
 
-		return getRandomElement(matches);
+		int matches = (person == null ? 0 : 1) + (room == null ? 0 : 1) + (weapon == null ? 0 : 1);
+		if (matches == 0) {
+			return null;
+		}
 
+		// pick one of the matches at random
+		int pick = matches == 1 ? 0 : random.nextInt(matches);
+		if (person != null && pick-- == 0) {
+			return person;
+		}
+		if (room != null && pick-- == 0) {
+			return room;
+		}
+		return weapon;
 	}
 
 	public void updateHand(Card card) {
 		hand.add(card);
 		card.addToHand(this);
-		seenCards.add(card);
+		updateSeen(card);
 	}
 
 	public void clearHand() {
 		hand.clear();
 	}
 
-	public void updateSeen(Card card) {
-		seenCards.add(card);
+	/**
+	 * @param card
+	 * @return true if the card had not been seen before
+	 */
+	public boolean updateSeen(Card card) {
+		if (!seenCards.add(card)) {
+			return false;
+		}
+		if (solutionSpace != null) {
+			solutionSpace.exclude(card);
+		}
+		return true;
+	}
+
+	/**
+	 * @return the solutions this player has not ruled out, kept up to date as
+	 *         cards are seen
+	 */
+	public SolutionSpace getSolutionSpace() {
+		GameContext current = getContext();
+		if (solutionSpace == null || solutionSpace.getContext() != current) {
+			solutionSpace = current.newSolutionSpace();
+			for (Card card : seenCards) {
+				solutionSpace.exclude(card);
+			}
+		}
+		return solutionSpace;
 	}
 
 	public String getName() {
@@ -96,63 +165,48 @@ public abstract class Player {
 		return this.hand;
 	}
 
-	public Set<Card> getSeenCards() {
+	public CardSet getSeenCards() {
 		return this.seenCards;
 	}
 
-	public static void setCards(Collection<Card> allCards, Map<Character, Room> roomMap) {
-		Set<Card> personCards = new HashSet<>();
-		Map<Character, Card> roomCards = new HashMap<>();
-		Set<Card> weaponCards = new HashSet<>();
-
-		// sort non-room Cards
-		for(Card card : allCards) {
-			switch(card.getType()) {
-			case PERSON : 
-				personCards.add(card);
-				break;	
-			case WEAPON : 
-				weaponCards.add(card);
-				break;
-			case ROOM : 
-				break;
-			}
-		}
-
-		// map each room card
-		for (Character initial : roomMap.keySet()) {
-			Room room = roomMap.get(initial);
-			for (Card card : allCards) {
-				if (card.getCardName().equals(room.getName())) {
-					roomCards.put(initial, card);
-				}
-			}
+	/**
+	 * @return the card universe of this player's game
+	 * @throws IllegalStateException if the player was made without one
+	 */
+	public GameContext getContext() {
+		if (context == null) {
+			throw new IllegalStateException(name + " is not part of a game, make it with the game's context");
 		}
+		return context;
+	}
 
-		if (allCards.containsAll(roomCards.values()) == false) {
-			System.out.println("Player Card allocation Error");
-		}
+	void setRandom(SplittableRandom random) {
+		this.random = random;
+	}
 
-		//give static sets immutable copies
-		ALL_PEOPLE_SET =  Set.copyOf(personCards);
-		ALL_ROOMS_MAP =  Map.copyOf(roomCards);
-		ALL_WEAPONS_SET =  Set.copyOf(weaponCards);
+	SplittableRandom getRandom() {
+		return random;
 	}
 
-	// return a random element of a set
-	protected static <T> T getRandomElement(Set<T> set) {
-		if (set.size() == 1) {
-			// if there is one elem in set, return that elem
-			return set.stream().iterator().next();
-		} else if (set.isEmpty()) {
+	// return a random element of a set, drawn from this player's stream
+	protected <T> T getRandomElement(Set<T> set) {
+		if (set.isEmpty()) {
 			// return null for an empty set
 			return null;
-		} else {
-			// else cast to an arrayList and shuffle
-			ArrayList<T> rand = new ArrayList<>(set);
-			Collections.shuffle(rand);
-			return rand.getFirst();
 		}
+		if (set instanceof CardSet) {
+			// rank select on the bitmask
+			@SuppressWarnings("unchecked")
+			T card = (T) ((CardSet) set).get(random.nextInt(set.size()));
+			return card;
+		}
+
+		// walk to a random index, no copy or shuffle needed
+		Iterator<T> elements = set.iterator();
+		for (int skip = random.nextInt(set.size()); skip > 0; skip--) {
+			elements.next();
+		}
+		return elements.next();
 	}
 
 	public void draw(Graphics g, int cellWidth, int cellHeight) {
@@ -161,9 +215,14 @@ public abstract class Player {
 	}
 
 	public void draw(Graphics g, int width, int height, int offsetX, int offsetY) {
-		int r = row;
-		int c = col;
+		draw(g, row, col, width, height, offsetX, offsetY);
+	}
 
+	/**
+	 * Draws the pawn at a given cell, for views drawing from a snapshot instead
+	 * of the live position
+	 */
+	public void draw(Graphics g, int r, int c, int width, int height, int offsetX, int offsetY) {
 		// make the player slightly smaller than the cell
 		int margin = Math.min(width, height) / 10;
 		int diameter = Math.min(width, height) - margin * 2;
@@ -181,8 +240,9 @@ public abstract class Player {
 		g.drawOval(x, y, diameter, diameter);
 	}
 
-	protected HashSet<Card> getUnseenCards(Collection<Card> allCards) {
-		HashSet<Card> unseenCards = new HashSet<>(allCards);
+	protected CardSet getUnseenCards(Collection<Card> allCards) {
+		// a copy and one and-not when allCards is a CardSet
+		CardSet unseenCards = new CardSet(allCards);
 		unseenCards.removeAll(getSeenCards());
 		return unseenCards;
 	}
@@ -22,6 +22,10 @@ public class Room {
 	// could share a null secretPassage value
 	private Character secretPassageTarget;
 
+	// family and style of the room labels, sized by labelFont()
+	private static final Font LABEL_FONT = new Font("SansSerif", Font.BOLD, 10);
+	private static final Color LABEL_BACKGROUND = new Color(240, 240, 240, 120);  // (r,g,b,alpha)
+
 	public Room(String name) {
 		super();
 
@@ -62,11 +66,28 @@ public class Room {
 
 
 	// ***** GUI METHOD *****
+	/**
+	 * @param height cell height in pixels
+	 * @return the label font for cells of that height, callers drawing every
+	 *         room make it once and pass it to {@link #draw(Graphics, int, int, Font)}
+	 */
+	public static Font labelFont(int height) {
+		return LABEL_FONT.deriveFont((float) Math.max(10, height / 2));
+	}
+
 	/**
 	 * Draw room name
 	 * @param g
 	 */
 	public void draw(Graphics g, int width, int height) {
+		draw(g, width, height, labelFont(height));
+	}
+
+	/**
+	 * Draw room name in {@code font}
+	 * @param g
+	 */
+	public void draw(Graphics g, int width, int height, Font font) {
 		if (labelCell == null) {
 			return;
 		}
@@ -81,8 +102,7 @@ public class Room {
 		int x = col * width;
 
 		// get text height/width
-		int fontSize = Math.max(10, height / 2);
-		g.setFont(new Font("SansSerif", Font.BOLD, fontSize));
+		g.setFont(font);
 		FontMetrics fm = g.getFontMetrics();
 
 		// text dimensions to center labels over desired cell
@@ -120,7 +140,7 @@ public class Room {
 		int rectW = textWidth + 2 * paddingX;
 		int rectH = textHeight + 2 * paddingY;
 
-		Color bg = new Color(240, 240, 240, 120);  // (r,g,b,alpha)
+		Color bg = LABEL_BACKGROUND;
 		Color oldColor = g.getColor();
 
 		g.setColor(bg);
@@ -0,0 +1,313 @@
+package clueGame;
+
+import java.awt.Rectangle;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * RoomIndex Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Where every room and space lies on the board, built once when the
+ *         template is built. The cells of each initial are stored as runs of
+ *         consecutive cells within a row, so a room costs a few ints per row it
+ *         spans rather than one per cell. Each room also knows the doorways
+ *         that lead into it and its bounding box.
+ *
+ *         Hit testing is a lookup of one cell's initial, listing a room's
+ *         doorways costs O(doors) and listing its cells O(cells), none of them
+ *         scan the grid.
+ */
+public final class RoomIndex {
+	private final GridStore cells;
+	private final Map<Character, Room> roomMap;
+	// index of each initial's tables, -1 for initials not on the board
+	private final int[] slotOf = new int[256];
+	private final char[] initials;
+	private final boolean[] isSpace;
+	// runs of slot s are runStarts/runLengths[runOffsets[s] .. runOffsets[s + 1] - 1], in id order
+	private final int[] runOffsets;
+	private final int[] runStarts;
+	private final int[] runLengths;
+	private final int[] cellCounts;
+	// bounding box of each slot, in rows and columns
+	private final int[] minRow;
+	private final int[] minCol;
+	private final int[] maxRow;
+	private final int[] maxCol;
+	// doorways leading into slot s, sorted ids
+	private final List<Set<BoardCell>> doorwaysInto;
+
+	/**
+	 * @param cells         the board's cells
+	 * @param roomMap       rooms and spaces by initial
+	 * @param spaceInitials initials that are spaces, not rooms
+	 */
+	RoomIndex(GridStore cells, Map<Character, Room> roomMap, List<Character> spaceInitials) {
+		this.cells = cells;
+		this.roomMap = roomMap;
+		int numRows = cells.getNumRows();
+		int numColumns = cells.getNumColumns();
+
+		// a slot for every initial that appears on the board, in first seen order
+		Arrays.fill(slotOf, -1);
+		char[] seen = new char[256];
+		int numSlots = 0;
+		int[] runCounts = new int[256];
+		for (int row = 0; row < numRows; row++) {
+			int rowStart = row * numColumns;
+			for (int col = 0; col < numColumns; col++) {
+				char initial = cells.initial(rowStart + col);
+				if (slotOf[initial] < 0) {
+					slotOf[initial] = numSlots;
+					seen[numSlots++] = initial;
+				}
+				if (col == 0 || cells.initial(rowStart + col - 1) != initial) {
+					runCounts[slotOf[initial]]++;
+				}
+			}
+		}
+		this.initials = Arrays.copyOf(seen, numSlots);
+		this.isSpace = new boolean[numSlots];
+		for (int s = 0; s < numSlots; s++) {
+			isSpace[s] = spaceInitials.contains(initials[s]) || !roomMap.containsKey(initials[s]);
+		}
+
+		// runs and bounding boxes
+		this.runOffsets = new int[numSlots + 1];
+		for (int s = 0; s < numSlots; s++) {
+			runOffsets[s + 1] = runOffsets[s] + runCounts[s];
+		}
+		this.runStarts = new int[runOffsets[numSlots]];
+		this.runLengths = new int[runStarts.length];
+		this.cellCounts = new int[numSlots];
+		this.minRow = new int[numSlots];
+		this.minCol = new int[numSlots];
+		this.maxRow = new int[numSlots];
+		this.maxCol = new int[numSlots];
+		Arrays.fill(minRow, Integer.MAX_VALUE);
+		Arrays.fill(minCol, Integer.MAX_VALUE);
+		Arrays.fill(maxRow, -1);
+		Arrays.fill(maxCol, -1);
+		int[] fill = Arrays.copyOf(runOffsets, numSlots);
+		for (int row = 0; row < numRows; row++) {
+			int rowStart = row * numColumns;
+			int col = 0;
+			while (col < numColumns) {
+				char initial = cells.initial(rowStart + col);
+				int end = col + 1;
+				while (end < numColumns && cells.initial(rowStart + end) == initial) {
+					end++;
+				}
+				int slot = slotOf[initial];
+				runStarts[fill[slot]] = rowStart + col;
+				runLengths[fill[slot]++] = end - col;
+				cellCounts[slot] += end - col;
+				minRow[slot] = Math.min(minRow[slot], row);
+				maxRow[slot] = Math.max(maxRow[slot], row);
+				minCol[slot] = Math.min(minCol[slot], col);
+				maxCol[slot] = Math.max(maxCol[slot], end - 1);
+				col = end;
+			}
+		}
+
+		// doorways by the room they lead into, same rules as the adjacency
+		int[] doorIds = new int[16];
+		int[] doorTargets = new int[doorIds.length];
+		int[] doorCounts = new int[numSlots];
+		int numDoors = 0;
+		for (int id = 0; id < cells.getNumCells(); id++) {
+			if (!cells.isDoorway(id)) {
+				continue;
+			}
+			int target = doorTarget(id, numRows, numColumns);
+			if (target < 0) {
+				continue;
+			}
+			if (numDoors == doorIds.length) {
+				doorIds = Arrays.copyOf(doorIds, numDoors * 2);
+				doorTargets = Arrays.copyOf(doorTargets, numDoors * 2);
+			}
+			int slot = slotOf[cells.initial(target)];
+			doorIds[numDoors] = id;
+			doorTargets[numDoors++] = slot;
+			doorCounts[slot]++;
+		}
+		int[][] bySlot = new int[numSlots][];
+		for (int s = 0; s < numSlots; s++) {
+			bySlot[s] = new int[doorCounts[s]];
+		}
+		int[] doorFill = new int[numSlots];
+		for (int k = 0; k < numDoors; k++) {
+			bySlot[doorTargets[k]][doorFill[doorTargets[k]]++] = doorIds[k];
+		}
+		List<Set<BoardCell>> doorSets = new ArrayList<>(numSlots);
+		for (int s = 0; s < numSlots; s++) {
+			doorSets.add(cells.cellSet(bySlot[s]));
+		}
+		this.doorwaysInto = List.copyOf(doorSets);
+	}
+
+	/**
+	 * @return id of the cell the doorway opens onto, or -1 if it points off
+	 *         the board
+	 */
+	private int doorTarget(int id, int numRows, int numColumns) {
+		int row = id / numColumns;
+		int col = id % numColumns;
+		switch (cells.doorDirection(id)) {
+		case UP:
+			return row > 0 ? id - numColumns : -1;
+		case DOWN:
+			return row < numRows - 1 ? id + numColumns : -1;
+		case LEFT:
+			return col > 0 ? id - 1 : -1;
+		case RIGHT:
+			return col < numColumns - 1 ? id + 1 : -1;
+		default:
+			return -1;
+		}
+	}
+
+	private int slot(char initial) {
+		return initial < slotOf.length ? slotOf[initial] : -1;
+	}
+
+	/**
+	 * Hit test for one cell
+	 *
+	 * @return the room the cell belongs to, or null for spaces and cells off
+	 *         the board
+	 */
+	public Room roomAt(int row, int col) {
+		if (row < 0 || row >= cells.getNumRows() || col < 0 || col >= cells.getNumColumns()) {
+			return null;
+		}
+		char initial = cells.initial(row * cells.getNumColumns() + col);
+		return isSpace[slotOf[initial]] ? null : roomMap.get(initial);
+	}
+
+	/**
+	 * @return the cells with {@code initial}, made as the set is iterated
+	 */
+	public Set<BoardCell> getCells(char initial) {
+		int slot = slot(initial);
+		if (slot < 0) {
+			return Collections.emptySet();
+		}
+		return new RunSet(slot);
+	}
+
+	/**
+	 * @return number of cells with {@code initial}
+	 */
+	public int getCellCount(char initial) {
+		int slot = slot(initial);
+		return slot < 0 ? 0 : cellCounts[slot];
+	}
+
+	/**
+	 * @return number of row runs the cells with {@code initial} make up
+	 */
+	public int getRunCount(char initial) {
+		int slot = slot(initial);
+		return slot < 0 ? 0 : runOffsets[slot + 1] - runOffsets[slot];
+	}
+
+	/**
+	 * @param run between 0 and {@link #getRunCount(char)}, runs are in id order
+	 * @return id of the first cell of the run
+	 */
+	public int getRunStart(char initial, int run) {
+		return runStarts[runOffsets[slot(initial)] + run];
+	}
+
+	/**
+	 * @return number of cells in the run, all in the same row
+	 */
+	public int getRunLength(char initial, int run) {
+		return runLengths[runOffsets[slot(initial)] + run];
+	}
+
+	/**
+	 * @return doorways leading into the room with {@code initial}, empty for
+	 *         spaces
+	 */
+	public Set<BoardCell> getDoorwaysInto(char initial) {
+		int slot = slot(initial);
+		return slot < 0 ? Collections.emptySet() : doorwaysInto.get(slot);
+	}
+
+	/**
+	 * @return smallest box of cells (x is the column, y the row) holding every
+	 *         cell with {@code initial}, or null if there is none
+	 */
+	public Rectangle getBounds(char initial) {
+		int slot = slot(initial);
+		if (slot < 0) {
+			return null;
+		}
+		return new Rectangle(minCol[slot], minRow[slot], maxCol[slot] - minCol[slot] + 1,
+				maxRow[slot] - minRow[slot] + 1);
+	}
+
+	/**
+	 * Cells of one slot, walked run by run
+	 */
+	private final class RunSet extends AbstractSet<BoardCell> {
+		private final int slot;
+
+		RunSet(int slot) {
+			this.slot = slot;
+		}
+
+		@Override
+		public int size() {
+			return cellCounts[slot];
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof BoardCell)) {
+				return false;
+			}
+			int id = ((BoardCell) o).getId();
+			return id >= 0 && id < cells.getNumCells() && cells.initial(id) == initials[slot] && cells.peek(id) == o;
+		}
+
+		@Override
+		public Iterator<BoardCell> iterator() {
+			return new Iterator<BoardCell>() {
+				private int run = runOffsets[slot];
+				private int offset;
+
+				@Override
+				public boolean hasNext() {
+					return run < runOffsets[slot + 1];
+				}
+
+				@Override
+				public BoardCell next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					BoardCell cell = cells.cell(runStarts[run] + offset);
+					if (++offset == runLengths[run]) {
+						run++;
+						offset = 0;
+					}
+					return cell;
+				}
+			};
+		}
+	}
+}
@@ -1,8 +1,5 @@
 package clueGame;
 
-import java.util.HashSet;
-import java.util.Set;
-
 /**
  * Solution Class
  *
@@ -34,8 +31,8 @@ public class Solution {
 		return weapon;
 	}
 	
-	public Set<Card> toSet() {
-		Set<Card> set =  new HashSet<>();
+	public CardSet toSet() {
+		CardSet set =  new CardSet();
 		set.add(person);
 		set.add(weapon);
 		set.add(room);
@@ -0,0 +1,245 @@
+package clueGame;
+
+/**
+ * SolutionSpace Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         The solutions a player has not ruled out yet, as one bit per
+ *         (person, room, weapon) triple of the game's deck. The standard deck
+ *         has 6 * 9 * 6 = 324 triples, six longs.
+ *
+ *         Each card has a precomputed mask of the triples it appears in, so
+ *         ruling a card out is an and-not of that mask, and the number of
+ *         solutions left is kept as the bits are cleared. size(), isUnique()
+ *         and isEmpty() never look at the bits.
+ */
+public final class SolutionSpace {
+	private final GameContext context;
+	private final Masks masks;
+	private final long[] candidates;
+	private int size;
+	// cards ruled out so far, by ordinal
+	private final long[] excluded;
+
+	/**
+	 * Every triple of the context's people, rooms and weapons, none ruled out.
+	 * {@link GameContext#newSolutionSpace()} is cheaper, it shares the masks
+	 * of the game
+	 */
+	public SolutionSpace(GameContext context) {
+		this.context = context;
+		this.masks = new Masks(context);
+		this.size = masks.numTriples;
+		this.candidates = new long[Bits.words(size)];
+		for (int triple = 0; triple < size; triple++) {
+			Bits.set(candidates, triple);
+		}
+		this.excluded = new long[Bits.words(context.getDeck().size())];
+	}
+
+	private SolutionSpace(SolutionSpace other) {
+		this.context = other.context;
+		this.masks = other.masks;
+		this.candidates = other.candidates.clone();
+		this.size = other.size;
+		this.excluded = other.excluded.clone();
+	}
+
+	/**
+	 * @return an independent copy sharing the card masks, e.g. to try out a
+	 *         suggestion
+	 */
+	public SolutionSpace copy() {
+		return new SolutionSpace(this);
+	}
+
+	public GameContext getContext() {
+		return context;
+	}
+
+	/**
+	 * @return number of solutions left
+	 */
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @return true if exactly one solution is left
+	 */
+	public boolean isUnique() {
+		return size == 1;
+	}
+
+	/**
+	 * @return the only solution left, or null if there are none or several
+	 */
+	public Solution getSolution() {
+		if (size != 1) {
+			return null;
+		}
+		return masks.solutionOf(Bits.nextSetBit(candidates, 0));
+	}
+
+	public boolean contains(Solution solution) {
+		int person = masks.indexOf(solution.getPerson(), masks.people);
+		int room = masks.indexOf(solution.getRoom(), masks.rooms);
+		int weapon = masks.indexOf(solution.getWeapon(), masks.weapons);
+		if (person < 0 || room < 0 || weapon < 0) {
+			return false;
+		}
+		return Bits.get(candidates, masks.tripleOf(person, room, weapon));
+	}
+
+	/**
+	 * @return number of solutions left that have {@code card} in them
+	 */
+	public int countWith(Card card) {
+		Card deckCard = context.getDeckCard(card);
+		long[] mask = deckCard == null ? null : masks.cardMasks[deckCard.getOrdinal()];
+		if (mask == null) {
+			return 0;
+		}
+		int count = 0;
+		for (int w = 0; w < candidates.length; w++) {
+			count += Long.bitCount(candidates[w] & mask[w]);
+		}
+		return count;
+	}
+
+	/**
+	 * Rules out every solution with {@code card} in it
+	 *
+	 * @return true if any solution was ruled out
+	 */
+	public boolean exclude(Card card) {
+		Card deckCard = context.getDeckCard(card);
+		return deckCard != null && exclude(deckCard.getOrdinal());
+	}
+
+	private boolean exclude(int ordinal) {
+		if (Bits.get(excluded, ordinal)) {
+			return false;
+		}
+		Bits.set(excluded, ordinal);
+		long[] mask = masks.cardMasks[ordinal];
+		if (mask == null) {
+			return false;
+		}
+		int before = size;
+		for (int w = 0; w < candidates.length; w++) {
+			size -= Long.bitCount(candidates[w] & mask[w]);
+			candidates[w] &= ~mask[w];
+		}
+		return size != before;
+	}
+
+	/**
+	 * Rules out every card outside {@code possible}, a bitmask over the first
+	 * 64 card ordinals such as {@link KnowledgeMatrix#getPossibleMask(int)}
+	 *
+	 * @return true if any solution was ruled out
+	 */
+	public boolean retain(long possible) {
+		int numCards = context.getDeck().size();
+		if (numCards == 0) {
+			return false;
+		}
+		long rule = ~possible & ~excluded[0];
+		if (numCards < Long.SIZE) {
+			rule &= (1L << numCards) - 1;
+		}
+		boolean changed = false;
+		for (; rule != 0; rule &= rule - 1) {
+			changed |= exclude(Long.numberOfTrailingZeros(rule));
+		}
+		return changed;
+	}
+
+	@Override
+	public String toString() {
+		return size + " of " + masks.numTriples + " solutions left";
+	}
+
+	/**
+	 * The triples of one context and the mask of each card, shared by copies
+	 */
+	private static final class Masks {
+		private final Card[] people;
+		private final Card[] rooms;
+		private final Card[] weapons;
+		private final int numTriples;
+		// triples holding each card, by ordinal, null for cards in no triple
+		private final long[][] cardMasks;
+
+		Masks(GameContext context) {
+			this.people = toArray(context.getPeople());
+			this.rooms = toArray(context.getRooms());
+			this.weapons = toArray(context.getWeapons());
+			this.numTriples = people.length * rooms.length * weapons.length;
+			this.cardMasks = new long[context.getDeck().size()][];
+
+			int words = Bits.words(numTriples);
+			long[][] personMasks = new long[people.length][words];
+			long[][] roomMasks = new long[rooms.length][words];
+			long[][] weaponMasks = new long[weapons.length][words];
+			for (int p = 0; p < people.length; p++) {
+				for (int r = 0; r < rooms.length; r++) {
+					for (int w = 0; w < weapons.length; w++) {
+						int triple = tripleOf(p, r, w);
+						Bits.set(personMasks[p], triple);
+						Bits.set(roomMasks[r], triple);
+						Bits.set(weaponMasks[w], triple);
+					}
+				}
+			}
+			store(people, personMasks);
+			store(rooms, roomMasks);
+			store(weapons, weaponMasks);
+		}
+
+		private static Card[] toArray(CardSet cards) {
+			Card[] array = new Card[cards.size()];
+			int i = 0;
+			for (Card card : cards) {
+				array[i++] = card;
+			}
+			return array;
+		}
+
+		private void store(Card[] cards, long[][] cardTypeMasks) {
+			for (int i = 0; i < cards.length; i++) {
+				int ordinal = cards[i].getOrdinal();
+				if (ordinal >= 0 && ordinal < cardMasks.length) {
+					cardMasks[ordinal] = cardTypeMasks[i];
+				}
+			}
+		}
+
+		int tripleOf(int person, int room, int weapon) {
+			return (person * rooms.length + room) * weapons.length + weapon;
+		}
+
+		Solution solutionOf(int triple) {
+			int weapon = triple % weapons.length;
+			int room = triple / weapons.length % rooms.length;
+			int person = triple / weapons.length / rooms.length;
+			return new Solution(people[person], rooms[room], weapons[weapon]);
+		}
+
+		int indexOf(Card card, Card[] cards) {
+			for (int i = 0; i < cards.length; i++) {
+				if (cards[i].equals(card)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,269 @@
+package clueGame;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * SuggestionScorer Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Picks the (person, weapon) pair for a suggestion in a given room
+ *         whose answer is expected to tell the suggester the most about the
+ *         case file that the other players do not also learn. The answer is
+ *         who disproves and which card they show, or that nobody can; only
+ *         the suggester sees the card, everyone hears who disproved. The score
+ *         is the mutual information between the case file and the whole
+ *         answer, less that between the case file and the public part of it.
+ *         (Scoring the whole answer alone picks suggestions that help the
+ *         other players about as much, and loses to random suggestions.)
+ *
+ *         The chance that each seat holds each card comes from the
+ *         suggester's {@link KnowledgeMatrix} and {@link SolutionSpace}: known
+ *         cards are certain, the case file gets the share of the remaining
+ *         solutions a card is in, and the rest is split over the seats that
+ *         may still hold it by how many unknown cards they have. Cards are
+ *         treated as independent of each other.
+ *
+ *         The estimates go in flat arrays, one row of card ordinals per seat
+ *         in answering order, so scoring a pair is array reads and a log per
+ *         answer for each of the up to eight ways its cards can be in the case
+ *         file. All 36 pairs of the standard deck take about 50 us.
+ */
+final class SuggestionScorer {
+	private final KnowledgeMatrix knowledge;
+	private final List<Card> deck;
+	private final int numSeats;
+	private final int numCards;
+	private final int[] handSizes;
+	private final int[] people;
+	private final int[] weapons;
+	// [row * numCards + card] chance that the row-th seat to answer holds the card
+	private final double[] holds;
+	private final double[] caseFile;
+	private final double[] seatWeights;
+	// chance of each answer, for one case file case and for all of them
+	private final double[] outcomes;
+	private final double[] mixture;
+
+	SuggestionScorer(KnowledgeMatrix knowledge) {
+		this.knowledge = knowledge;
+		this.deck = knowledge.getContext().getDeck();
+		this.numSeats = knowledge.getNumSeats();
+		this.numCards = deck.size();
+		this.handSizes = knowledge.copyHandSizes();
+		this.people = ordinals(knowledge.getContext().getPeople());
+		this.weapons = ordinals(knowledge.getContext().getWeapons());
+		this.holds = new double[Math.max(0, numSeats - 1) * numCards];
+		this.caseFile = new double[numCards];
+		this.seatWeights = new double[numSeats];
+		this.outcomes = new double[3 * Math.max(0, numSeats - 1) + 1];
+		this.mixture = new double[outcomes.length];
+	}
+
+	private static int[] ordinals(CardSet cards) {
+		int[] result = new int[cards.size()];
+		int i = 0;
+		for (Card card : cards) {
+			result[i++] = card.getOrdinal();
+		}
+		return result;
+	}
+
+	/**
+	 * @param suggester seat making the suggestion
+	 * @param room      room the suggestion is made in
+	 * @param solutions the suggester's remaining solutions
+	 * @param random    breaks ties between equally good pairs
+	 * @return the best suggestion, or null if there is no person or weapon
+	 */
+	Solution choose(int suggester, Card room, SolutionSpace solutions, SplittableRandom random) {
+		if (people.length == 0 || weapons.length == 0) {
+			return null;
+		}
+		estimate(suggester, solutions);
+
+		int roomCard = room.getOrdinal();
+		double best = Double.NEGATIVE_INFINITY;
+		int bestPerson = 0;
+		int bestWeapon = 0;
+		int ties = 0;
+		for (int p : people) {
+			for (int w : weapons) {
+				double score = score(p, roomCard, w);
+				if (score > best + 1e-12) {
+					best = score;
+					bestPerson = p;
+					bestWeapon = w;
+					ties = 1;
+				} else if (score >= best - 1e-12 && random.nextInt(++ties) == 0) {
+					bestPerson = p;
+					bestWeapon = w;
+				}
+			}
+		}
+		return new Solution(deck.get(bestPerson), room, deck.get(bestWeapon));
+	}
+
+	/**
+	 * Fills the case file and per seat chances of holding each card
+	 */
+	private void estimate(int suggester, SolutionSpace solutions) {
+		int file = knowledge.getCaseFile();
+		long fileKnown = knowledge.getKnownMask(file);
+		long filePossible = knowledge.getPossibleMask(file);
+		double numSolutions = Math.max(1, solutions.size());
+		for (int card = 0; card < numCards; card++) {
+			long bit = 1L << card;
+			if ((fileKnown & bit) != 0) {
+				caseFile[card] = 1;
+			} else if ((filePossible & bit) == 0) {
+				caseFile[card] = 0;
+			} else {
+				caseFile[card] = solutions.countWith(deck.get(card)) / numSolutions;
+			}
+		}
+
+		// seats weigh in by how many of their cards are still unknown
+		for (int seat = 0; seat < numSeats; seat++) {
+			seatWeights[seat] = Math.max(0, handSizes[seat] - Long.bitCount(knowledge.getKnownMask(seat)));
+		}
+		for (int card = 0; card < numCards; card++) {
+			long bit = 1L << card;
+			double total = 0;
+			int holder = -1;
+			for (int seat = 0; seat < numSeats; seat++) {
+				if ((knowledge.getKnownMask(seat) & bit) != 0) {
+					holder = seat;
+				} else if ((knowledge.getPossibleMask(seat) & bit) != 0) {
+					total += seatWeights[seat];
+				}
+			}
+			double rest = 1 - caseFile[card];
+			for (int row = 0; row < numSeats - 1; row++) {
+				int seat = (suggester + 1 + row) % numSeats;
+				double chance;
+				if (holder >= 0) {
+					chance = holder == seat ? 1 : 0;
+				} else if ((knowledge.getPossibleMask(seat) & bit) == 0 || total == 0) {
+					chance = 0;
+				} else {
+					chance = rest * seatWeights[seat] / total;
+				}
+				holds[row * numCards + card] = chance;
+			}
+		}
+	}
+
+	/**
+	 * @return information in nats about the case file that the answer to
+	 *         suggesting cards a, b and c gives the suggester alone. Each mutual
+	 *         information is the entropy of the answer less its entropy once the
+	 *         case file is known
+	 */
+	private double score(int a, int b, int c) {
+		Arrays.fill(mixture, 0);
+		double conditionalEntropy = 0;
+		double publicConditional = 0;
+		// the answer only depends on which of the three cards are in the case file
+		for (int inFile = 0; inFile < 8; inFile++) {
+			double chance = chanceIn(a, inFile & 1) * chanceIn(b, inFile & 2) * chanceIn(c, inFile & 4);
+			if (chance <= 1e-12) {
+				continue;
+			}
+			double entropy = answer(scale(a, inFile & 1), scale(b, inFile & 2), scale(c, inFile & 4), a, b, c);
+			conditionalEntropy += chance * entropy;
+			publicConditional += chance * publicEntropy(outcomes);
+			for (int k = 0; k < mixture.length; k++) {
+				mixture[k] += chance * outcomes[k];
+			}
+		}
+		double entropy = 0;
+		for (double p : mixture) {
+			entropy += plogp(p);
+		}
+		return (entropy - conditionalEntropy) - (publicEntropy(mixture) - publicConditional);
+	}
+
+	/**
+	 * @return entropy of who disproves, the answers without the card shown
+	 */
+	private static double publicEntropy(double[] answers) {
+		double entropy = 0;
+		for (int k = 0; k + 2 < answers.length; k += 3) {
+			entropy += plogp(answers[k] + answers[k + 1] + answers[k + 2]);
+		}
+		return entropy + plogp(answers[answers.length - 1]);
+	}
+
+	/**
+	 * @return chance the card is in the case file if {@code in} is set, or out
+	 *         of it otherwise
+	 */
+	private double chanceIn(int card, int in) {
+		return in != 0 ? caseFile[card] : 1 - caseFile[card];
+	}
+
+	/**
+	 * @return factor turning the seat chances of a card into chances given
+	 *         whether it is in the case file
+	 */
+	private double scale(int card, int in) {
+		return in != 0 ? 0 : 1 / (1 - caseFile[card]);
+	}
+
+	/**
+	 * Fills outcomes with the chance of each answer, each seat showing each
+	 * card in answering order and then nobody
+	 *
+	 * @return entropy of the answer
+	 */
+	private double answer(double scaleA, double scaleB, double scaleC, int a, int b, int c) {
+		// chance that some earlier seat holds each card
+		double heldA = 0;
+		double heldB = 0;
+		double heldC = 0;
+		double entropy = 0;
+		int k = 0;
+		for (int base = 0; base < holds.length; base += numCards) {
+			double reach = (1 - heldA) * (1 - heldB) * (1 - heldC);
+			double pa = holds[base + a] * scaleA;
+			double pb = holds[base + b] * scaleB;
+			double pc = holds[base + c] * scaleC;
+			// chance this seat holds each card, given no earlier seat does
+			double qa = conditional(pa, heldA);
+			double qb = conditional(pb, heldB);
+			double qc = conditional(pc, heldC);
+			// a seat with several of the cards shows one of them at random
+			entropy += plogp(outcomes[k++] = reach * qa * shareOf(qb, qc));
+			entropy += plogp(outcomes[k++] = reach * qb * shareOf(qa, qc));
+			entropy += plogp(outcomes[k++] = reach * qc * shareOf(qa, qb));
+			heldA += pa;
+			heldB += pb;
+			heldC += pc;
+		}
+		// nobody could disprove
+		double nobody = Math.max(0, (1 - heldA) * (1 - heldB) * (1 - heldC));
+		outcomes[k] = nobody;
+		return entropy + plogp(nobody);
+	}
+
+	private static double conditional(double p, double heldBefore) {
+		double left = 1 - heldBefore;
+		return left <= 1e-12 ? 0 : Math.min(1, p / left);
+	}
+
+	/**
+	 * @return chance a card is the one shown, given the seat holds it and
+	 *         holds each of the other two with chances x and y
+	 */
+	private static double shareOf(double x, double y) {
+		return (1 - x) * (1 - y) + (x * (1 - y) + (1 - x) * y) / 2 + x * y / 3;
+	}
+
+	private static double plogp(double p) {
+		return p <= 1e-15 ? 0 : -p * Math.log(p);
+	}
+}
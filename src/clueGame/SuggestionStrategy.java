@@ -0,0 +1,16 @@
+package clueGame;
+
+/**
+ * SuggestionStrategy Enum
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *	how a ComputerPlayer picks the person and weapon of its suggestions
+ */
+public enum SuggestionStrategy {
+	// a random unseen person and a random unseen weapon
+	RANDOM,
+	// the pair whose answer is expected to tell the most, see SuggestionScorer
+	INFORMATION_GAIN;
+}
@@ -0,0 +1,141 @@
+package clueGame;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * TargetCache Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Bounded, least-recently-used cache of target sets. Entries are keyed
+ *         by the start cell, the roll and a fingerprint of which cells were
+ *         occupied when the targets were computed, so a change in occupancy
+ *         can never return a stale set. All methods are synchronized so one
+ *         cache can serve target queries from several threads.
+ */
+public class TargetCache {
+	public static final int DEFAULT_CAPACITY = 4096;
+
+	private final int capacity;
+	private final LinkedHashMap<Key, TargetResult> entries;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	public TargetCache(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("capacity must be positive: " + capacity);
+		}
+		this.capacity = capacity;
+		// access ordered so the eldest entry is always the least recently used one
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, TargetResult> eldest) {
+				if (size() > TargetCache.this.capacity) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	public TargetCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param startId     id of the cell the move starts from
+	 * @param roll        number of steps
+	 * @param fingerprint occupancy fingerprint at lookup time
+	 * @return the cached targets, or null on a miss
+	 */
+	public synchronized TargetResult get(int startId, int roll, long fingerprint) {
+		TargetResult cached = entries.get(new Key(startId, roll, fingerprint));
+		if (cached == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return cached;
+	}
+
+	public synchronized void put(int startId, int roll, long fingerprint, TargetResult targets) {
+		entries.put(new Key(startId, roll, fingerprint), targets);
+	}
+
+	/**
+	 * Drops every entry, used whenever the board layout is reloaded
+	 */
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	public synchronized void resetStats() {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "TargetCache[size=" + size() + "/" + capacity + ", hits=" + hits + ", misses=" + misses
+				+ ", evictions=" + evictions + "]";
+	}
+
+	private static final class Key {
+		private final int startId;
+		private final int roll;
+		private final long fingerprint;
+
+		Key(int startId, int roll, long fingerprint) {
+			this.startId = startId;
+			this.roll = roll;
+			this.fingerprint = fingerprint;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return startId == other.startId && roll == other.roll && fingerprint == other.fingerprint;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = startId;
+			result = 31 * result + roll;
+			return 31 * result + Long.hashCode(fingerprint);
+		}
+	}
+}
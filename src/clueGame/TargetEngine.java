@@ -0,0 +1,115 @@
+package clueGame;
+
+import java.util.Arrays;
+
+/**
+ * TargetEngine Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Iterative replacement for the recursive target DFS. Walks the
+ *         AdjacencyGraph with an explicit stack and keeps the visited path and
+ *         the targets as long[] bitsets over cell ids, so nothing is allocated
+ *         per search once the stack has grown to the largest roll seen. The
+ *         rules are the same as the old recursive search: a move may not revisit
+ *         a cell on its own path, may not pass through an occupied cell unless
+ *         it is a room center, and stops early on entering a room center.
+ *
+ *         An engine holds scratch state, so each thread needs its own.
+ */
+public final class TargetEngine {
+	private final AdjacencyGraph graph;
+	private final long[] roomCenters;
+	private final long[] visited;
+	private final long[] targets;
+	// explicit DFS stack: the cell at each depth and the next neighbor index to try
+	private int[] stackCell;
+	private int[] stackCursor;
+
+	public TargetEngine(AdjacencyGraph graph) {
+		this.graph = graph;
+		int words = Bits.words(graph.getNumCells());
+		this.roomCenters = new long[words];
+		this.visited = new long[words];
+		this.targets = new long[words];
+		for (int id = 0; id < graph.getNumCells(); id++) {
+			if (graph.getCell(id).isRoomCenter()) {
+				Bits.set(roomCenters, id);
+			}
+		}
+		this.stackCell = new int[8];
+		this.stackCursor = new int[8];
+	}
+
+	public AdjacencyGraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @see #search(int, int, long[])
+	 */
+	public long[] search(int startId, int roll, Occupancy occupancy) {
+		return search(startId, roll, occupancy.words());
+	}
+
+	/**
+	 * Computes every cell reachable from {@code startId} in exactly {@code roll}
+	 * steps, or fewer when the path ends in a room center
+	 *
+	 * @param startId  id of the starting cell
+	 * @param roll     number of steps
+	 * @param occupied bitset of occupied cell ids
+	 * @return bitset of target cell ids, owned by this engine and only valid until
+	 *         the next call to search
+	 */
+	public long[] search(int startId, int roll, long[] occupied) {
+		Arrays.fill(targets, 0L);
+
+		int depth = 0;
+		stackCell[0] = startId;
+		stackCursor[0] = graph.neighborStart(startId);
+		Bits.set(visited, startId);
+
+		while (depth >= 0) {
+			int cell = stackCell[depth];
+			int cursor = stackCursor[depth];
+
+			// every neighbor of this cell has been tried, step back
+			if (cursor == graph.neighborEnd(cell)) {
+				Bits.clear(visited, cell);
+				depth--;
+				continue;
+			}
+			stackCursor[depth] = cursor + 1;
+
+			int adj = graph.neighborAt(cursor);
+			boolean adjIsCenter = Bits.get(roomCenters, adj);
+			if (Bits.get(visited, adj)) {
+				// skip cells already on this path
+				continue;
+			} else if (!adjIsCenter && Bits.get(occupied, adj)) {
+				// skip occupied cells that aren't the room center
+				continue;
+			}
+
+			// if last step or cell is a room center, add it to targets
+			if (adjIsCenter || roll - depth == 1) {
+				Bits.set(targets, adj);
+				continue;
+			}
+
+			// more steps left, push the neighbor
+			depth++;
+			if (depth == stackCell.length) {
+				stackCell = Arrays.copyOf(stackCell, depth * 2);
+				stackCursor = Arrays.copyOf(stackCursor, depth * 2);
+			}
+			stackCell[depth] = adj;
+			stackCursor[depth] = graph.neighborStart(adj);
+			Bits.set(visited, adj);
+		}
+
+		return targets;
+	}
+}
@@ -0,0 +1,112 @@
+package clueGame;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * TargetResult Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Immutable answer to a target query: the cells reachable from a start
+ *         cell with a given roll. Safe to share between threads and to keep in
+ *         the TargetCache.
+ */
+public final class TargetResult {
+	private final AdjacencyGraph graph;
+	private final int startId;
+	private final int roll;
+	private final long[] bits;
+	private final int size;
+	private final Set<BoardCell> cells;
+
+	TargetResult(AdjacencyGraph graph, int startId, int roll, long[] bits) {
+		this.graph = graph;
+		this.startId = startId;
+		this.roll = roll;
+		this.bits = bits.clone();
+		this.size = Bits.cardinality(this.bits);
+		this.cells = new CellView();
+	}
+
+	public BoardCell getStart() {
+		return graph.getCell(startId);
+	}
+
+	public int getRoll() {
+		return roll;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean contains(int cellId) {
+		return cellId >= 0 && cellId < graph.getNumCells() && Bits.get(bits, cellId);
+	}
+
+	public boolean contains(BoardCell cell) {
+		return cell != null && contains(cell.getId()) && graph.getCell(cell.getId()) == cell;
+	}
+
+	/**
+	 * @param from cell id to start looking from
+	 * @return the first target id at or after from, or -1, for allocation free iteration
+	 */
+	public int nextTarget(int from) {
+		return Bits.nextSetBit(bits, from);
+	}
+
+	/**
+	 * @return read-only Set view of the target cells
+	 */
+	public Set<BoardCell> asSet() {
+		return cells;
+	}
+
+	@Override
+	public String toString() {
+		return "Targets of " + getStart().debugPos() + " rolling " + roll + " = " + cells;
+	}
+
+	private final class CellView extends AbstractSet<BoardCell> {
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return (o instanceof BoardCell) && TargetResult.this.contains((BoardCell) o);
+		}
+
+		@Override
+		public Iterator<BoardCell> iterator() {
+			return new Iterator<BoardCell>() {
+				private int next = Bits.nextSetBit(bits, 0);
+
+				@Override
+				public boolean hasNext() {
+					return next >= 0;
+				}
+
+				@Override
+				public BoardCell next() {
+					if (next < 0) {
+						throw new NoSuchElementException();
+					}
+					BoardCell cell = graph.getCell(next);
+					next = Bits.nextSetBit(bits, next + 1);
+					return cell;
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package clueGame;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TemplateCache Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Process-wide cache of parsed BoardTemplates keyed by the layout path,
+ *         the setup path and the modification time of both files. Every test
+ *         class and every game on the same files gets the same template after
+ *         the first load, and editing either file makes the next lookup load
+ *         it again.
+ *
+ *         Templates are shared read-only, each Board keeps its own players,
+ *         cards and occupancy on top of one. The singleton Board is the
+ *         exception: its cells report its occupancy, so it gets a template of
+ *         its own, cached apart from the shared ones and never handed out by
+ *         {@link #get(String, String)}.
+ */
+public final class TemplateCache {
+	private static final Map<Key, BoardTemplate> TEMPLATES = new ConcurrentHashMap<>();
+	// templates whose cells are bound to a board, with that board
+	private static final Map<Key, Bound> BOUND = new ConcurrentHashMap<>();
+
+	private TemplateCache() {
+	}
+
+	/**
+	 * Returns the cached template for the two files, loading it from the
+	 * compiled board or the text files if they changed since it was cached
+	 *
+	 * @param layoutConfigFile path of the layout csv
+	 * @param setupConfigFile  path of the setup txt
+	 * @return the shared template
+	 * @throws BadConfigFormatException if either file is invalid
+	 * @throws FileNotFoundException    if either file cannot be opened
+	 */
+	public static BoardTemplate get(String layoutConfigFile, String setupConfigFile)
+			throws BadConfigFormatException, FileNotFoundException {
+		Key key = new Key(layoutConfigFile, setupConfigFile, lastModified(layoutConfigFile),
+				lastModified(setupConfigFile));
+		BoardTemplate template = TEMPLATES.get(key);
+		if (template != null) {
+			return template;
+		}
+
+		template = load(layoutConfigFile, setupConfigFile, null);
+
+		// older versions of the same files are never asked for again
+		TEMPLATES.keySet().removeIf(cached -> cached.samePaths(key) && !cached.equals(key));
+		// two threads may load the same files at once, both then use the first one stored
+		BoardTemplate raced = TEMPLATES.putIfAbsent(key, template);
+		return raced != null ? raced : template;
+	}
+
+	/**
+	 * Returns a template whose cells' getOccupied()/setOccupied() report the
+	 * occupancy of {@code owner}, loading it if the files changed or it was
+	 * made for another board. Only the singleton Board asks for one
+	 *
+	 * @param layoutConfigFile path of the layout csv
+	 * @param setupConfigFile  path of the setup txt
+	 * @param owner            board the cells are bound to
+	 * @return a template no other board is given
+	 * @throws BadConfigFormatException if either file is invalid
+	 * @throws FileNotFoundException    if either file cannot be opened
+	 */
+	static BoardTemplate getBound(String layoutConfigFile, String setupConfigFile, Board owner)
+			throws BadConfigFormatException, FileNotFoundException {
+		Key key = new Key(layoutConfigFile, setupConfigFile, lastModified(layoutConfigFile),
+				lastModified(setupConfigFile));
+		Bound bound = BOUND.get(key);
+		if (bound != null && bound.owner == owner) {
+			return bound.template;
+		}
+
+		BoardTemplate template = load(layoutConfigFile, setupConfigFile, owner);
+		BOUND.keySet().removeIf(cached -> cached.samePaths(key));
+		BOUND.put(key, new Bound(template, owner));
+		return template;
+	}
+
+	private static BoardTemplate load(String layoutConfigFile, String setupConfigFile, Board owner)
+			throws BadConfigFormatException, FileNotFoundException {
+		// a compiled board skips parsing, as long as it is newer than the text
+		BoardTemplate template = CompiledBoard.readIfFresh(layoutConfigFile, setupConfigFile, owner);
+		if (template == null) {
+			template = new BoardLoader(layoutConfigFile, setupConfigFile, owner).load();
+		}
+		return template;
+	}
+
+	/**
+	 * @return number of cached templates
+	 */
+	public static int size() {
+		return TEMPLATES.size();
+	}
+
+	/**
+	 * Forgets every cached template
+	 */
+	public static void clear() {
+		TEMPLATES.clear();
+		BOUND.clear();
+	}
+
+	private static long lastModified(String file) throws FileNotFoundException {
+		try {
+			return Files.getLastModifiedTime(Paths.get(file)).toMillis();
+		} catch (IOException e) {
+			throw new FileNotFoundException(file + " (" + e.getMessage() + ")");
+		}
+	}
+
+	private static final class Bound {
+		private final BoardTemplate template;
+		private final Board owner;
+
+		Bound(BoardTemplate template, Board owner) {
+			this.template = template;
+			this.owner = owner;
+		}
+	}
+
+	private static final class Key {
+		private final String layoutConfigFile;
+		private final String setupConfigFile;
+		private final long layoutModified;
+		private final long setupModified;
+
+		Key(String layoutConfigFile, String setupConfigFile, long layoutModified, long setupModified) {
+			this.layoutConfigFile = layoutConfigFile;
+			this.setupConfigFile = setupConfigFile;
+			this.layoutModified = layoutModified;
+			this.setupModified = setupModified;
+		}
+
+		boolean samePaths(Key other) {
+			return layoutConfigFile.equals(other.layoutConfigFile) && setupConfigFile.equals(other.setupConfigFile);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return samePaths(other) && layoutModified == other.layoutModified
+					&& setupModified == other.setupModified;
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = layoutConfigFile.hashCode() * 31 + setupConfigFile.hashCode();
+			return hash * 31 + Long.hashCode(layoutModified * 31 + setupModified);
+		}
+	}
+}
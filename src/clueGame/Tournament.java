@@ -0,0 +1,301 @@
+package clueGame;
+
+import java.io.FileNotFoundException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Tournament Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Plays many independent all-computer games on a fork-join pool and
+ *         reports how the ComputerPlayer logic does: win rate per seat, turns
+ *         to solve, wrong accusation rate and games per second. Every game
+ *         shares one BoardTemplate. Game i is seeded from the tournament seed
+ *         and i alone, so a run can be repeated with any number of threads.
+ *         Seats can be given different suggestion strategies to compare them.
+ *
+ *         Usage: Tournament [games] [threads] [maxTurns] [seed] [layout] [setup]
+ *         [strategies], strategies a comma separated list of SuggestionStrategy
+ *         names given to the seats in turn
+ */
+public class Tournament {
+	public static final int DEFAULT_GAMES = 10000;
+	public static final int DEFAULT_MAX_TURNS = 5000;
+
+	// games a single fork-join task plays before it stops splitting
+	private static final int GAMES_PER_TASK = 64;
+
+	private final BoardTemplate template;
+	private final int maxTurns;
+	private final long seed;
+	// strategy of seat i is strategies[i % length]
+	private final SuggestionStrategy[] strategies;
+
+	/**
+	 * @param template board every game is played on
+	 * @param maxTurns turn limit for a single game, games that reach it count as
+	 *                 unfinished
+	 * @param seed     seed of the whole tournament
+	 */
+	public Tournament(BoardTemplate template, int maxTurns, long seed) {
+		this(template, maxTurns, seed, SuggestionStrategy.RANDOM);
+	}
+
+	/**
+	 * @param template   board every game is played on
+	 * @param maxTurns   turn limit for a single game
+	 * @param seed       seed of the whole tournament
+	 * @param strategies suggestion strategy of each seat, repeated if there are
+	 *                   more seats
+	 */
+	public Tournament(BoardTemplate template, int maxTurns, long seed, SuggestionStrategy... strategies) {
+		if (strategies.length == 0) {
+			throw new IllegalArgumentException("at least one strategy is needed");
+		}
+		this.template = template;
+		this.maxTurns = maxTurns;
+		this.seed = seed;
+		this.strategies = strategies.clone();
+	}
+
+	/**
+	 * Plays {@code games} games on a pool of {@code threads} workers
+	 *
+	 * @param games
+	 * @param threads
+	 * @return the combined statistics
+	 */
+	public Results run(int games, int threads) {
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			long start = System.nanoTime();
+			Results results = pool.invoke(new GameTask(0, games));
+			results.elapsedNanos = System.nanoTime() - start;
+			return results;
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Plays one game and records it in {@code results}
+	 *
+	 * @param results
+	 * @param gameIndex which game of the tournament this is, picks its seed
+	 */
+	public void playOne(Results results, int gameIndex) {
+		Board game = new Board(template, true, gameSeed(gameIndex));
+		List<Player> players = game.getPlayers();
+		for (int seat = 0; seat < players.size(); seat++) {
+			((ComputerPlayer) players.get(seat)).setSuggestionStrategy(strategies[seat % strategies.length]);
+		}
+		game.deal();
+
+		int turns = game.playGame(maxTurns);
+		results.games++;
+		if (!game.isGameOver()) {
+			results.unfinished++;
+			return;
+		}
+
+		Player winner = game.getWinner();
+		if (winner == null) {
+			// the game only ends early on an accusation, so this one was wrong
+			results.wrongAccusations++;
+		} else {
+			results.wins[game.getPlayers().indexOf(winner)]++;
+			results.turnsToSolve[Math.min(turns, maxTurns)]++;
+		}
+	}
+
+	/**
+	 * @param gameIndex
+	 * @return seed of game {@code gameIndex} of this tournament
+	 */
+	public long gameSeed(int gameIndex) {
+		// spread the indices out, SplittableRandom mixes the rest
+		return seed + gameIndex * 0x9E3779B97F4A7C15L;
+	}
+
+	/**
+	 * Splits a range of games in half until it is small enough to play
+	 */
+	private class GameTask extends RecursiveTask<Results> {
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+
+		GameTask(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Results compute() {
+			if (to - from <= GAMES_PER_TASK) {
+				Results results = new Results(template.getSeats(), maxTurns);
+				for (int i = from; i < to; i++) {
+					playOne(results, i);
+				}
+				return results;
+			}
+
+			int mid = (from + to) >>> 1;
+			GameTask left = new GameTask(from, mid);
+			left.fork();
+			Results right = new GameTask(mid, to).compute();
+			return left.join().merge(right);
+		}
+	}
+
+	/**
+	 * Statistics of a set of games
+	 */
+	public static final class Results {
+		private final List<BoardTemplate.Seat> seats;
+		private final long[] wins;
+		// turnsToSolve[t] counts games won on turn t
+		private final long[] turnsToSolve;
+		private long games;
+		private long wrongAccusations;
+		private long unfinished;
+		private long elapsedNanos;
+
+		public Results(List<BoardTemplate.Seat> seats, int maxTurns) {
+			this.seats = seats;
+			this.wins = new long[seats.size()];
+			this.turnsToSolve = new long[maxTurns + 1];
+		}
+
+		/**
+		 * Adds {@code other}'s counts into these results
+		 *
+		 * @param other
+		 * @return this
+		 */
+		public Results merge(Results other) {
+			games += other.games;
+			wrongAccusations += other.wrongAccusations;
+			unfinished += other.unfinished;
+			for (int i = 0; i < wins.length; i++) {
+				wins[i] += other.wins[i];
+			}
+			for (int i = 0; i < turnsToSolve.length; i++) {
+				turnsToSolve[i] += other.turnsToSolve[i];
+			}
+			return this;
+		}
+
+		public long getGames() {
+			return games;
+		}
+
+		public long getWins(int seat) {
+			return wins[seat];
+		}
+
+		public long getSolved() {
+			long solved = 0;
+			for (long seatWins : wins) {
+				solved += seatWins;
+			}
+			return solved;
+		}
+
+		public long getWrongAccusations() {
+			return wrongAccusations;
+		}
+
+		public long getUnfinished() {
+			return unfinished;
+		}
+
+		public double getWinRate(int seat) {
+			return games == 0 ? 0 : (double) wins[seat] / games;
+		}
+
+		/**
+		 * @return wrong accusations per accusation made
+		 */
+		public double getWrongAccusationRate() {
+			long accusations = getSolved() + wrongAccusations;
+			return accusations == 0 ? 0 : (double) wrongAccusations / accusations;
+		}
+
+		public double getGamesPerSecond() {
+			return elapsedNanos == 0 ? 0 : games / (elapsedNanos / 1e9);
+		}
+
+		/**
+		 * @param fraction between 0 and 1
+		 * @return turn count at that fraction of the solved games, or -1 if
+		 *         nothing was solved
+		 */
+		public int getTurnsPercentile(double fraction) {
+			long solved = getSolved();
+			if (solved == 0) {
+				return -1;
+			}
+			long rank = Math.max(1, (long) Math.ceil(fraction * solved));
+			long seen = 0;
+			for (int turns = 0; turns < turnsToSolve.length; turns++) {
+				seen += turnsToSolve[turns];
+				if (seen >= rank) {
+					return turns;
+				}
+			}
+			return turnsToSolve.length - 1;
+		}
+
+		public double getMeanTurns() {
+			long solved = getSolved();
+			long total = 0;
+			for (int turns = 0; turns < turnsToSolve.length; turns++) {
+				total += turns * turnsToSolve[turns];
+			}
+			return solved == 0 ? 0 : (double) total / solved;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder report = new StringBuilder();
+			report.append(String.format("Games: %d in %.2fs (%.1f games/s)%n", games, elapsedNanos / 1e9,
+					getGamesPerSecond()));
+			report.append("Win rate per seat:\n");
+			for (int i = 0; i < wins.length; i++) {
+				report.append(String.format("\t%-26s %6.2f%%%n", seats.get(i).getName(), 100 * getWinRate(i)));
+			}
+			report.append(String.format("Wrong accusation rate: %.2f%%%n", 100 * getWrongAccusationRate()));
+			report.append(String.format("Unfinished games: %d%n", unfinished));
+			report.append(String.format("Turns to solve: mean %.1f, p10 %d, p50 %d, p90 %d, p99 %d%n", getMeanTurns(),
+					getTurnsPercentile(0.10), getTurnsPercentile(0.50), getTurnsPercentile(0.90),
+					getTurnsPercentile(0.99)));
+			return report.toString();
+		}
+	}
+
+	public static void main(String[] args) throws BadConfigFormatException, FileNotFoundException {
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		int maxTurns = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_TURNS;
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+		String layout = args.length > 4 ? args[4] : "ClueLayout.csv";
+		String setup = args.length > 5 ? args[5] : "ClueSetup.txt";
+		String[] names = (args.length > 6 ? args[6] : SuggestionStrategy.RANDOM.name()).split(",");
+		SuggestionStrategy[] strategies = new SuggestionStrategy[names.length];
+		for (int i = 0; i < names.length; i++) {
+			strategies[i] = SuggestionStrategy.valueOf(names[i].trim().toUpperCase());
+		}
+
+		BoardTemplate template = Board.loadTemplate(layout, setup);
+		Tournament tournament = new Tournament(template, maxTurns, seed, strategies);
+		System.out.println("Seed: " + seed);
+		System.out.println("Strategies: " + String.join(",", names));
+		System.out.print(tournament.run(games, threads));
+	}
+}
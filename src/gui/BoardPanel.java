@@ -2,9 +2,11 @@ package gui;
 
 import clueGame.Board;
 import clueGame.BoardCell;
-import clueGame.Card;
+import clueGame.GameListener;
+import clueGame.GameState;
+import clueGame.HumanPlayer;
 import clueGame.Room;
-import clueGame.Solution;
+import clueGame.RoomIndex;
 import clueGame.Player;
 
 import java.util.ArrayList;
@@ -18,7 +20,13 @@ import java.io.File;
 import java.io.IOException;
 import javax.imageio.ImageIO;
 import java.awt.Dimension;
+import java.awt.Font;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 
@@ -39,6 +47,7 @@ public class BoardPanel extends JPanel {
 	private static final long serialVersionUID = 5L;
 
 	private Board board;
+	private transient TurnScheduler scheduler;
 	private GameControlPanel gameControlPanel;
 	
 	private BoardCell selected;
@@ -48,10 +57,17 @@ public class BoardPanel extends JPanel {
 	private static String IMAGE_PATH = "data/clue_board.png";
 
 	private BufferedImage boardBackground;
-
-	public BoardPanel(Board board, GameControlPanel gameControlPanel) {
-		this.board = board;
-		board.setPanel(this);
+	// background, cells, doors and labels at the current size
+	private transient BufferedImage staticLayer;
+	// cells right and below a pawn that a stack of pawns can cover
+	private static final int PAWN_STACK_MARGIN = 2;
+
+	public BoardPanel(TurnScheduler scheduler, GameControlPanel gameControlPanel) {
+		this.board = scheduler.getBoard();
+		this.scheduler = scheduler;
+		BoardListener listener = new BoardListener();
+		scheduler.addListener(listener);
+		scheduler.addFrameListener(listener);
 		
 		this.gameControlPanel = gameControlPanel;
 		
@@ -77,7 +93,7 @@ public class BoardPanel extends JPanel {
 //		int width = 1000 - 225; // width of GameControlPanel - width of KnownCardsGUI
 //		int height = 600; // width of KnownCardsGUI
 
-		BoardPanel testPanel = new BoardPanel(board, null);
+		BoardPanel testPanel = new BoardPanel(TurnScheduler.create(board), null);
 		JFrame frame = new JFrame();
 		frame.setContentPane(testPanel);
 		frame.pack();
@@ -86,12 +102,68 @@ public class BoardPanel extends JPanel {
 	}
 
 	/**
-	 * 
+	 * Blits the cached static layer, then draws the highlights and players on
+	 * top. Only the clipped (dirty) part of the panel is actually redrawn
 	 */
 	@Override
 	public void paintComponent(Graphics g){
 		super.paintComponent(g);
 
+		g.drawImage(getStaticLayer((Graphics2D) g), 0, 0, getWidth(), getHeight(), this);
+
+		Rectangle clip = g.getClipBounds();
+
+		// if listening flag is set, highlight all target cells, a room center
+		// lights up its whole room since a click anywhere in it picks the center
+		if (doListening) {
+			RoomIndex rooms = board.getRoomIndex();
+			for (BoardCell cell : scheduler.getShownState().getTargets()) {
+				if (clip != null && !clip.intersects(targetBounds(cell))) {
+					continue;
+				}
+				if (!cell.isRoomCenter()) {
+					cell.highlight(g, cellWidth, cellHeight);
+					continue;
+				}
+				for (BoardCell roomCell : rooms.getCells(cell.getRoomInitial())) {
+					roomCell.highlight(g, cellWidth, cellHeight);
+				}
+			}
+		}
+
+		drawPlayers(g);
+	}
+
+	/**
+	 * Background, cells, doors and room labels never change during a game, so
+	 * they are rasterized once per panel size (and screen scale) and reused
+	 * 
+	 * @param g panel graphics, its transform gives the screen scale
+	 * @return the static layer for the current size
+	 */
+	private BufferedImage getStaticLayer(Graphics2D g) {
+		AffineTransform transform = g.getTransform();
+		double scaleX = transform.getScaleX();
+		double scaleY = transform.getScaleY();
+		int width = Math.max(1, (int) Math.ceil(getWidth() * scaleX));
+		int height = Math.max(1, (int) Math.ceil(getHeight() * scaleY));
+
+		if (staticLayer != null && staticLayer.getWidth() == width && staticLayer.getHeight() == height) {
+			return staticLayer;
+		}
+
+		staticLayer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D layer = staticLayer.createGraphics();
+		// draw in panel coordinates at device resolution, so 4K screens stay sharp
+		layer.scale(scaleX, scaleY);
+		layer.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		layer.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		drawStaticLayer(layer);
+		layer.dispose();
+		return staticLayer;
+	}
+
+	private void drawStaticLayer(Graphics g) {
 		// get number of rows and columns in board
 		int numRows = board.getNumRows();
 		int numCols = board.getNumColumns();
@@ -100,7 +172,7 @@ public class BoardPanel extends JPanel {
 		int boardPixelH = cellHeight * numRows;
 
 		if (boardBackground != null) {
-			g.drawImage(boardBackground, 0, 0, boardPixelW, boardPixelH, this);
+			g.drawImage(boardBackground, 0, 0, boardPixelW, boardPixelH, null);
 		}
 
 		boolean hasBackground = (boardBackground != null);
@@ -123,51 +195,81 @@ public class BoardPanel extends JPanel {
 			cell.drawDoor(g, cellWidth, cellHeight);
 		}
 
-		// draw room labels
+		// draw room labels, in one font for this panel's cell size
+		Font labelFont = Room.labelFont(cellHeight);
 		Collection<Room> rooms = board.getRooms();
 		for (Room room : rooms) {
-			room.draw(g, cellWidth, cellHeight);
+			room.draw(g, cellWidth, cellHeight, labelFont);
 		}
+	}
 
-		// draw players
-		Collection<Player> players = board.getPlayers();
-		Map<String, java.util.List<Player>> byCell = new HashMap<>();
+	private void drawPlayers(Graphics g) {
+		// draw players where the shown state has them, the worker may
+		// already have moved them further
+		GameState state = scheduler.getShownState();
+		List<Player> players = state.getPlayers();
+		Map<Point, List<Integer>> byCell = new HashMap<>();
 
-		for (Player p : players) {
-			String key = p.getRow() + "," + p.getCol();
-			byCell.computeIfAbsent(key, k -> new ArrayList<>()).add(p);
+		for (int i = 0; i < players.size(); i++) {
+			Point key = new Point(state.getCol(i), state.getRow(i));
+			byCell.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
 		}
-		// draw stacked players
-		for (List<Player> stack : byCell.values()) {
-			int n = stack.size();
-			if (n == 1) {
-				stack.get(0).draw(g, cellWidth, cellHeight);
-				continue;
-			}
-			// compute token size for consistent offset
-			int pawnDiameter = Math.min(cellWidth, cellHeight) - (Math.min(cellWidth, cellHeight) / 10) * 2;
-			int offsetStep = pawnDiameter / 3;
+		// compute token size for consistent offset
+		int pawnDiameter = Math.min(cellWidth, cellHeight) - (Math.min(cellWidth, cellHeight) / 10) * 2;
+		int offsetStep = pawnDiameter / 3;
 
-			for (int i = 0; i < n; i++) {
+		// draw stacked players
+		for (Map.Entry<Point, List<Integer>> stack : byCell.entrySet()) {
+			Point cell = stack.getKey();
+			List<Integer> seats = stack.getValue();
+			for (int i = 0; i < seats.size(); i++) {
 				int offset = i * offsetStep;
-				Player p = stack.get(i);
 				// pushes each player down-right diagonally
-				p.draw(g, cellWidth, cellHeight, offset, offset);
+				players.get(seats.get(i)).draw(g, cell.y, cell.x, cellWidth, cellHeight, offset, offset);
 			}
 		}
+	}
 
-		// if listening flag is set, highlight all target cells
-		if (doListening) {
-			for (BoardCell cell : board.getTargets()) {
-				cell.highlight(g, cellWidth, cellHeight);
-			}
+	/**
+	 * @param margin extra cells on the bottom and right, for stacked pawns
+	 * @return pixel bounds of a cell
+	 */
+	private Rectangle cellBounds(int row, int col, int margin) {
+		return new Rectangle(col * cellWidth, row * cellHeight, (1 + margin) * cellWidth + 1,
+				(1 + margin) * cellHeight + 1);
+	}
+
+	/**
+	 * Repaints one cell and the room stacked pawns may spill into
+	 */
+	private void repaintCell(int row, int col) {
+		repaint(cellBounds(row, col, PAWN_STACK_MARGIN));
+	}
+
+	/**
+	 * @return pixel bounds of a target's highlight, the whole room for a room
+	 *         center
+	 */
+	private Rectangle targetBounds(BoardCell target) {
+		if (!target.isRoomCenter()) {
+			return cellBounds(target.getRow(), target.getColumn(), 0);
+		}
+		Rectangle room = board.getRoomIndex().getBounds(target.getRoomInitial());
+		return new Rectangle(room.x * cellWidth, room.y * cellHeight, room.width * cellWidth + 1,
+				room.height * cellHeight + 1);
+	}
+
+	private void repaintTargets() {
+		Set<BoardCell> targets = scheduler.getShownState().getTargets();
+		for (BoardCell cell : targets) {
+			repaint(targetBounds(cell));
 		}
 	}
 
 	public void handleHumanPlayerTurn(boolean newVal) {
 		// highlight player targets and wait for selection
 		this.doListening = newVal;
-		updateUI();
+		repaintTargets();
 	}
 
 	public boolean isListening() {
@@ -187,24 +289,16 @@ public class BoardPanel extends JPanel {
 			}
 
 			BoardCell clickedOn = getCellOn(e.getX(), e.getY());
-			Player player = board.getCurrentPlayer();
 			
-			//don't move a player if they are accusing
-			if (board.getTargets().contains(clickedOn) && player.willAccuse() == false) {
-				
+			// end the move selection phase first, the board may open a suggestion dialog
+			repaintTargets();
+			doListening = false; 
+			//the board refuses targets that aren't valid and players who are accusing
+			if (board.finishHumanMove(clickedOn)) {
 				selected = clickedOn;
-
-				// move the player and end the move selection phase
-				doListening = false; 
-				board.movePlayerTo(player, clickedOn);
-				
-				
-				if( clickedOn.isRoomCenter() ) {
-					board.doPlayerDecision(player);
-				}
-				
-				updateUI();
 			} else {
+				doListening = board.isAwaitingHumanMove();
+
 				/* DEBUG
 				System.out.println("fail: " + clickedOn.getRow()+ ", " + clickedOn.getColumn()
 						+ "\nClicked: " + e.getX() + ", " + e.getY()
@@ -227,9 +321,42 @@ public class BoardPanel extends JPanel {
 		public void mouseExited(MouseEvent e) {}
 	}
 	
+	private class BoardListener implements GameListener, TurnScheduler.FrameListener {
+
+		@Override
+		public void humanMoveRequested(HumanPlayer player, Set<BoardCell> targets) {
+			handleHumanPlayerTurn(true);
+		}
+
+		@Override
+		public void frameChanged(GameState previous, GameState current) {
+			if (previous.getPlayers().size() != current.getPlayers().size()) {
+				repaint();
+				return;
+			}
+			// repaint where each moved pawn was and where it is now
+			for (int i = 0; i < current.getPlayers().size(); i++) {
+				if (previous.getRow(i) != current.getRow(i) || previous.getCol(i) != current.getCol(i)) {
+					repaintCell(previous.getRow(i), previous.getCol(i));
+					repaintCell(current.getRow(i), current.getCol(i));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @return the cell under a click, or the room's center for a click
+	 *         anywhere inside a room
+	 */
 	private BoardCell getCellOn(int x, int y) {
 		calculateCellSize();
-		return board.getCell(y / cellHeight, x / cellWidth);
+		int row = y / cellHeight;
+		int col = x / cellWidth;
+		Room room = board.getRoomIndex().roomAt(row, col);
+		if (room != null && room.getCenterCell() != null) {
+			return room.getCenterCell();
+		}
+		return board.getCell(row, col);
 	}
 
 	private void calculateCellSize() {
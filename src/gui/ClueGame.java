@@ -10,9 +10,12 @@ import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 
 import clueGame.Board;
+import clueGame.BoardCell;
 import clueGame.Card;
+import clueGame.GameListener;
 import clueGame.HumanPlayer;
 import clueGame.Player;
+import clueGame.Solution;
 
 public class ClueGame extends JFrame {
 	//tests
@@ -24,6 +27,7 @@ public class ClueGame extends JFrame {
 	private static final long serialVersionUID = 1L;
 
 	private Board board;
+	private transient TurnScheduler scheduler;
 	private BoardPanel boardPanel;
 	private GameControlPanel controlPanel;
 	private KnownCardsGUI knownCardsPanel;
@@ -46,17 +50,32 @@ public class ClueGame extends JFrame {
 		// initialize board
 		board = Board.getInstance();
 		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.setAllComputer(TEST_SET_ALL_PLAYER_COMPUTER);
 		board.initialize();
 		board.deal();
 
 		HumanPlayer human = board.getHumanPlayer();
 
+		// computer turns are played off the EDT, the panels hear about them from the scheduler
+		scheduler = TurnScheduler.create(board);
+
 		// create panels
-		controlPanel = new GameControlPanel(board);
+		controlPanel = new GameControlPanel(scheduler);
 		controlPanel.setGuess("Make a Move!");
-		boardPanel = new BoardPanel(board, controlPanel);
+		boardPanel = new BoardPanel(scheduler, controlPanel);
 		knownCardsPanel = new KnownCardsGUI(human.getHand(), human.getSeenCards());
-		human.setInfoPanel(knownCardsPanel);
+		knownCardsPanel.setSolutionsLeft(human.getSolutionSpace().size());
+		human.setInput(new DialogHumanInput(boardPanel));
+		scheduler.addListener(new GameListener() {
+			@Override
+			public void cardSeen(Player player, Card card) {
+				// the human only learns cards from their own suggestions
+				if (player == human) {
+					knownCardsPanel.cardSeen(card);
+					knownCardsPanel.setSolutionsLeft(human.getSolutionSpace().size());
+				}
+			}
+		});
 
 		// add panels to frame
 		add(boardPanel, BorderLayout.CENTER);
@@ -78,9 +97,7 @@ public class ClueGame extends JFrame {
 		runTests();
 
 		// start the first turn
-		controlPanel.setTurn(board.getCurrentPlayer(), board.getRoll());
-		board.doFirstMove();
-		board.startTurn();
+		scheduler.startGame();
 
 	}
 
@@ -91,6 +108,34 @@ public class ClueGame extends JFrame {
 
 	}
 
+	/**
+	 * Prints every suggestion to the console for TEST_SUGGESTION
+	 */
+	private static class SuggestionPrinter implements GameListener {
+
+		@Override
+		public void suggestionHandled(Player suggester, Solution suggestion, Card result) {
+			if(result != null) {
+				System.out.println("Suggestion: " + suggestion
+						+ "\nMade by : " + suggester.getName()
+						+ "\nDisproven by: " + result.getPlayerHoldingThis().getName()
+						+ "\nWith the card: " + result);
+			}else {
+				System.out.println("Suggestion: " + suggestion
+						+ "\nMade by : " + suggester.getName()
+						+ "\n not disproven");
+			}
+			System.out.println();
+		}
+
+		@Override
+		public void playerMoved(Player player, BoardCell target) {
+			if(!target.isRoomCenter()) {
+				System.out.println(player.getName() + " has not reached a room");
+			}
+		}
+	}
+
 	private void runTests() {
 		ArrayList<String> tests = new ArrayList<>();
 		tests.add("The following Tests are active: ");
@@ -120,6 +165,7 @@ public class ClueGame extends JFrame {
 			for( Player player : board.getPlayers()) {
 				System.out.println("\t" + player.getName());
 			}
+			board.addGameListener(new SuggestionPrinter());
 		}
 		
 		if(TEST_COMPUTER_SOLUTION_METHOD) {
@@ -0,0 +1,65 @@
+package gui;
+
+import java.awt.Component;
+
+import javax.swing.JOptionPane;
+
+import clueGame.Card;
+import clueGame.GameContext;
+import clueGame.HumanInput;
+import clueGame.HumanPlayer;
+import clueGame.Solution;
+
+/**
+ * DialogHumanInput Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ * Asks the human for suggestions and accusations with a GuessDialog.
+ */
+public class DialogHumanInput implements HumanInput {
+	private Component locationComponent;
+
+	/**
+	 * @param locationComponent component the dialogs are centered on
+	 */
+	public DialogHumanInput(Component locationComponent) {
+		this.locationComponent = locationComponent;
+	}
+
+	@Override
+	public Solution chooseSuggestion(HumanPlayer player, Card currentRoom) {
+		//Create Dialog
+		GameContext context = player.getContext();
+		GuessDialog suggestionDialog = new GuessDialog(null, currentRoom, context.getRooms(),
+				context.getPeople(), context.getWeapons(), false);
+		suggestionDialog.setLocationRelativeTo(locationComponent);
+		suggestionDialog.setVisible(true);
+
+		if(suggestionDialog.wasSubmitted()) {
+			return suggestionDialog.getSolution();
+
+		}else {
+			JOptionPane.showMessageDialog(null, "ERROR: Please make a suggestion",
+					"Suggestion Error", JOptionPane.ERROR_MESSAGE);
+			return chooseSuggestion(player, currentRoom);
+		}
+	}
+
+	@Override
+	public Solution chooseAccusation(HumanPlayer player) {
+		//Create Dialog
+		GameContext context = player.getContext();
+		GuessDialog accusationDialog = new GuessDialog(null, null, context.getRooms(),
+				context.getPeople(), context.getWeapons(), true);
+		accusationDialog.setLocationRelativeTo(null);
+		accusationDialog.setVisible(true);
+
+		if(accusationDialog.wasSubmitted()) {
+			return accusationDialog.getSolution();
+		}
+		return null;
+	}
+
+}
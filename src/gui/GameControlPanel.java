@@ -19,8 +19,11 @@ import javax.swing.JTextField;
 
 import clueGame.Board;
 import clueGame.ComputerPlayer;
+import clueGame.GameListener;
+import clueGame.GameState;
 import clueGame.Player;
 import clueGame.HumanPlayer;
+import clueGame.Solution;
 
 
 /**
@@ -43,12 +46,16 @@ public class GameControlPanel extends JPanel {
 	private NextButtonListener nextListener;
 	
 	private Board board;
+	private transient TurnScheduler scheduler;
 
 
-	public GameControlPanel(Board board) {
-		this.board = board;
-		if(board != null) {
-			board.setGamePanel(this);
+	public GameControlPanel(TurnScheduler scheduler) {
+		this.scheduler = scheduler;
+		if(scheduler != null) {
+			this.board = scheduler.getBoard();
+			ControlListener listener = new ControlListener();
+			scheduler.addListener(listener);
+			scheduler.addFrameListener(listener);
 		}
 		
 		this.accussationListener = new AccuseButtonListener();
@@ -156,11 +163,12 @@ public class GameControlPanel extends JPanel {
 			if(board == null) {
 				System.out.println("Accuse Button Clicked");
 			} else {
-				Player player = board.getCurrentPlayer();
+				// the current player can't be read while computer turns are played
+				Player player = scheduler.isBusy() ? null : board.getCurrentPlayer();
 				if (player instanceof HumanPlayer) {
 					HumanPlayer hPlayer = (HumanPlayer) player;
 					hPlayer.startAccusing();
-					hPlayer.makeAccusation();
+					board.doAccuse();
 				} else {
 					JOptionPane.showMessageDialog(null, "ERROR: cannot accuse on someone else's turn", 
 							"Accuse Error", JOptionPane.ERROR_MESSAGE);
@@ -182,24 +190,47 @@ public class GameControlPanel extends JPanel {
 					turnsPerClick = 50;
 				}
 				
-				for(int i = 0; i < turnsPerClick; i++) {
-					//board.nextPlayer() increments players when it is appropriate and returns false when it isn't
-					if (board.nextPlayer()) {
-						Player player = board.getCurrentPlayer();
-
-						setTurn(player, board.getRoll());
-
-						board.startTurn();
-						
-					} else {
-						JOptionPane.showMessageDialog(null, "ERROR: cannot proceed at this time", 
-								"Next Turn Error", JOptionPane.ERROR_MESSAGE);
-					}
+				// the turns are played on the scheduler's worker, it stops at the human's turn
+				if (!scheduler.playTurns(turnsPerClick)) {
+					JOptionPane.showMessageDialog(null, "ERROR: cannot proceed at this time", 
+							"Next Turn Error", JOptionPane.ERROR_MESSAGE);
 				}
 			}
 		}
 	}
 
+	private class ControlListener implements GameListener, TurnScheduler.FrameListener {
+
+		@Override
+		public void frameChanged(GameState previous, GameState current) {
+			// text fields repaint themselves when their text changes
+			if (current.getCurrentPlayer() != null) {
+				setTurn(current.getCurrentPlayer(), current.getRoll());
+			}
+			setGuess(current.getGuessText());
+			setGuessResult(current.getGuessResultText());
+		}
+
+		@Override
+		public void accusationMade(Player accuser, Solution accusation, boolean correct) {
+			String message = null;
+			String playerName = accuser.getName();
+			if(accuser instanceof HumanPlayer) {
+				playerName = "you";
+			}
+
+			if(correct) {
+				message = "Congratulations!!! " + playerName + " has won the game!"
+						+"\nit was: " + board.getSolution();
+			}else {
+				message = "Dratz! " + playerName + " looks like you got it wrong." 
+						+ "\nthe real solution was:\n" + board.getSolution();
+			}
+			message += "\nThanks for playing! Please close this window.";
+			JOptionPane.showMessageDialog(GameControlPanel.this, message, "GAME OVER!", JOptionPane.INFORMATION_MESSAGE);
+		}
+	}
+
 	public void setTurn(Player player, int numRolled) {
 		playerTurn.setText(player.getName());
 		playerTurn.setBackground(ClueGUIUtil.darken(player.getColor(), 0.65));
@@ -1,7 +1,12 @@
 package gui;
 
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import java.awt.Color;
@@ -11,12 +16,9 @@ import javax.swing.JPanel;
 import javax.swing.JTextField;
 import javax.swing.border.TitledBorder;
 
-import clueGame.Board;
 import clueGame.Card;
 import clueGame.CardType;
 import clueGame.ComputerPlayer;
-import clueGame.HumanPlayer;
-import clueGame.Player;
 
 import javax.swing.Box;
 import javax.swing.BoxLayout;
@@ -33,6 +35,10 @@ public class KnownCardsGUI extends JPanel {
 	private CardInfoPanel peoplePanel;
 	private CardInfoPanel roomPanel;
 	private CardInfoPanel weaponPanel;
+	// how many solutions the cards shown still allow
+	private JLabel solutionsLeft;
+	// text fields of cards that left a panel, shared by all three panels
+	private transient Deque<JTextField> fieldPool = new ArrayDeque<>();
 
 	public KnownCardsGUI(Set<Card> hand, Set<Card> seenCards) {
 		super();
@@ -48,6 +54,10 @@ public class KnownCardsGUI extends JPanel {
 		this.add(roomPanel);
 		this.add(weaponPanel);
 
+		this.solutionsLeft = ClueGUIUtil.createDefaultLabel(" ");
+		this.solutionsLeft.setAlignmentX(CENTER_ALIGNMENT);
+		this.add(solutionsLeft);
+
 		this.setPreferredSize(new Dimension(WIDTH, HEIGHT));
 		this.setMaximumSize(this.getSize());
 
@@ -66,45 +76,41 @@ public class KnownCardsGUI extends JPanel {
 		this(new HashSet<Card>(), new HashSet<Card>());
 	}
 
-	private static Set<Card> getHumanHand() {
-		Board board = Board.getInstance();
-		Player human = null;
-		for (Player p : board.getPlayers()) {
-			if (p instanceof HumanPlayer) {
-				human = p;
-				break;
-			}
-		}
-		if (human == null) {
-			return Collections.emptySet();
-		}
-		Set<Card> hand = human.getHand();
-		return (hand != null) ? hand : Collections.emptySet();
+	/**
+	 * Brings the panels up to date with the hand and seen sets, only cards
+	 * that were added or removed since the last update touch the layout
+	 */
+	public void updatePanels() {
+		this.peoplePanel.sync();
+		this.weaponPanel.sync();
+		this.roomPanel.sync();
 	}
 
-
-	private static Set<Card> getHumanSeen() {
-		Board board = Board.getInstance();
-		Player human = null;
-		for (Player p : board.getPlayers()) {
-			if (p instanceof HumanPlayer) {
-				human = p;
-				break;
-			}
-		}
-		if (human == null) {
-			return Collections.emptySet();
-		}
-		Set<Card> seen = human.getSeenCards();
-		return (seen != null) ? seen : Collections.emptySet();
+	/**
+	 * Shows one newly seen card without looking at any other card
+	 *
+	 * @param card
+	 */
+	public void cardSeen(Card card) {
+		panelFor(card.getType()).addCard(card, false);
 	}
 
+	/**
+	 * @param count number of solutions the known cards leave open
+	 */
+	public void setSolutionsLeft(int count) {
+		solutionsLeft.setText(count == 1 ? "1 solution left" : count + " solutions left");
+	}
 
-	public void updatePanels() {
-		this.peoplePanel.drawPanel();
-		this.weaponPanel.drawPanel();
-		this.roomPanel.drawPanel();
-		this.revalidate();
+	private CardInfoPanel panelFor(CardType type) {
+		switch (type) {
+		case PERSON:
+			return peoplePanel;
+		case ROOM:
+			return roomPanel;
+		default:
+			return weaponPanel;
+		}
 	}
 
 	public static void main(String []args) {
@@ -160,6 +166,12 @@ public class KnownCardsGUI extends JPanel {
 		private CardType panelType;
 		private JLabel inHand;
 		private JLabel seen;
+		// shown in a section while it has no cards
+		private JTextField noHandField;
+		private JTextField noSeenField;
+		// field showing each card, in the order they were added
+		private transient Map<Card, JTextField> handFields;
+		private transient Map<Card, JTextField> seenFields;
 
 
 		CardInfoPanel(String display, CardType panelType, Set<Card> hand, Set<Card> seenCards){
@@ -170,6 +182,8 @@ public class KnownCardsGUI extends JPanel {
 			this.hand = Collections.unmodifiableSet(hand);
 			this.seenCards = Collections.unmodifiableSet(seenCards);
 			this.panelType = panelType;
+			this.handFields = new LinkedHashMap<>();
+			this.seenFields = new LinkedHashMap<>();
 
 			this.setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
 			this.setName(display);
@@ -177,8 +191,13 @@ public class KnownCardsGUI extends JPanel {
 			// create labels
 			this.inHand = createLabel(HAND_TEXT);
 			this.seen = createLabel(SEEN_TEXT);
+			this.noHandField = createTextField("None");
+			this.noSeenField = createTextField("None");
 
-			this.drawPanel();
+			// the sections are built once, cards are inserted into them after
+			this.buildSection(inHand, noHandField);
+			this.buildSection(seen, noSeenField);
+			this.sync();
 
 			// configure the panel
 			this.setMaximumSize(MAX_DIM);
@@ -187,60 +206,95 @@ public class KnownCardsGUI extends JPanel {
 			this.setBackground(ClueGUIUtil.DEFAULT_BACKGROUND_COLOR);
 		}
 
+		/**
+		 * Adds the cards of this panel's type that are new in the hand or seen
+		 * set and drops the ones that left
+		 */
+		public void sync() {
+			boolean changed = dropMissing(handFields, hand) | dropMissing(seenFields, seenCards);
 
-		public void drawPanel() {
-			// remove previous elements
-			this.removeAll();
-
-			// create text fields for hand data
-			Set<JTextField> handFields = new HashSet<>();
 			for (Card card : hand) {
 				if (card.getType() == panelType) {
-					JTextField field = createTextField(card.getCardName());
-					// hand cards should never have a non-default color
-					handFields.add(field);
+					changed |= insert(card, true);
 				}
 			}
-
-			// create text fields for seen data
-			Set<JTextField> seenFields = new HashSet<>();
 			for (Card card : seenCards) {
 				// skip cards in the hand
-				if (this.hand.contains(card)) {
-					continue;
+				if (card.getType() == panelType && !this.hand.contains(card)) {
+					changed |= insert(card, false);
 				}
+			}
 
-				if (card.getType() == panelType) {
-					JTextField field = createTextField(card.getCardName());
-					// retrieve color data and set textField to match
-					if (card.getPlayerHoldingThis() != null) {
-						Color playerColor = card.getPlayerHoldingThis().getColor();
-						field.setBackground(ClueGUIUtil.darken(playerColor, 0.65));
-					}
-					seenFields.add(field);
-				}
+			if (changed) {
+				this.relayout();
 			}
+		}
 
-			// add elements
-			this.buildSection(inHand, handFields);
-			this.buildSection(seen, seenFields);
+		/**
+		 * @param card     card of this panel's type
+		 * @param handCard true if it goes under "In Hand"
+		 */
+		public void addCard(Card card, boolean handCard) {
+			if (insert(card, handCard)) {
+				this.relayout();
+			}
+		}
 
+		/**
+		 * Puts a pooled field for {@code card} at the end of its section
+		 *
+		 * @return false if the card is already shown
+		 */
+		private boolean insert(Card card, boolean handCard) {
+			if (handFields.containsKey(card) || seenFields.containsKey(card)) {
+				return false;
+			}
+
+			JTextField field = takeField(card.getCardName());
+			if (!handCard && card.getPlayerHoldingThis() != null) {
+				// retrieve color data and set textField to match
+				Color playerColor = card.getPlayerHoldingThis().getColor();
+				field.setBackground(ClueGUIUtil.darken(playerColor, 0.65));
+			}
+
+			JTextField noneField = handCard ? noHandField : noSeenField;
+			(handCard ? handFields : seenFields).put(card, field);
+			// each section ends with its "None" field, new cards go right above it
+			this.add(field, this.getComponentZOrder(noneField));
+			noneField.setVisible(false);
+			return true;
 		}
 
-		private void buildSection(JLabel sectionLabel, Set<JTextField> fields) {
+		private boolean dropMissing(Map<Card, JTextField> fields, Set<Card> cards) {
+			boolean changed = false;
+			Iterator<Map.Entry<Card, JTextField>> entries = fields.entrySet().iterator();
+			while (entries.hasNext()) {
+				Map.Entry<Card, JTextField> entry = entries.next();
+				if (!cards.contains(entry.getKey())) {
+					this.remove(entry.getValue());
+					fieldPool.push(entry.getValue());
+					entries.remove();
+					changed = true;
+				}
+			}
+			noHandField.setVisible(handFields.isEmpty());
+			noSeenField.setVisible(seenFields.isEmpty());
+			return changed;
+		}
+
+		// only this panel is laid out again, the other two keep their layout
+		private void relayout() {
+			this.revalidate();
+			this.repaint();
+		}
+
+		private void buildSection(JLabel sectionLabel, JTextField noneField) {
 			// add section label
 			this.add(Box.createVerticalStrut(STRUT_HEIGHT));
 			this.add(sectionLabel);
 			this.add(Box.createVerticalStrut(STRUT_HEIGHT));
-			// add corresponding fields
-			if (fields.isEmpty()) {
-				// if fields is empty add a "None Field" 
-				this.add(createTextField("None"));
-			} else {
-				for (JTextField field : fields) {
-					this.add(field);
-				}
-			}
+			// cards are inserted above this
+			this.add(noneField);
 		}
 
 		private static JLabel createLabel(String text) {
@@ -250,6 +304,19 @@ public class KnownCardsGUI extends JPanel {
 			return newLabel;
 		}
 
+		/**
+		 * @return a field from the pool, reset to the default colors
+		 */
+		private JTextField takeField(String text) {
+			JTextField field = fieldPool.poll();
+			if (field == null) {
+				return createTextField(text);
+			}
+			field.setText(text);
+			field.setBackground(ClueGUIUtil.DEFAULT_TEXTFIELD_BACKGROUND);
+			return field;
+		}
+
 		private static JTextField createTextField(String text) {
 			JTextField newField = ClueGUIUtil.createDefaultTextField(text);
 			newField.setMinimumSize(TEXT_FIELD_MIN_DIM);
@@ -0,0 +1,261 @@
+package gui;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.Card;
+import clueGame.GameListener;
+import clueGame.GameState;
+import clueGame.HumanPlayer;
+import clueGame.Player;
+import clueGame.Solution;
+
+/**
+ * TurnScheduler Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *         Plays computer turns on a worker thread so the Event Dispatch Thread
+ *         never waits on the game logic. After every turn step the Board
+ *         publishes an immutable GameState, the EDT picks up only the newest
+ *         one once per frame, so any number of turns costs at most one repaint
+ *         per frame. Events the GUI has to react to one by one (the human's
+ *         move, a card the human saw, an accusation) are passed on to the GUI
+ *         listeners on the EDT.
+ *
+ *         The worker stops as soon as it is the human's turn, and the human's
+ *         move, suggestion and accusation run on the EDT while it is idle, so
+ *         only one thread touches the Board at a time.
+ */
+public class TurnScheduler implements GameListener {
+	// about 60 frames per second
+	private static final int FRAME_MILLIS = 16;
+
+	private final Board board;
+	private final ExecutorService worker;
+	// listeners called on the EDT
+	private final List<GameListener> listeners = new CopyOnWriteArrayList<>();
+	private final List<FrameListener> frameListeners = new CopyOnWriteArrayList<>();
+	// newest state the EDT has not shown yet
+	private final AtomicReference<GameState> pending = new AtomicReference<>();
+	private final Timer frameTimer;
+	// last state handed to the frame listeners, only used on the EDT
+	private GameState shown;
+	private volatile boolean busy;
+
+	private TurnScheduler(Board board) {
+		this.board = board;
+		this.worker = Executors.newSingleThreadExecutor(task -> {
+			Thread thread = new Thread(task, "clue-turns");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.frameTimer = new Timer(FRAME_MILLIS, e -> nextFrame());
+		this.shown = board.getState();
+	}
+
+	/**
+	 * Makes a scheduler and registers it on the board, the listener is added
+	 * only once the scheduler is fully built
+	 *
+	 * @param board game whose turns it plays
+	 * @return the scheduler, listening to the board
+	 */
+	public static TurnScheduler create(Board board) {
+		TurnScheduler scheduler = new TurnScheduler(board);
+		board.addGameListener(scheduler);
+		return scheduler;
+	}
+
+	/**
+	 * Receives the states the EDT shows
+	 */
+	public interface FrameListener {
+		/**
+		 * Called on the EDT at most once per frame
+		 *
+		 * @param previous state shown before
+		 * @param current  state to show now
+		 */
+		void frameChanged(GameState previous, GameState current);
+	}
+
+	public void addListener(GameListener listener) {
+		listeners.add(listener);
+	}
+
+	public void addFrameListener(FrameListener listener) {
+		frameListeners.add(listener);
+	}
+
+	public Board getBoard() {
+		return board;
+	}
+
+	/**
+	 * @return the state on screen, only call on the EDT
+	 */
+	public GameState getShownState() {
+		return shown;
+	}
+
+	/**
+	 * @return true while the worker is playing turns, the board must not be
+	 *         touched from the EDT then
+	 */
+	public boolean isBusy() {
+		return busy;
+	}
+
+	/**
+	 * Plays the first turn on the worker
+	 */
+	public void startGame() {
+		busy = true;
+		worker.execute(() -> {
+			try {
+				board.doFirstMove();
+				board.startTurn();
+			} finally {
+				busy = false;
+			}
+		});
+	}
+
+	/**
+	 * Plays up to {@code turns} turns on the worker, stopping early when the
+	 * human has to move or the game is over. Call on the EDT
+	 *
+	 * @param turns
+	 * @return false if turns can not be played right now
+	 */
+	public boolean playTurns(int turns) {
+		if (busy || board.isAwaitingHumanMove() || board.isGameOver()) {
+			return false;
+		}
+
+		busy = true;
+		worker.execute(() -> {
+			try {
+				for (int i = 0; i < turns && board.nextPlayer(); i++) {
+					board.startTurn();
+				}
+			} finally {
+				busy = false;
+			}
+		});
+		return true;
+	}
+
+	/**
+	 * Stops the worker, turns in progress finish first
+	 */
+	public void shutdown() {
+		worker.shutdown();
+		frameTimer.stop();
+	}
+
+	private void publish() {
+		// the volatile read is the only hand-off between the two threads
+		if (pending.getAndSet(board.getState()) == null && !frameTimer.isRunning()) {
+			frameTimer.start();
+		}
+	}
+
+	private void nextFrame() {
+		if (!showPending()) {
+			frameTimer.stop();
+			// a state published while stopping would wait for the next turn
+			if (pending.get() != null) {
+				frameTimer.start();
+			}
+		}
+	}
+
+	/**
+	 * @return false if there was nothing new to show
+	 */
+	private boolean showPending() {
+		GameState next = pending.getAndSet(null);
+		if (next == null) {
+			return false;
+		}
+		if (next.getVersion() == shown.getVersion()) {
+			// several events of one step
+			return true;
+		}
+		GameState previous = shown;
+		shown = next;
+		for (FrameListener listener : frameListeners) {
+			listener.frameChanged(previous, next);
+		}
+		return true;
+	}
+
+	/**
+	 * Passes an event on to the listeners on the EDT, after the frame that
+	 * led up to it is shown
+	 */
+	private void post(Consumer<GameListener> event) {
+		Runnable deliver = () -> {
+			showPending();
+			for (GameListener listener : listeners) {
+				event.accept(listener);
+			}
+		};
+		if (SwingUtilities.isEventDispatchThread()) {
+			deliver.run();
+		} else {
+			SwingUtilities.invokeLater(deliver);
+		}
+	}
+
+	@Override
+	public void turnStarted(Player player, int roll) {
+		publish();
+	}
+
+	@Override
+	public void humanMoveRequested(HumanPlayer player, Set<BoardCell> targets) {
+		publish();
+		// targets are immutable, the next turn gets a new set
+		post(listener -> listener.humanMoveRequested(player, targets));
+	}
+
+	@Override
+	public void playerMoved(Player player, BoardCell target) {
+		publish();
+	}
+
+	@Override
+	public void cardSeen(Player player, Card card) {
+		post(listener -> listener.cardSeen(player, card));
+	}
+
+	@Override
+	public void decisionMade(Player player) {
+		publish();
+	}
+
+	@Override
+	public void accusationMade(Player accuser, Solution accusation, boolean correct) {
+		publish();
+		post(listener -> listener.accusationMade(accuser, accusation, correct));
+	}
+
+	@Override
+	public void boardChanged() {
+		publish();
+	}
+}
@@ -0,0 +1,104 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.AdjacencyGraph;
+import clueGame.Board;
+import clueGame.BoardCell;
+
+/**
+ * AdjacencyGraphTest Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *	Verifies the packed adjacency graph agrees with each cell's adjacency list view
+ */
+public class AdjacencyGraphTest {
+	private static Board board;
+	private static AdjacencyGraph graph;
+
+	@BeforeAll
+	public static void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+		graph = board.getAdjacencyGraph();
+	}
+
+	@Test
+	public void testCellIds() {
+		assertEquals(board.getNumRows() * board.getNumColumns(), graph.getNumCells());
+		BoardCell cell = board.getCell(10, 20);
+		assertEquals(10 * board.getNumColumns() + 20, cell.getId());
+		assertSame(cell, graph.getCell(graph.cellId(10, 20)));
+	}
+
+	@Test
+	public void testMatchesAdjList() {
+		// every cell's view must hold exactly the ids in its CSR row
+		for (int id = 0; id < graph.getNumCells(); id++) {
+			Set<BoardCell> adjList = graph.getCell(id).getAdjList();
+			assertEquals(graph.degree(id), adjList.size());
+			for (int k = graph.neighborStart(id); k < graph.neighborEnd(id); k++) {
+				assertTrue(adjList.contains(graph.getCell(graph.neighborAt(k))));
+			}
+		}
+	}
+
+	@Test
+	public void testDoorAndPassageEdges() {
+		// doorway (5, 8) points up into the Dungeon
+		int door = graph.cellId(5, 8);
+		int dungeon = board.getRoom('D').getCenterCell().getId();
+		assertTrue(graph.isAdjacent(door, dungeon));
+		assertTrue(graph.isAdjacent(dungeon, door));
+
+		// Observatory center has a secret passage to the Music Room
+		int observatory = graph.cellId(2, 24);
+		assertTrue(graph.isAdjacent(observatory, graph.cellId(21, 12)));
+
+		// plain room cells have no edges
+		assertEquals(0, graph.degree(graph.cellId(0, 0)));
+		assertFalse(graph.isAdjacent(graph.cellId(0, 0), graph.cellId(0, 1)));
+	}
+
+	@Test
+	public void testMergedBuildersMatch() {
+		// the parallel build collects row bands on separate builders, the packed graph must not care
+		BoardCell[] cells = new BoardCell[graph.getNumCells()];
+		for (int id = 0; id < cells.length; id++) {
+			cells[id] = graph.getCell(id);
+		}
+		AdjacencyGraph.Builder[] bands = new AdjacencyGraph.Builder[3];
+		for (int b = 0; b < bands.length; b++) {
+			bands[b] = new AdjacencyGraph.Builder(cells, graph.getNumColumns(), 0);
+		}
+		for (int id = 0; id < cells.length; id++) {
+			AdjacencyGraph.Builder band = bands[id * bands.length / cells.length];
+			for (int k = graph.neighborEnd(id) - 1; k >= graph.neighborStart(id); k--) {
+				band.addEdge(id, graph.neighborAt(k));
+				// a doorway and its room center both add the same edge
+				band.addEdge(id, graph.neighborAt(k));
+			}
+		}
+
+		// merged in the opposite order from the rows
+		AdjacencyGraph merged = bands[2].addAll(bands[1]).addAll(bands[0]).build();
+		assertEquals(graph.getNumEdges(), merged.getNumEdges());
+		for (int id = 0; id < cells.length; id++) {
+			assertEquals(graph.neighborStart(id), merged.neighborStart(id));
+		}
+		for (int k = 0; k < graph.getNumEdges(); k++) {
+			assertEquals(graph.neighborAt(k), merged.neighborAt(k));
+		}
+	}
+}
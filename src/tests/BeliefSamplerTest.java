@@ -0,0 +1,101 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.BeliefSampler;
+import clueGame.Board;
+import clueGame.BoardTemplate;
+import clueGame.Card;
+import clueGame.CardType;
+import clueGame.ComputerPlayer;
+import clueGame.KnowledgeMatrix;
+import clueGame.Player;
+
+/**
+ * BeliefSamplerTest Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *	Verifies that the sampled case file probabilities agree with what a player knows, sum to one per card type, and
+ *	that a cancelled run stops early
+ */
+public class BeliefSamplerTest {
+	private static final long BUDGET = 200_000_000L;
+	private static BoardTemplate template;
+
+	@BeforeAll
+	public static void setUp() throws Exception {
+		template = Board.loadTemplate("ClueLayout.csv", "ClueSetup.txt");
+	}
+
+	@Test
+	public void testOwnHandOnly() {
+		Board game = new Board(template, true, 4);
+		game.deal();
+		Player player = game.getPlayers().get(0);
+		KnowledgeMatrix knowledge = ((ComputerPlayer) player).getKnowledge();
+		BeliefSampler.Beliefs beliefs = new BeliefSampler(knowledge).sample(2, BUDGET, 1);
+		assertTrue(beliefs.getSamples() > 0);
+
+		// cards in the hand are never in the case file, the others of a type are equally likely
+		for (CardType type : CardType.values()) {
+			int unknown = 0;
+			for (Card card : game.getDeck()) {
+				if (card.getType() == type && !player.getHand().contains(card)) {
+					unknown++;
+				}
+			}
+			double total = 0;
+			for (Card card : game.getDeck()) {
+				if (card.getType() != type) {
+					continue;
+				}
+				double p = beliefs.probability(card);
+				total += p;
+				if (player.getHand().contains(card)) {
+					assertEquals(0, p, 0);
+				} else {
+					assertEquals(1.0 / unknown, p, 0.05);
+				}
+			}
+			assertEquals(1, total, 1e-9);
+		}
+		assertTrue(beliefs.getEffectiveSampleSize() > 0);
+	}
+
+	@Test
+	public void testMatchesDeductions() {
+		Board game = new Board(template, true, 6);
+		game.deal();
+		game.playGame(12);
+		KnowledgeMatrix knowledge = ((ComputerPlayer) game.getPlayers().get(1)).getKnowledge();
+		BeliefSampler.Beliefs beliefs = new BeliefSampler(knowledge).sample(2, BUDGET, 2);
+		assertTrue(beliefs.getSamples() > 0);
+
+		// deduced cards are certain, and the true answer is never ruled out
+		for (Card card : game.getDeck()) {
+			if (knowledge.has(knowledge.getCaseFile(), card)) {
+				assertEquals(1, beliefs.probability(card), 0);
+			} else if (knowledge.hasNot(knowledge.getCaseFile(), card)) {
+				assertEquals(0, beliefs.probability(card), 0);
+			}
+		}
+		assertTrue(beliefs.probability(game.getSolution().getPerson()) > 0);
+	}
+
+	@Test
+	public void testCancel() {
+		Board game = new Board(template, true, 8);
+		game.deal();
+		BeliefSampler sampler = new BeliefSampler(((ComputerPlayer) game.getPlayers().get(0)).getKnowledge());
+		sampler.cancel();
+		BeliefSampler.Beliefs beliefs = sampler.sample(2, 60_000_000_000L, 3);
+		assertTrue(beliefs.isCancelled());
+		assertTrue(beliefs.getElapsedNanos() < 5_000_000_000L);
+	}
+}
@@ -0,0 +1,110 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.Card;
+import clueGame.CardSet;
+import clueGame.CardType;
+
+/**
+ * CardSetTest Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *	Verifies the bitmask CardSet behaves like any other Set of Cards, with deck cards and ad-hoc cards
+ */
+public class CardSetTest {
+	private static List<Card> deck;
+
+	@BeforeAll
+	public static void setUp() {
+		Board board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+		deck = board.getDeck();
+	}
+
+	@Test
+	public void testOrdinals() {
+		// every deck card has a dense ordinal matching its position
+		for (int i = 0; i < deck.size(); i++) {
+			assertEquals(i, deck.get(i).getOrdinal());
+		}
+		assertEquals(-1, new Card("Ray Gun", CardType.WEAPON).getOrdinal());
+	}
+
+	@Test
+	public void testSetOperations() {
+		CardSet even = new CardSet();
+		CardSet low = new CardSet();
+		Set<Card> expected = new HashSet<>();
+		for (int i = 0; i < deck.size(); i++) {
+			if (i % 2 == 0) {
+				even.add(deck.get(i));
+				expected.add(deck.get(i));
+			}
+			if (i < 10) {
+				low.add(deck.get(i));
+			}
+		}
+		assertEquals(expected, even);
+		assertEquals(expected.hashCode(), even.hashCode());
+		assertFalse(even.add(deck.get(0)));
+
+		CardSet both = new CardSet(even);
+		both.retainAll(low);
+		assertEquals(5, both.size());
+		assertTrue(both.intersects(low));
+
+		CardSet onlyEven = new CardSet(even);
+		onlyEven.removeAll(low);
+		assertEquals(even.size() - 5, onlyEven.size());
+		assertFalse(onlyEven.intersects(low));
+
+		// iteration and rank select follow deck order
+		assertSame(deck.get(10), onlyEven.iterator().next());
+		assertSame(deck.get(12), onlyEven.get(1));
+	}
+
+	@Test
+	public void testAdHocCards() {
+		CardSet cards = new CardSet(deck);
+		Card rayGun = new Card("Ray Gun", CardType.WEAPON);
+		Card unknown = new Card("Not a card", CardType.WEAPON);
+
+		// cards made outside the deck still match by equals
+		assertTrue(cards.contains(rayGun));
+		assertFalse(cards.add(rayGun));
+		assertTrue(cards.add(unknown));
+		assertEquals(deck.size() + 1, cards.size());
+		assertTrue(cards.contains(new Card("Not a card", CardType.WEAPON)));
+
+		assertTrue(cards.remove(rayGun));
+		assertFalse(cards.contains(rayGun));
+		assertTrue(cards.remove(unknown));
+		assertEquals(deck.size() - 1, cards.size());
+	}
+
+	@Test
+	public void testFrozen() {
+		CardSet people = Board.getInstance().getContext().getPeople();
+		assertEquals(6, people.size());
+		// the context's sets are shared by every player
+		assertThrows(UnsupportedOperationException.class, () -> {
+			people.add(deck.get(0));
+		});
+	}
+}
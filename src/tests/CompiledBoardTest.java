@@ -0,0 +1,121 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.AdjacencyGraph;
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.BoardTemplate;
+import clueGame.CompiledBoard;
+
+/**
+ * CompiledBoardTest Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *	Verifies that a compiled board loads back into the same template as the text files, and that stale or
+ *	damaged compiled boards are ignored
+ */
+public class CompiledBoardTest {
+	private static final String LAYOUT = "data/ClueLayout.csv";
+	private static final String SETUP = "data/ClueSetup.txt";
+
+	private static BoardTemplate parsed;
+
+	@BeforeAll
+	public static void setUp() throws Exception {
+		parsed = Board.loadTemplate("ClueLayout.csv", "ClueSetup.txt");
+	}
+
+	private static Path compile() throws Exception {
+		Path file = Files.createTempFile("board", ".clueboard");
+		file.toFile().deleteOnExit();
+		CompiledBoard.write(parsed, file);
+		return file;
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		BoardTemplate loaded = CompiledBoard.read(compile(), LAYOUT, SETUP, null);
+		assertNotNull(loaded);
+
+		assertEquals(parsed.getNumRows(), loaded.getNumRows());
+		assertEquals(parsed.getNumColumns(), loaded.getNumColumns());
+		for (int row = 0; row < parsed.getNumRows(); row++) {
+			for (int col = 0; col < parsed.getNumColumns(); col++) {
+				BoardCell expected = parsed.getCell(row, col);
+				BoardCell actual = loaded.getCell(row, col);
+				assertEquals(expected.getRoomInitial(), actual.getRoomInitial());
+				assertEquals(expected.getDoorDirection(), actual.getDoorDirection());
+				assertEquals(expected.isLabel(), actual.isLabel());
+				assertEquals(expected.isRoomCenter(), actual.isRoomCenter());
+				assertEquals(expected.getSecretPassage(), actual.getSecretPassage());
+				assertEquals(expected.getAdjList().size(), actual.getAdjList().size());
+			}
+		}
+
+		// the adjacency arrays come back exactly as packed
+		AdjacencyGraph expected = parsed.getAdjacencyGraph();
+		AdjacencyGraph actual = loaded.getAdjacencyGraph();
+		assertEquals(expected.getNumEdges(), actual.getNumEdges());
+		for (int i = 0; i < expected.getNumEdges(); i++) {
+			assertEquals(expected.neighborAt(i), actual.neighborAt(i));
+		}
+
+		// rooms know their centers, labels and passages again
+		assertEquals(parsed.getDoorways().size(), loaded.getDoorways().size());
+		assertEquals(parsed.getSpaceInitials(), loaded.getSpaceInitials());
+		assertEquals(parsed.getRoom('L').getCenterCell().getId(), loaded.getRoom('L').getCenterCell().getId());
+		assertEquals(parsed.getRoom('S').getSecretPassageTarget(), loaded.getRoom('S').getSecretPassageTarget());
+		assertEquals(parsed.getDeck(), loaded.getDeck());
+		assertEquals(parsed.getDeck().get(5).getOrdinal(), loaded.getDeck().get(5).getOrdinal());
+		assertEquals(parsed.getSeats().size(), loaded.getSeats().size());
+		assertEquals(parsed.getSeats().get(0).getName(), loaded.getSeats().get(0).getName());
+		assertEquals(parsed.getSeats().get(0).getColor(), loaded.getSeats().get(0).getColor());
+
+		// a game can be played on it
+		Board game = new Board(loaded, true, 3);
+		game.deal();
+		game.playGame(100);
+	}
+
+	@Test
+	public void testDamagedFile() throws Exception {
+		Path file = compile();
+		byte[] bytes = Files.readAllBytes(file);
+		bytes[bytes.length / 2] ^= 1;
+		Files.write(file, bytes);
+		// the checksum catches it and the caller falls back to the text files
+		assertNull(CompiledBoard.read(file, LAYOUT, SETUP, null));
+
+		Files.write(file, new byte[] { 1, 2, 3 });
+		assertNull(CompiledBoard.read(file, LAYOUT, SETUP, null));
+	}
+
+	@Test
+	public void testStaleFile() throws Exception {
+		Path layout = Files.createTempFile("layout", ".csv");
+		layout.toFile().deleteOnExit();
+		// same contents and time as the layout the board was compiled from
+		Files.copy(new File(LAYOUT).toPath(), layout, StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.COPY_ATTRIBUTES);
+		Path file = compile();
+		assertNotNull(CompiledBoard.read(file, layout.toString(), SETUP, null));
+
+		// a layout edited after compiling is newer than the compiled board
+		assertTrue(layout.toFile().setLastModified(System.currentTimeMillis() + 60000));
+		assertNull(CompiledBoard.read(file, layout.toString(), SETUP, null));
+	}
+}
@@ -1,6 +1,7 @@
 package tests;
 
 import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -71,7 +72,7 @@ public class ComputerAITest {
     @Test
     public void testRoomCorrectness() {
     	//System.out.println("Hello");
-    	ComputerPlayer suggester =  new ComputerPlayer("test", null, 0, 0);
+    	ComputerPlayer suggester =  new ComputerPlayer("test", null, 0, 0, board.getContext());
     	//Ensure the suggester always asks about the room it is passed
 		for(Card room : roomCards.values()) {
 			Card suggestedRoom = suggester.createSuggestion(room).getRoom();
@@ -84,7 +85,7 @@ public class ComputerAITest {
     
     @Test
     public void testSelectionLogic() {
-    	ComputerPlayer suggester =  new ComputerPlayer("test", null, 0, 0);
+    	ComputerPlayer suggester =  new ComputerPlayer("test", null, 0, 0, board.getContext());
     	
     	
     	//ensure that computer chooses the unseen person
@@ -98,7 +99,7 @@ public class ComputerAITest {
     	assertTrue(suggestion.getPerson().equals(UnseenPerson));
     	
     	//ensure that computer chooses the unseen weapon
-    	suggester =  new ComputerPlayer("test", null, 0, 0);
+    	suggester =  new ComputerPlayer("test", null, 0, 0, board.getContext());
     	
     	Card UnseenWeapon = fillSeenWith(suggester, weaponCards);
     	suggestion = suggester.createSuggestion(roomCards.get("Art Gallery"));
@@ -107,7 +108,7 @@ public class ComputerAITest {
     	assertTrue(suggestion.getWeapon().equals(UnseenWeapon));
     	
     	//ensure that computer chooses the unseen weapon and person
-    	suggester =  new ComputerPlayer("test", null, 0, 0);
+    	suggester =  new ComputerPlayer("test", null, 0, 0, board.getContext());
     	
     	UnseenWeapon = fillSeenWith(suggester, weaponCards);
     	UnseenPerson = fillSeenWith(suggester, personCards);
@@ -122,7 +123,7 @@ public class ComputerAITest {
     
     @Test
     public void testSelectionRandomness(){
-    	ComputerPlayer testPlayer = new ComputerPlayer("test", null, 0, 0);
+    	ComputerPlayer testPlayer = new ComputerPlayer("test", null, 0, 0, board.getContext());
     	Card room = roomCards.get("Library");
     	
     	Set<Card> suggestedPeople = new HashSet<>(); //tracks people suggested
@@ -179,7 +180,7 @@ public class ComputerAITest {
     	//ensure a target is randomly selected if no rooms are present
   
     	//test cell @ (10, 20)
-    	ComputerPlayer testPlayer = new ComputerPlayer("test", null, 10, 20);
+    	ComputerPlayer testPlayer = new ComputerPlayer("test", null, 10, 20, board.getContext());
     	BoardCell playerCell = board.getCell(testPlayer.getRow(), testPlayer.getCol());
     	board.calcTargets(playerCell, 1); //has no roomcenters
     	
@@ -193,7 +194,7 @@ public class ComputerAITest {
     	assertTrue(targetsSelected.equals(targets));
     	
     	//test cell @ (18, 0)
-    	testPlayer = new ComputerPlayer("test", null, 18, 0);
+    	testPlayer = new ComputerPlayer("test", null, 18, 0, board.getContext());
     	playerCell = board.getCell(testPlayer.getRow(), testPlayer.getCol());
     	board.calcTargets(playerCell, 3); //has no roomcenters
     	
@@ -213,7 +214,7 @@ public class ComputerAITest {
     	//ensure an unseen room is targeted
     	
     	//test cell @ (10, 3)
-    	ComputerPlayer testPlayer = new ComputerPlayer("test", null, 10, 3);
+    	ComputerPlayer testPlayer = new ComputerPlayer("test", null, 10, 3, board.getContext());
     	BoardCell playerCell = board.getCell(testPlayer.getRow(), testPlayer.getCol());
     	board.calcTargets(playerCell, 1); //adjacent to library
     	
@@ -225,7 +226,7 @@ public class ComputerAITest {
     	
     	//ensure seen room is randomized
     	//test cell @ (18, 4)
-    	testPlayer = new ComputerPlayer("test", null, 18, 4);
+    	testPlayer = new ComputerPlayer("test", null, 18, 4, board.getContext());
     	testPlayer.updateSeen(roomCards.get("Study")); //room adj to testPlayer
     	playerCell = board.getCell(testPlayer.getRow(), testPlayer.getCol());
     	board.calcTargets(playerCell, 1); //adj to a seen room
@@ -241,4 +242,11 @@ public class ComputerAITest {
     	
     }
     
+    @Test
+    public void testNoGame() {
+    	//a player made outside of a game has no cards to suggest from
+    	ComputerPlayer loner = new ComputerPlayer("test", null, 0, 0);
+    	assertThrows(IllegalStateException.class, () -> loner.createSuggestion(roomCards.get("Library")));
+    }
+    
 }
@@ -0,0 +1,174 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.BeliefSampler;
+import clueGame.Board;
+import clueGame.BoardTemplate;
+import clueGame.Card;
+import clueGame.CardType;
+import clueGame.ComputerPlayer;
+import clueGame.DealCounter;
+import clueGame.KnowledgeMatrix;
+import clueGame.Player;
+import clueGame.Solution;
+import clueGame.TemplateCache;
+
+/**
+ * DealCounterTest Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *	Verifies the exact deal counts against a closed form at the start of a game, and against the knowledge matrix
+ *	and the sampler once suggestions have been answered, and that too many constrained cards are refused
+ */
+public class DealCounterTest {
+	private static BoardTemplate template;
+
+	@BeforeAll
+	public static void setUp() throws Exception {
+		template = Board.loadTemplate("ClueLayout.csv", "ClueSetup.txt");
+	}
+
+	private static BigInteger factorial(int n) {
+		BigInteger result = BigInteger.ONE;
+		for (int k = 2; k <= n; k++) {
+			result = result.multiply(BigInteger.valueOf(k));
+		}
+		return result;
+	}
+
+	@Test
+	public void testOwnHandOnly() {
+		Board game = new Board(template, true, 4);
+		game.deal();
+		Player player = game.getPlayers().get(0);
+		DealCounter.Counts counts = new DealCounter(((ComputerPlayer) player).getKnowledge()).count();
+
+		// any unseen triple, then the other 15 cards three to each of the other five seats
+		long triples = 1;
+		for (CardType type : CardType.values()) {
+			int unknown = 0;
+			for (Card card : game.getDeck()) {
+				if (card.getType() == type && !player.getHand().contains(card)) {
+					unknown++;
+				}
+			}
+			triples *= unknown;
+			for (Card card : game.getDeck()) {
+				if (card.getType() == type) {
+					assertEquals(player.getHand().contains(card) ? 0 : 1.0 / unknown, counts.probability(card), 1e-12);
+				}
+			}
+		}
+		BigInteger seatDeals = factorial(15).divide(factorial(3).pow(5));
+		assertEquals(seatDeals.multiply(BigInteger.valueOf(triples)), counts.getTotal());
+	}
+
+	@Test
+	public void testMatchesDeductionsAndSampler() {
+		for (long seed = 0; seed < 5; seed++) {
+			Board game = new Board(template, true, seed);
+			game.deal();
+			game.playGame(10);
+			KnowledgeMatrix knowledge = ((ComputerPlayer) game.getPlayers().get(2)).getKnowledge();
+			DealCounter.Counts counts = new DealCounter(knowledge).count();
+			BeliefSampler.Beliefs beliefs = new BeliefSampler(knowledge).sample(1, 200_000_000L, seed);
+
+			// the real deal is one of the consistent ones
+			assertTrue(counts.getTotal().signum() > 0);
+			assertTrue(counts.getCount(game.getSolution().getPerson()).signum() > 0);
+			for (Card card : game.getDeck()) {
+				if (knowledge.has(knowledge.getCaseFile(), card)) {
+					assertEquals(counts.getTotal(), counts.getCount(card));
+				} else if (knowledge.hasNot(knowledge.getCaseFile(), card)) {
+					assertEquals(BigInteger.ZERO, counts.getCount(card));
+				}
+				assertEquals(counts.probability(card), beliefs.probability(card), 0.05);
+			}
+		}
+	}
+
+	/**
+	 * A 64 card deck with 31 seats, the last of which is dealt a single card. Hidden disproofs of triples covering
+	 * the other 63 cards put every one of them in a clause, one more than the subset walk can handle
+	 */
+	@Test
+	public void testConstrainedLimit() throws Exception {
+		Path dir = Files.createTempDirectory("deals");
+		Path layout = dir.resolve("layout.csv");
+		Path setup = dir.resolve("setup.txt");
+		List<String> rows = new ArrayList<>(Collections.nCopies(31, "W,W"));
+		List<String> lines = new ArrayList<>();
+		lines.add("Space, Walkway, W");
+		for (int k = 0; k < 17; k++) {
+			lines.add("Room, Room " + k + ", " + (char) ('A' + k));
+		}
+		for (int k = 0; k < 31; k++) {
+			lines.add("Player, Computer, Player " + k + ", red, " + k + ", 0");
+		}
+		for (int k = 0; k < 16; k++) {
+			lines.add("Weapon, Weapon " + k);
+		}
+		Files.write(layout, rows);
+		Files.write(setup, lines);
+		try {
+			Board game = new Board(TemplateCache.get(layout.toString(), setup.toString()), true, 1);
+			game.deal();
+			int seat = game.getPlayers().size() - 1;
+			Player player = game.getPlayers().get(seat);
+			assertEquals(64, game.getDeck().size());
+			assertEquals(1, player.getHand().size());
+			KnowledgeMatrix knowledge = ((ComputerPlayer) player).getKnowledge();
+
+			List<Card> people = new ArrayList<>();
+			List<Card> rooms = new ArrayList<>();
+			List<Card> weapons = new ArrayList<>();
+			for (Card card : game.getDeck()) {
+				if (player.getHand().contains(card)) {
+					continue;
+				}
+				switch (card.getType()) {
+				case PERSON:
+					people.add(card);
+					break;
+				case ROOM:
+					rooms.add(card);
+					break;
+				case WEAPON:
+					weapons.add(card);
+					break;
+				}
+			}
+			// each triple is disproved by the seat after its suggester, with a card this player does not see
+			for (int k = 0; k < 31; k++) {
+				if (k == 20) {
+					// 20 people, every room and every weapon so far, still few enough
+					new DealCounter(knowledge);
+				}
+				Solution triple = new Solution(people.get(k % people.size()), rooms.get(k % rooms.size()),
+						weapons.get(k % weapons.size()));
+				knowledge.suggestionAnswered(k % 29, triple, k % 29 + 1, null);
+			}
+			assertTrue(knowledge.isConsistent());
+			assertThrows(IllegalArgumentException.class, () -> new DealCounter(knowledge));
+		} finally {
+			Files.deleteIfExists(layout);
+			Files.deleteIfExists(setup);
+			Files.deleteIfExists(dir);
+		}
+	}
+}
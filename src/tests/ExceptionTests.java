@@ -61,4 +61,16 @@ public class ExceptionTests {
 		});
 	}
 
+	/*
+	 * Test that a Setup line missing a field is a format error, not an index error
+	 */
+	@Test
+	public void testMissingSetupField() throws BadConfigFormatException, FileNotFoundException {
+		assertThrows(BadConfigFormatException.class, () -> {
+			Board board = Board.getInstance();
+			board.setConfigFiles("ClueLayout.csv", "ClueSetupMissingField.txt");
+			board.loadSetupConfig();
+		});
+	}
+
 }
@@ -2,14 +2,21 @@ package tests;
 
 import static org.junit.Assert.*;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 import org.junit.Assert;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import clueGame.Board;
 import clueGame.BoardCell;
+import clueGame.BoardTemplate;
 import clueGame.DoorDirection;
 import clueGame.Room;
+import clueGame.TemplateCache;
 
 /**
  * FileInitTests Class
@@ -214,4 +221,30 @@ public class FileInitTests {
 
 
 	}
+
+	/*
+	 * A room initial outside ASCII is read the same way in the setup and layout files
+	 */
+	@Test
+	public void testNonAsciiInitial() throws Exception {
+		Path dir = Files.createTempDirectory("initials");
+		Path layout = dir.resolve("ClueLayout.csv");
+		Path setup = dir.resolve("ClueSetup.txt");
+		Files.writeString(layout, Files.readString(Paths.get("data/ClueLayout.csv")).replace('O', '\u00d6'),
+				StandardCharsets.UTF_8);
+		Files.writeString(setup, Files.readString(Paths.get("data/ClueSetup.txt"))
+				.replace("Observatory, O", "Observatory, \u00d6"), StandardCharsets.UTF_8);
+		try {
+			BoardTemplate template = TemplateCache.get(layout.toString(), setup.toString());
+			Room room = template.getRoom('\u00d6');
+			assertEquals("Observatory", room.getName());
+			assertEquals('\u00d6', template.getCell(0, 22).getRoomInitial());
+			assertEquals('\u00d6', room.getCenterCell().getRoomInitial());
+			assertEquals(Character.valueOf('G'), template.getCell(0, 25).getSecretPassage());
+		} finally {
+			Files.deleteIfExists(layout);
+			Files.deleteIfExists(setup);
+			Files.deleteIfExists(dir);
+		}
+	}
 }
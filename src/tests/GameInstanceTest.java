@@ -0,0 +1,176 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.BoardTemplate;
+import clueGame.Card;
+import clueGame.GameListener;
+import clueGame.GameState;
+import clueGame.Player;
+
+/**
+ * GameInstanceTest Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *	Verifies that games built on one shared BoardTemplate keep their own players, cards and occupancy
+ */
+public class GameInstanceTest {
+	private static BoardTemplate template;
+
+	@BeforeAll
+	public static void setUp() throws Exception {
+		template = Board.loadTemplate("ClueLayout.csv", "ClueSetup.txt");
+	}
+
+	@Test
+	public void testSharedTemplate() {
+		Board game1 = new Board(template);
+		Board game2 = new Board(template);
+
+		// the board itself is shared
+		assertSame(game1.getCell(10, 5), game2.getCell(10, 5));
+		assertSame(game1.getAdjacencyGraph(), game2.getAdjacencyGraph());
+		assertEquals(23, game1.getNumRows());
+		assertEquals(26, game1.getNumColumns());
+
+		// players and cards are not
+		assertEquals(6, game1.getPlayers().size());
+		assertNotSame(game1.getPlayers().get(0), game2.getPlayers().get(0));
+		assertEquals(21, game1.getDeck().size());
+		assertNotSame(game1.getDeck().get(0), game2.getDeck().get(0));
+		assertSame(game1.getContext(), game1.getPlayers().get(1).getContext());
+	}
+
+	@Test
+	public void testIndependentDeals() {
+		Board game1 = new Board(template);
+		Board game2 = new Board(template);
+		game1.deal();
+		game2.deal();
+
+		for (Card card : game1.getDeck()) {
+			Player holder = card.getPlayerHoldingThis();
+			// every card is either in the envelope or held by one of this game's players
+			assertTrue(holder == null || game1.getPlayers().contains(holder));
+			assertFalse(game2.getPlayers().contains(holder));
+		}
+	}
+
+	@Test
+	public void testIndependentOccupancy() {
+		Board game1 = new Board(template);
+		Board game2 = new Board(template);
+		BoardCell start = game1.getCell(10, 5);
+		BoardCell blocker = game1.getCell(10, 4);
+
+		Player player = game1.getPlayers().get(1);
+		game1.movePlayerTo(player, blocker);
+
+		assertTrue(game1.getOccupancy().isOccupied(blocker.getId()));
+		assertFalse(game2.getOccupancy().isOccupied(blocker.getId()));
+		assertFalse(game1.queryTargets(start, 3, game1.getOccupancy()).contains(blocker));
+		assertTrue(game2.queryTargets(start, 3, game2.getOccupancy()).contains(blocker));
+	}
+
+	@Test
+	public void testHeadlessGame() {
+		// no GUI is attached, the whole game runs through the Board
+		Board game = new Board(template, true);
+		game.deal();
+		int[] turns = new int[1];
+		game.addGameListener(new GameListener() {
+			@Override
+			public void turnStarted(Player player, int roll) {
+				turns[0]++;
+			}
+		});
+
+		int played = game.playGame(5000);
+		assertEquals(played, turns[0]);
+		assertTrue(game.isGameOver());
+		assertTrue(game.getWinner() == null || game.getPlayers().contains(game.getWinner()));
+		assertFalse(game.nextPlayer());
+	}
+
+	@Test
+	public void testSeededReplay() {
+		Board game1 = new Board(template, true, 1234);
+		Board game2 = new Board(template, true, 1234);
+		game1.deal();
+		game2.deal();
+
+		// same envelope and hands
+		assertEquals(game1.getSolution().toString(), game2.getSolution().toString());
+		for (int i = 0; i < game1.getPlayers().size(); i++) {
+			assertEquals(game1.getPlayers().get(i).getHand().toString(), game2.getPlayers().get(i).getHand().toString());
+		}
+
+		// and the same game, turn for turn
+		assertEquals(game1.playGame(5000), game2.playGame(5000));
+		assertEquals(game1.getPlayers().indexOf(game1.getWinner()), game2.getPlayers().indexOf(game2.getWinner()));
+		for (int i = 0; i < game1.getPlayers().size(); i++) {
+			Player player1 = game1.getPlayers().get(i);
+			Player player2 = game2.getPlayers().get(i);
+			assertEquals(player1.getRow(), player2.getRow());
+			assertEquals(player1.getCol(), player2.getCol());
+		}
+	}
+
+	@Test
+	public void testParallelGames() throws InterruptedException {
+		Thread[] threads = new Thread[4];
+		int[] sizes = new int[threads.length];
+		for (int i = 0; i < threads.length; i++) {
+			final int index = i;
+			threads[i] = new Thread(() -> {
+				Board game = new Board(template);
+				game.deal();
+				game.calcTargets(game.getCell(6, 20), 3);
+				sizes[index] = game.getTargets().size();
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		for (int size : sizes) {
+			assertEquals(15, size);
+		}
+	}
+
+	@Test
+	public void testPublishedStates() {
+		Board game = new Board(template, true, 99);
+		game.deal();
+		game.doFirstMove();
+		GameState before = game.getState();
+		int beforeRow = before.getRow(0);
+		int beforeCol = before.getCol(0);
+
+		game.startTurn();
+		GameState after = game.getState();
+
+		// every step is a new version, the old one still shows the old position
+		assertTrue(after.getVersion() > before.getVersion());
+		assertEquals(beforeRow, before.getRow(0));
+		assertEquals(beforeCol, before.getCol(0));
+		// and the new one matches the live board
+		Player first = game.getPlayers().get(0);
+		assertEquals(first.getRow(), after.getRow(0));
+		assertEquals(first.getCol(), after.getCol(0));
+		assertTrue(after.isOccupied(first.getRow(), first.getCol()));
+		// unchanged parts are shared, not copied
+		assertSame(before.getPlayers(), after.getPlayers());
+	}
+}
@@ -16,6 +16,7 @@ import clueGame.Board;
 import clueGame.Card;
 import clueGame.CardType;
 import clueGame.ComputerPlayer;
+import clueGame.GameListener;
 import clueGame.HumanPlayer;
 import clueGame.Solution;
 import clueGame.Player;
@@ -294,6 +295,80 @@ public class GameSolutionTest {
 		
 	}
 	
+	private static Card deckCard(String name) {
+		for (Card card : board.getDeck()) {
+			if (card.getCardName().equals(name)) {
+				return card;
+			}
+		}
+		return null;
+	}
+	
+	@Test
+	public void handleSuggestionWrapAroundTest() {
+		for (Player p : players) {
+			p.clearHand();
+		}
+		
+		// the last player suggests, so the table wraps around to the first player
+		Player suggester = players.get(players.size() - 1);
+		Player first = players.get(0);
+		Player later = players.get(2);
+		
+		Card person = deckCard("Omni-Man");
+		Card room = deckCard("Library");
+		Card weapon = deckCard("Ray Gun");
+		
+		later.updateHand(weapon);
+		first.updateHand(room);
+		
+		Solution suggestion = new Solution(person, room, weapon);
+		
+		Card result = board.handleSuggestion(suggestion, suggester);
+		
+		assertEquals(room, result);
+		
+		// the suggested player was moved to the room
+		Player omniMan = players.get(1);
+		assertEquals(board.getRoom('L').getCenterCell().getRow(), omniMan.getRow());
+		assertEquals(board.getRoom('L').getCenterCell().getColumn(), omniMan.getCol());
+	}
+	
+	@Test
+	public void handleSuggestionCardSeenTest() {
+		for (Player p : players) {
+			p.clearHand();
+		}
+		
+		Player suggester = players.get(0);
+		Card person = deckCard("Omni-Man");
+		Card room = deckCard("Library");
+		Card weapon = deckCard("Ray Gun");
+		players.get(1).updateHand(weapon);
+		boolean seenBefore = suggester.getSeenCards().contains(weapon);
+		
+		// count the new cards the suggester is shown
+		int[] seenEvents = new int[1];
+		GameListener listener = new GameListener() {
+			@Override
+			public void cardSeen(Player player, Card card) {
+				assertEquals(suggester, player);
+				assertEquals(weapon, card);
+				seenEvents[0]++;
+			}
+		};
+		board.addGameListener(listener);
+		
+		Solution suggestion = new Solution(person, room, weapon);
+		board.handleSuggestion(suggestion, suggester);
+		// the same card again is not news
+		board.handleSuggestion(suggestion, suggester);
+		board.removeGameListener(listener);
+		
+		assertEquals(seenBefore ? 0 : 1, seenEvents[0]);
+		assertTrue(suggester.getSeenCards().contains(weapon));
+	}
+	
 	 
 
 }
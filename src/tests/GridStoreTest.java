@@ -0,0 +1,107 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.BoardTemplate;
+import clueGame.TemplateCache;
+
+/**
+ * GridStoreTest Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *	Verifies that a large board only makes the BoardCells that are asked for, and that those cells match the
+ *	cells of the small board it was tiled from
+ */
+public class GridStoreTest {
+	// 11 x 11 copies of the 23 x 26 layout, enough cells to be stored lazily
+	private static final int TILES = 11;
+
+	private static BoardTemplate small;
+	private static BoardTemplate large;
+	// cells made while loading, before any test asks for one
+	private static int loadedViews;
+
+	@BeforeAll
+	public static void setUp() throws Exception {
+		small = Board.loadTemplate("ClueLayout.csv", "ClueSetup.txt");
+
+		List<String> rows = Files.readAllLines(Paths.get("data/ClueLayout.csv"), StandardCharsets.UTF_8);
+		List<String> tiled = new ArrayList<>();
+		for (int t = 0; t < TILES; t++) {
+			for (String row : rows) {
+				tiled.add(String.join(",", Collections.nCopies(TILES, row)));
+			}
+		}
+		Path layout = Files.createTempFile("ClueLayoutTiled", ".csv");
+		try {
+			Files.write(layout, tiled, StandardCharsets.UTF_8);
+			large = TemplateCache.get(layout.toString(), "data/ClueSetup.txt");
+			loadedViews = large.countCellViews();
+		} finally {
+			Files.delete(layout);
+		}
+	}
+
+	@Test
+	public void testSmallBoardIsEager() {
+		assertEquals(small.getNumRows() * small.getNumColumns(), small.countCellViews());
+	}
+
+	@Test
+	public void testCellsMadeOnDemand() {
+		assertEquals(small.getNumRows() * TILES, large.getNumRows());
+		assertEquals(small.getNumColumns() * TILES, large.getNumColumns());
+		// far fewer cells than the board has, the doorway set counts without making any
+		assertTrue(loadedViews < 100);
+		assertEquals(small.getDoorways().size() * TILES * TILES, large.getDoorways().size());
+
+		// the same view every time, made once
+		int before = large.countCellViews();
+		BoardCell cell = large.getCell(small.getNumRows() * 5 + 10, small.getNumColumns() * 7 + 4);
+		assertSame(cell, large.getCell(small.getNumRows() * 5 + 10, small.getNumColumns() * 7 + 4));
+		assertTrue(large.countCellViews() <= before + 1);
+	}
+
+	@Test
+	public void testViewsMatchSmallBoard() {
+		// every cell of one inner tile agrees with the original board
+		int rowOffset = small.getNumRows() * 3;
+		int colOffset = small.getNumColumns() * 2;
+		for (int row = 0; row < small.getNumRows(); row++) {
+			for (int col = 0; col < small.getNumColumns(); col++) {
+				BoardCell expected = small.getCell(row, col);
+				BoardCell actual = large.getCell(row + rowOffset, col + colOffset);
+				assertEquals(row + rowOffset, actual.getRow());
+				assertEquals(col + colOffset, actual.getColumn());
+				assertEquals(expected.getRoomInitial(), actual.getRoomInitial());
+				assertEquals(expected.getDoorDirection(), actual.getDoorDirection());
+				assertEquals(expected.isLabel(), actual.isLabel());
+				assertEquals(expected.isRoomCenter(), actual.isRoomCenter());
+				assertEquals(expected.getSecretPassage(), actual.getSecretPassage());
+				assertEquals(large.getAdjacencyGraph().cellId(row + rowOffset, col + colOffset), actual.getId());
+			}
+		}
+
+		// a walkway away from the tile's edges has the same neighbors, shifted
+		BoardCell walkway = large.getCell(rowOffset + 10, colOffset + 4);
+		assertEquals(small.getCell(10, 4).getAdjList().size(), walkway.getAdjList().size());
+		assertTrue(walkway.getAdjList().contains(large.getCell(rowOffset + 9, colOffset + 4)));
+	}
+}
@@ -0,0 +1,105 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardTemplate;
+import clueGame.Card;
+import clueGame.ComputerPlayer;
+import clueGame.KnowledgeMatrix;
+import clueGame.Player;
+import clueGame.Solution;
+
+/**
+ * KnowledgeMatrixTest Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *	Verifies what the knowledge matrix deduces from passes and hidden disproofs, and that every deduction made in a
+ *	whole game is true of the actual deal
+ */
+public class KnowledgeMatrixTest {
+	private static BoardTemplate template;
+
+	@BeforeAll
+	public static void setUp() throws Exception {
+		template = Board.loadTemplate("ClueLayout.csv", "ClueSetup.txt");
+	}
+
+	private static Board dealtGame(long seed) {
+		Board game = new Board(template, true, seed);
+		game.deal();
+		return game;
+	}
+
+	private static KnowledgeMatrix knowledgeOf(Board game, int seat) {
+		return ((ComputerPlayer) game.getPlayers().get(seat)).getKnowledge();
+	}
+
+	@Test
+	public void testNobodyDisproves() {
+		Board game = dealtGame(3);
+		KnowledgeMatrix knowledge = knowledgeOf(game, 0);
+		assertNull(knowledge.getSolution());
+
+		// seat 0 suggests the answer, knows its own hand and every other seat passes
+		Solution answer = game.getSolution();
+		knowledge.suggestionAnswered(0, answer, -1, null);
+		for (int seat = 1; seat < knowledge.getNumSeats(); seat++) {
+			assertTrue(knowledge.hasNot(seat, answer.getPerson()));
+		}
+		assertEquals(answer, knowledge.getSolution());
+	}
+
+	@Test
+	public void testHiddenDisproofResolved() {
+		Board game = dealtGame(5);
+		KnowledgeMatrix knowledge = knowledgeOf(game, 0);
+		Solution answer = game.getSolution();
+		Card held = game.getPlayers().get(2).getHand().iterator().next();
+
+		// seat 2 disproves a suggestion from seat 1 with a card seat 0 doesn't see
+		knowledge.suggestionAnswered(1, new Solution(answer.getPerson(), answer.getRoom(), held), 2, null);
+		assertFalse(knowledge.has(2, held));
+		assertEquals(1, knowledge.getOpenClauses());
+
+		// seat 2 then passes on the other two cards, so it must have shown the third
+		knowledge.suggestionAnswered(1, answer, -1, null);
+		assertTrue(knowledge.has(2, held));
+		assertEquals(0, knowledge.getOpenClauses());
+		assertTrue(knowledge.isConsistent());
+	}
+
+	@Test
+	public void testDeductionsMatchDeal() {
+		for (long seed = 0; seed < 20; seed++) {
+			Board game = dealtGame(seed);
+			game.playGame(5000);
+
+			Solution answer = game.getSolution();
+			for (int seat = 0; seat < game.getPlayers().size(); seat++) {
+				KnowledgeMatrix knowledge = knowledgeOf(game, seat);
+				assertTrue(knowledge.isConsistent());
+				for (Card card : game.getDeck()) {
+					boolean inCaseFile = answer.toSet().contains(card);
+					assertTrue(!knowledge.has(knowledge.getCaseFile(), card) || inCaseFile);
+					assertTrue(!knowledge.hasNot(knowledge.getCaseFile(), card) || !inCaseFile);
+					for (int holder = 0; holder < game.getPlayers().size(); holder++) {
+						Player player = game.getPlayers().get(holder);
+						assertTrue(!knowledge.has(holder, card) || player.getHand().contains(card));
+						assertTrue(!knowledge.hasNot(holder, card) || !player.getHand().contains(card));
+					}
+				}
+			}
+			// nobody accuses wrongly
+			assertTrue(!game.isGameOver() || game.getWinner() != null);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Rectangle;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.BoardTemplate;
+import clueGame.DoorDirection;
+import clueGame.Room;
+import clueGame.RoomIndex;
+
+/**
+ * RoomIndexTest Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *	Verifies the room index against a scan of the whole grid: the cells, bounds and doorways of every room, and
+ *	hit testing of rooms, walkways and cells off the board
+ */
+public class RoomIndexTest {
+	private static BoardTemplate template;
+	private static RoomIndex index;
+
+	@BeforeAll
+	public static void setUp() throws Exception {
+		template = Board.loadTemplate("ClueLayout.csv", "ClueSetup.txt");
+		index = template.getRoomIndex();
+	}
+
+	@Test
+	public void testMatchesGridScan() {
+		for (char initial : template.getRoomMap().keySet()) {
+			Set<BoardCell> expected = new HashSet<>();
+			int minRow = Integer.MAX_VALUE, minCol = Integer.MAX_VALUE, maxRow = -1, maxCol = -1;
+			for (int row = 0; row < template.getNumRows(); row++) {
+				for (int col = 0; col < template.getNumColumns(); col++) {
+					BoardCell cell = template.getCell(row, col);
+					if (cell.getRoomInitial() == initial) {
+						expected.add(cell);
+						minRow = Math.min(minRow, row);
+						minCol = Math.min(minCol, col);
+						maxRow = Math.max(maxRow, row);
+						maxCol = Math.max(maxCol, col);
+					}
+				}
+			}
+			assertEquals(expected, new HashSet<>(index.getCells(initial)));
+			assertEquals(expected.size(), index.getCellCount(initial));
+			int runCells = 0;
+			for (int run = 0; run < index.getRunCount(initial); run++) {
+				runCells += index.getRunLength(initial, run);
+			}
+			assertEquals(expected.size(), runCells);
+			if (expected.isEmpty()) {
+				assertNull(index.getBounds(initial));
+			} else {
+				assertEquals(new Rectangle(minCol, minRow, maxCol - minCol + 1, maxRow - minRow + 1),
+						index.getBounds(initial));
+			}
+		}
+	}
+
+	@Test
+	public void testDoorwaysInto() {
+		// every doorway leads into exactly one room's set
+		int total = 0;
+		for (char initial : template.getRoomMap().keySet()) {
+			for (BoardCell door : index.getDoorwaysInto(initial)) {
+				assertTrue(door.isDoorway());
+				total++;
+			}
+		}
+		assertEquals(template.getDoorways().size(), total);
+
+		BoardCell dungeonDoor = template.getCell(5, 8);
+		assertEquals(DoorDirection.UP, dungeonDoor.getDoorDirection());
+		assertTrue(index.getDoorwaysInto('D').contains(dungeonDoor));
+		assertTrue(index.getDoorwaysInto('L').contains(template.getCell(0, 4)));
+		assertTrue(index.getDoorwaysInto('W').isEmpty());
+	}
+
+	@Test
+	public void testRoomAt() {
+		Room library = template.getRoom('L');
+		assertSame(library, index.roomAt(0, 0));
+		assertSame(library, index.roomAt(6, 2));
+		assertSame(template.getRoom('D'), index.roomAt(4, 8));
+		// walkways, unused cells and cells off the board are not rooms
+		assertNull(index.roomAt(0, 4));
+		assertNull(index.roomAt(0, 6));
+		assertNull(index.roomAt(-1, 0));
+		assertNull(index.roomAt(0, template.getNumColumns()));
+	}
+}
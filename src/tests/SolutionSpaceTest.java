@@ -0,0 +1,100 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardTemplate;
+import clueGame.Card;
+import clueGame.GameContext;
+import clueGame.Player;
+import clueGame.Solution;
+import clueGame.SolutionSpace;
+
+/**
+ * SolutionSpaceTest Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *	Verifies that the solution space counts the (person, room, weapon) triples left as cards are ruled out, and that
+ *	a player's space follows the cards it sees
+ */
+public class SolutionSpaceTest {
+	private static BoardTemplate template;
+
+	@BeforeAll
+	public static void setUp() throws Exception {
+		template = Board.loadTemplate("ClueLayout.csv", "ClueSetup.txt");
+	}
+
+	@Test
+	public void testRuleOutCards() {
+		GameContext context = new Board(template, true, 1).getContext();
+		SolutionSpace space = context.newSolutionSpace();
+		// 6 people, 9 rooms and 6 weapons
+		assertEquals(324, space.size());
+
+		Card person = context.getPeople().get(0);
+		Card room = context.getRooms().get(0);
+		assertEquals(54, space.countWith(person));
+		assertTrue(space.exclude(person));
+		assertFalse(space.exclude(person));
+		assertEquals(270, space.size());
+		assertEquals(0, space.countWith(person));
+		assertEquals(30, space.countWith(room));
+
+		// a copy is pruned on its own
+		SolutionSpace copy = space.copy();
+		copy.exclude(room);
+		assertEquals(240, copy.size());
+		assertEquals(270, space.size());
+		assertEquals(324, context.newSolutionSpace().size());
+	}
+
+	@Test
+	public void testUniqueSolution() {
+		Board game = new Board(template, true, 2);
+		game.deal();
+		Solution answer = game.getSolution();
+		SolutionSpace space = game.getContext().newSolutionSpace();
+
+		// ruling out every card but the answer leaves only the answer
+		for (Card card : game.getDeck()) {
+			assertTrue(space.contains(answer));
+			assertNull(space.getSolution());
+			if (!answer.toSet().contains(card)) {
+				space.exclude(card);
+			}
+		}
+		assertTrue(space.isUnique());
+		assertEquals(answer, space.getSolution());
+	}
+
+	@Test
+	public void testPlayerSpaceFollowsSeenCards() {
+		Board game = new Board(template, true, 3);
+		game.deal();
+		Player player = game.getPlayers().get(1);
+		SolutionSpace space = player.getSolutionSpace();
+		int before = space.size();
+
+		Card unseen = null;
+		for (Card card : game.getDeck()) {
+			if (!player.getSeenCards().contains(card) && !game.getSolution().toSet().contains(card)) {
+				unseen = card;
+				break;
+			}
+		}
+		int ruledOut = space.countWith(unseen);
+		assertTrue(ruledOut > 0);
+		player.updateSeen(unseen);
+		assertEquals(before - ruledOut, player.getSolutionSpace().size());
+		assertTrue(space.contains(game.getSolution()));
+	}
+}
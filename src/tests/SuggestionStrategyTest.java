@@ -0,0 +1,216 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardTemplate;
+import clueGame.Card;
+import clueGame.CardType;
+import clueGame.ComputerPlayer;
+import clueGame.KnowledgeMatrix;
+import clueGame.Player;
+import clueGame.Solution;
+import clueGame.SuggestionStrategy;
+
+/**
+ * SuggestionStrategyTest Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *	Verifies that the information gain strategy makes valid suggestions, asks about cards it has not seen, and picks
+ *	the pair with the most information gain on a knowledge state small enough to work out exactly
+ */
+public class SuggestionStrategyTest {
+	private static BoardTemplate template;
+
+	@BeforeAll
+	public static void setUp() throws Exception {
+		template = Board.loadTemplate("ClueLayout.csv", "ClueSetup.txt");
+	}
+
+	@Test
+	public void testInformationGainSuggestion() {
+		Board game = new Board(template, true, 11);
+		ComputerPlayer player = (ComputerPlayer) game.getPlayers().get(0);
+		assertEquals(SuggestionStrategy.RANDOM, player.getSuggestionStrategy());
+		player.setSuggestionStrategy(SuggestionStrategy.INFORMATION_GAIN);
+		game.deal();
+
+		for (Card room : game.getContext().getRooms()) {
+			Solution suggestion = player.createSuggestion(room);
+			assertEquals(room, suggestion.getRoom());
+			assertEquals(CardType.PERSON, suggestion.getPerson().getType());
+			assertEquals(CardType.WEAPON, suggestion.getWeapon().getType());
+			// asking only about its own cards could tell it nothing about them
+			assertTrue(!player.getHand().contains(suggestion.getPerson())
+					|| !player.getHand().contains(suggestion.getWeapon()));
+		}
+	}
+
+	/**
+	 * Player 0 is shown every card but two people and two weapons, one of each in the case file and the others
+	 * held by two seats, so the 8 deals left are equally likely and every answer can be worked out exactly. Its
+	 * suggestion must be one of the pairs that tells it the most that the other players do not also hear.
+	 */
+	@Test
+	public void testChoosesHighestInformationGain() {
+		Board game = new Board(template, true, 3);
+		List<Player> players = game.getPlayers();
+		ComputerPlayer player = (ComputerPlayer) players.get(0);
+		player.setSuggestionStrategy(SuggestionStrategy.INFORMATION_GAIN);
+		game.deal();
+		Solution solution = game.getSolution();
+
+		Map<Card, Integer> holders = new HashMap<>();
+		for (int seat = 0; seat < players.size(); seat++) {
+			for (Card card : players.get(seat).getHand()) {
+				holders.put(card, seat);
+			}
+		}
+		// a person and a weapon held by two different other seats stay hidden
+		Card person = null;
+		Card weapon = null;
+		for (Card card : game.getDeck()) {
+			Integer seat = holders.get(card);
+			if (seat == null || seat == 0) {
+				continue;
+			}
+			if (card.getType() == CardType.PERSON) {
+				person = card;
+				break;
+			}
+		}
+		for (Card card : game.getDeck()) {
+			Integer seat = holders.get(card);
+			if (seat != null && seat != 0 && seat != holders.get(person) && card.getType() == CardType.WEAPON) {
+				weapon = card;
+				break;
+			}
+		}
+		KnowledgeMatrix knowledge = player.getKnowledge();
+		for (Card card : game.getDeck()) {
+			Integer seat = holders.get(card);
+			if (seat != null && seat != 0 && !card.equals(person) && !card.equals(weapon)) {
+				knowledge.cardShown(seat, card);
+				player.updateSeen(card);
+			}
+		}
+		assertEquals(4, player.getSolutionSpace().size());
+
+		// hidden cards in order, and where each of them is in every deal left, -1 for the case file
+		Card[] hidden = { solution.getPerson(), person, solution.getWeapon(), weapon };
+		int[] seats = { holders.get(person), holders.get(weapon) };
+		List<int[]> deals = new ArrayList<>();
+		for (int filePerson = 0; filePerson < 2; filePerson++) {
+			for (int fileWeapon = 2; fileWeapon < 4; fileWeapon++) {
+				for (int swap = 0; swap < 2; swap++) {
+					int[] deal = new int[4];
+					deal[filePerson] = -1;
+					deal[fileWeapon] = -1;
+					deal[1 - filePerson] = seats[swap];
+					deal[5 - fileWeapon] = seats[1 - swap];
+					deals.add(deal);
+				}
+			}
+		}
+
+		// a room held by a seat that answers before both hidden cards tells nothing
+		double mostGained = 0;
+		for (Card room : game.getContext().getRooms()) {
+			double best = Double.NEGATIVE_INFINITY;
+			for (Card p : game.getContext().getPeople()) {
+				for (Card w : game.getContext().getWeapons()) {
+					best = Math.max(best, privateGain(new Solution(p, room, w), players, holders, hidden, deals));
+				}
+			}
+			Solution suggestion = player.createSuggestion(room);
+			assertEquals(best, privateGain(suggestion, players, holders, hidden, deals), 1e-9);
+			mostGained = Math.max(mostGained, best);
+		}
+		assertTrue(mostGained > 0);
+	}
+
+	/**
+	 * @return information about the case file that the answer to the suggestion gives player 0 and not the others,
+	 *         over the given equally likely deals of the hidden cards
+	 */
+	private static double privateGain(Solution suggestion, List<Player> players, Map<Card, Integer> holders,
+			Card[] hidden, List<int[]> deals) {
+		// chance of each answer, with the card shown and without, overall and for each case file
+		Map<String, Double> answers = new HashMap<>();
+		Map<String, Double> publicAnswers = new HashMap<>();
+		Map<String, Map<String, Double>> byFile = new HashMap<>();
+		Map<String, Map<String, Double>> publicByFile = new HashMap<>();
+		double chance = 1.0 / deals.size();
+		for (int[] deal : deals) {
+			String file = "";
+			for (int k = 0; k < hidden.length; k++) {
+				if (deal[k] < 0) {
+					file += hidden[k];
+				}
+			}
+			// the first seat after player 0 that holds any suggested card shows one of them at random
+			List<Card> shown = new ArrayList<>();
+			int disprover = 0;
+			for (int seat = 1; seat < players.size() && shown.isEmpty(); seat++) {
+				disprover = seat;
+				for (Card card : suggestion.toSet()) {
+					int k = Arrays.asList(hidden).indexOf(card);
+					int holder = k >= 0 ? deal[k] : holders.getOrDefault(card, -1);
+					if (holder == seat) {
+						shown.add(card);
+					}
+				}
+			}
+			if (shown.isEmpty()) {
+				shown.add(null);
+				disprover = -1;
+			}
+			for (Card card : shown) {
+				double p = chance / shown.size();
+				String answer = disprover + " " + card;
+				answers.merge(answer, p, Double::sum);
+				publicAnswers.merge("" + disprover, p, Double::sum);
+				byFile.computeIfAbsent(file, f -> new HashMap<>()).merge(answer, p, Double::sum);
+				publicByFile.computeIfAbsent(file, f -> new HashMap<>()).merge("" + disprover, p, Double::sum);
+			}
+		}
+		return (entropy(answers.values()) - conditionalEntropy(byFile))
+				- (entropy(publicAnswers.values()) - conditionalEntropy(publicByFile));
+	}
+
+	private static double conditionalEntropy(Map<String, Map<String, Double>> byFile) {
+		double result = 0;
+		for (Map<String, Double> answers : byFile.values()) {
+			double total = 0;
+			for (double p : answers.values()) {
+				total += p;
+			}
+			double entropy = 0;
+			for (double p : answers.values()) {
+				entropy -= p / total * Math.log(p / total);
+			}
+			result += total * entropy;
+		}
+		return result;
+	}
+
+	private static double entropy(Iterable<Double> chances) {
+		double entropy = 0;
+		for (double p : chances) {
+			entropy -= p * Math.log(p);
+		}
+		return entropy;
+	}
+}
@@ -0,0 +1,125 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.Occupancy;
+import clueGame.TargetCache;
+import clueGame.TargetResult;
+
+/**
+ * TargetCacheTest Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *	Verifies that memoized targets are reused and that occupancy changes are never served stale targets
+ */
+public class TargetCacheTest {
+	private static Board board;
+
+	@BeforeAll
+	public static void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+	}
+
+	@BeforeEach
+	public void resetCache() {
+		board.getTargetCache().clear();
+		board.getTargetCache().resetStats();
+	}
+
+	@Test
+	public void testRepeatedQueryHits() {
+		TargetCache cache = board.getTargetCache();
+
+		board.calcTargets(board.getCell(6, 20), 3);
+		Set<BoardCell> first = board.getTargets();
+		assertEquals(0, cache.getHits());
+		assertEquals(1, cache.getMisses());
+
+		board.calcTargets(board.getCell(6, 20), 3);
+		assertSame(first, board.getTargets());
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+
+		// a different roll is a different entry
+		board.calcTargets(board.getCell(6, 20), 2);
+		assertEquals(2, cache.getMisses());
+	}
+
+	@Test
+	public void testOccupancyInvalidates() {
+		BoardCell start = board.getCell(10, 5);
+		BoardCell blocker = board.getCell(10, 4);
+
+		board.calcTargets(start, 3);
+		Set<BoardCell> open = board.getTargets();
+		long openFingerprint = board.getOccupancyFingerprint();
+
+		blocker.setOccupied(true);
+		assertFalse(openFingerprint == board.getOccupancyFingerprint());
+		board.calcTargets(start, 3);
+		Set<BoardCell> blocked = board.getTargets();
+		assertNotSame(open, blocked);
+		assertEquals(13, blocked.size());
+		assertFalse(blocked.contains(blocker));
+
+		// restoring the occupancy restores the fingerprint and the cached entry
+		blocker.setOccupied(false);
+		assertEquals(openFingerprint, board.getOccupancyFingerprint());
+		board.calcTargets(start, 3);
+		assertEquals(open, board.getTargets());
+		assertTrue(open.contains(blocker));
+	}
+
+	@Test
+	public void testBoundedEviction() {
+		TargetCache cache = new TargetCache(2);
+		BoardCell cell = board.getCell(6, 20);
+		int id = cell.getId();
+		TargetResult result = board.queryTargets(cell, 1, board.getOccupancy());
+
+		cache.put(id, 1, 0L, result);
+		cache.put(id, 2, 0L, result);
+		// touch roll 1 so roll 2 becomes the least recently used
+		cache.get(id, 1, 0L);
+		cache.put(id, 3, 0L, result);
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictions());
+		assertNotNull(cache.get(id, 1, 0L));
+		assertNull(cache.get(id, 2, 0L));
+	}
+
+	@Test
+	public void testQueryDoesNotMutateBoard() {
+		board.calcTargets(board.getCell(18, 3), 1);
+		Set<BoardCell> before = board.getTargets();
+
+		// a hypothetical position with (17, 3) blocked
+		Occupancy hypothetical = board.getOccupancy().mutableCopy();
+		hypothetical.set(board.getCell(17, 3).getId(), true);
+		TargetResult result = board.queryTargets(board.getCell(18, 3), 1, hypothetical.snapshot());
+
+		assertEquals(3, result.size());
+		assertFalse(result.contains(board.getCell(17, 3)));
+		assertSame(before, board.getTargets());
+		assertFalse(board.getCell(17, 3).getOccupied());
+	}
+}
@@ -0,0 +1,98 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.AdjacencyGraph;
+import clueGame.Bits;
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.TargetEngine;
+
+/**
+ * TargetEngineTest Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *	Checks the iterative target engine against a straightforward recursive DFS on every cell and roll
+ */
+public class TargetEngineTest {
+	private static Board board;
+	private static AdjacencyGraph graph;
+
+	@BeforeAll
+	public static void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+		graph = board.getAdjacencyGraph();
+	}
+
+	// reference implementation, the recursive search the engine replaced
+	private static void searchTargets(BoardCell currCell, int remainingSteps, Set<BoardCell> visited,
+			long[] occupied, Set<BoardCell> targets) {
+		for (BoardCell adj : currCell.getAdjList()) {
+			if (visited.contains(adj) || (Bits.get(occupied, adj.getId()) && !adj.isRoomCenter())) {
+				continue;
+			}
+			visited.add(adj);
+			if (adj.isRoomCenter() || remainingSteps == 1) {
+				targets.add(adj);
+			} else {
+				searchTargets(adj, remainingSteps - 1, visited, occupied, targets);
+			}
+			visited.remove(adj);
+		}
+	}
+
+	private static void assertMatchesReference(TargetEngine engine, long[] occupied) {
+		for (int id = 0; id < graph.getNumCells(); id++) {
+			BoardCell start = graph.getCell(id);
+			for (int roll = 1; roll <= 6; roll++) {
+				Set<BoardCell> expected = new HashSet<>();
+				Set<BoardCell> visited = new HashSet<>();
+				visited.add(start);
+				searchTargets(start, roll, visited, occupied, expected);
+
+				long[] found = engine.search(id, roll, occupied);
+				assertEquals(expected.size(), Bits.cardinality(found));
+				for (BoardCell cell : expected) {
+					assertTrue(Bits.get(found, cell.getId()));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testEmptyBoard() {
+		TargetEngine engine = new TargetEngine(graph);
+		assertMatchesReference(engine, new long[Bits.words(graph.getNumCells())]);
+	}
+
+	@Test
+	public void testOccupiedCells() {
+		TargetEngine engine = new TargetEngine(graph);
+		long[] occupied = new long[Bits.words(graph.getNumCells())];
+		// block a doorway, a walkway and a room center
+		Bits.set(occupied, graph.cellId(2, 22));
+		Bits.set(occupied, graph.cellId(10, 4));
+		Bits.set(occupied, graph.cellId(21, 2));
+		assertMatchesReference(engine, occupied);
+	}
+
+	@Test
+	public void testLongRoll() {
+		// a roll past MAX_DICE_ROLL grows the explicit stack instead of recursing
+		TargetEngine engine = new TargetEngine(graph);
+		long[] occupied = new long[Bits.words(graph.getNumCells())];
+		long[] found = engine.search(graph.cellId(6, 20), 12, occupied);
+		assertTrue(Bits.cardinality(found) > 0);
+	}
+}
@@ -0,0 +1,96 @@
+package tests;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardTemplate;
+import clueGame.TemplateCache;
+
+/**
+ * TemplateCacheTest Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *	Verifies that games on the same config files share one template, and that changing a file loads it again
+ */
+public class TemplateCacheTest {
+
+	@Test
+	public void testSharedTemplate() throws Exception {
+		BoardTemplate first = Board.loadTemplate("ClueLayout.csv", "ClueSetup.txt");
+		assertSame(first, Board.loadTemplate("ClueLayout.csv", "ClueSetup.txt"));
+
+		// the singleton tracks occupancy through its cells, so it never gets the shared template
+		Board board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+		assertNotSame(first, board.getTemplate());
+		board.getCell(10, 4).setOccupied(true);
+		assertTrue(board.getCell(10, 4).getOccupied());
+		board.getCell(10, 4).setOccupied(false);
+
+		// a separate game on the template keeps its own occupancy
+		Board game = new Board(first);
+		assertFalse(game.getOccupancy().isOccupied(first.getAdjacencyGraph().cellId(10, 4)));
+	}
+
+	@Test
+	public void testTwoBoardsOneTemplate() throws Exception {
+		BoardTemplate template = Board.loadTemplate("ClueLayout.csv", "ClueSetup.txt");
+		Board board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+		int id = template.getAdjacencyGraph().cellId(10, 4);
+
+		Board game1 = new Board(template);
+		Board game2 = new Board(template);
+		game1.getOccupancy().set(id, true);
+		assertFalse(game2.getOccupancy().isOccupied(id));
+		assertFalse(board.getCell(10, 4).getOccupied());
+
+		// the singleton's cells never reach the games on the shared template
+		board.getCell(10, 4).setOccupied(true);
+		assertFalse(game2.getOccupancy().isOccupied(id));
+		board.getCell(10, 4).setOccupied(false);
+		assertTrue(game1.getOccupancy().isOccupied(id));
+		// shared cells are not bound to any game, games are read through getOccupancy()
+		assertThrows(IllegalStateException.class, () -> template.getCell(10, 4).getOccupied());
+		assertThrows(IllegalStateException.class, () -> game1.getCell(10, 4).setOccupied(true));
+	}
+
+	@Test
+	public void testChangedFile() throws Exception {
+		Path dir = Files.createTempDirectory("templates");
+		Path layout = dir.resolve("ClueLayout.csv");
+		Path setup = dir.resolve("ClueSetup.txt");
+		Files.copy(Paths.get("data/ClueLayout.csv"), layout);
+		Files.copy(Paths.get("data/ClueSetup.txt"), setup);
+		try {
+			BoardTemplate before = TemplateCache.get(layout.toString(), setup.toString());
+			assertSame(before, TemplateCache.get(layout.toString(), setup.toString()));
+
+			// a newer layout is a different key
+			FileTime modified = Files.getLastModifiedTime(layout);
+			Files.setLastModifiedTime(layout, FileTime.fromMillis(modified.toMillis() + 2000));
+			BoardTemplate after = TemplateCache.get(layout.toString(), setup.toString());
+			assertNotSame(before, after);
+			assertSame(after, TemplateCache.get(layout.toString(), setup.toString()));
+		} finally {
+			Files.delete(layout);
+			Files.delete(setup);
+			Files.delete(dir);
+		}
+	}
+}
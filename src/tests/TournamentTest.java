@@ -0,0 +1,59 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardTemplate;
+import clueGame.Tournament;
+
+/**
+ * TournamentTest Class
+ *
+ * @author Jacob Dionne
+ * @author Melody Goldanloo
+ *
+ *	Verifies that the tournament runner plays and counts every game
+ */
+public class TournamentTest {
+	private static BoardTemplate template;
+
+	@BeforeAll
+	public static void setUp() throws Exception {
+		template = Board.loadTemplate("ClueLayout.csv", "ClueSetup.txt");
+	}
+
+	@Test
+	public void testEveryGameCounted() {
+		Tournament tournament = new Tournament(template, Tournament.DEFAULT_MAX_TURNS, 42);
+		Tournament.Results results = tournament.run(200, 4);
+
+		assertEquals(200, results.getGames());
+		// each game is won, lost on a wrong accusation or cut off
+		assertEquals(200, results.getSolved() + results.getWrongAccusations() + results.getUnfinished());
+
+		double totalRate = 0;
+		for (int seat = 0; seat < template.getSeats().size(); seat++) {
+			totalRate += results.getWinRate(seat);
+		}
+		assertEquals((double) results.getSolved() / 200, totalRate, 1e-9);
+		assertTrue(results.getTurnsPercentile(0.5) <= results.getTurnsPercentile(0.9));
+		assertTrue(results.getGamesPerSecond() > 0);
+	}
+
+	@Test
+	public void testSeededRepeatable() {
+		// the same seed gives the same games whatever the thread count
+		Tournament.Results first = new Tournament(template, Tournament.DEFAULT_MAX_TURNS, 7).run(100, 1);
+		Tournament.Results second = new Tournament(template, Tournament.DEFAULT_MAX_TURNS, 7).run(100, 4);
+
+		for (int seat = 0; seat < template.getSeats().size(); seat++) {
+			assertEquals(first.getWins(seat), second.getWins(seat));
+		}
+		assertEquals(first.getMeanTurns(), second.getMeanTurns(), 0);
+		assertEquals(first.getWrongAccusations(), second.getWrongAccusations());
+	}
+}